@@ -0,0 +1,77 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.github.baylorpaul.micronautjsonapi.binding.JsonApiPageable;
+import io.github.baylorpaul.micronautjsonapi.body.JsonApiMediaType;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.Article;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.PhysicalAddress;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.User;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.ArticleRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.PhysicalAddressRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.UserRepository;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiPage;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiMappingConfiguration;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiResourceMapper;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiRetrievalConfiguration;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+
+import java.util.List;
+
+/**
+ * Pages of articles, which may include their authors and the authors' addresses
+ */
+@Controller("/articles")
+@Produces(JsonApiMediaType.APPLICATION_JSON_API)
+@ExecuteOn(TaskExecutors.BLOCKING)
+public class ArticleController {
+
+	private final ArticleRepository articleRepo;
+	private final List<RelationshipRetriever> supportedIncludePaths;
+	private final JsonApiResourceMapper resourceMapper;
+
+	/**
+	 * Create the controller
+	 * @param articleRepo the repository of articles
+	 * @param userRepo the repository of users, for the "author" include path
+	 * @param addressRepo the repository of addresses, for the "author.address" include path
+	 * @param retrievalConfiguration the configuration of the retrieval of included entities
+	 * @param mappingConfiguration the configuration of the mapping of entities to resources
+	 */
+	public ArticleController(
+			ArticleRepository articleRepo,
+			UserRepository userRepo,
+			PhysicalAddressRepository addressRepo,
+			JsonApiRetrievalConfiguration retrievalConfiguration,
+			JsonApiMappingConfiguration mappingConfiguration
+	) {
+		this.articleRepo = articleRepo;
+		this.supportedIncludePaths = List.of(
+				retrievalConfiguration.forRepository("author", userRepo, User.class),
+				retrievalConfiguration.forRepository("author.address", addressRepo, PhysicalAddress.class)
+		);
+		this.resourceMapper = mappingConfiguration.toResourceMapper();
+	}
+
+	/**
+	 * Find a page of articles
+	 * @param pageable the page to find
+	 * @param include the "include" query parameter, such as "author,author.address"
+	 * @return the page of articles
+	 */
+	@Get("{?include}")
+	public JsonApiPage<Article> getArticles(
+			@JsonApiPageable(sortable = {"id", "created"}) Pageable pageable, @Nullable String include
+	) {
+		final JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				include, supportedIncludePaths, resourceMapper
+		);
+		return new JsonApiPage<>(articleRepo.findAll(pageable), includeProcessor::findIncluded, resourceMapper);
+	}
+}
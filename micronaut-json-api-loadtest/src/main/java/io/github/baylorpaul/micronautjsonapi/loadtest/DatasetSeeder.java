@@ -0,0 +1,132 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.Article;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.PhysicalAddress;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.User;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.ArticleRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.GrantingTokenRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.PhysicalAddressRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.UserRepository;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Seed the in-memory database with a synthetic graph of users, their addresses, articles and granting tokens. The
+ * dataset is generated from a fixed seed, so every run loads the same data.
+ */
+@Singleton
+public class DatasetSeeder {
+
+	private static final int BATCH_SIZE = 1_000;
+	private static final String[] REGIONS = {"CA", "CO", "NY", "TX", "WA"};
+
+	private final LoadTestConfiguration configuration;
+	private final PhysicalAddressRepository addressRepo;
+	private final UserRepository userRepo;
+	private final ArticleRepository articleRepo;
+	private final GrantingTokenRepository tokenRepo;
+
+	/**
+	 * Create the seeder
+	 * @param configuration the load test configuration, for the scale of the dataset
+	 * @param addressRepo the repository of addresses
+	 * @param userRepo the repository of users
+	 * @param articleRepo the repository of articles
+	 * @param tokenRepo the repository of granting tokens
+	 */
+	public DatasetSeeder(
+			LoadTestConfiguration configuration,
+			PhysicalAddressRepository addressRepo,
+			UserRepository userRepo,
+			ArticleRepository articleRepo,
+			GrantingTokenRepository tokenRepo
+	) {
+		this.configuration = configuration;
+		this.addressRepo = addressRepo;
+		this.userRepo = userRepo;
+		this.articleRepo = articleRepo;
+		this.tokenRepo = tokenRepo;
+	}
+
+	/**
+	 * Insert the synthetic dataset
+	 * @return the number of inserted records
+	 */
+	public long seed() {
+		final Random random = new Random(42L);
+		final Instant start = Instant.parse("2025-01-01T00:00:00Z");
+		long count = 0L;
+
+		final List<User> users = new ArrayList<>(configuration.getUsers());
+		for (int from = 0; from < configuration.getUsers(); from += BATCH_SIZE) {
+			final int to = Math.min(from + BATCH_SIZE, configuration.getUsers());
+			final List<PhysicalAddress> addresses = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				addresses.add(PhysicalAddress.builder()
+						.line1((100 + random.nextInt(9_900)) + " Main Street")
+						.locality("City " + random.nextInt(500))
+						.region(REGIONS[random.nextInt(REGIONS.length)])
+						.postalCode(String.format("%05d", random.nextInt(100_000)))
+						.country("US")
+						.build());
+			}
+			final List<User> batch = new ArrayList<>(to - from);
+			int i = from;
+			for (PhysicalAddress address : addressRepo.saveAll(addresses)) {
+				batch.add(User.builder()
+						.email("user" + i + "@example.com")
+						.name("User " + i)
+						.enabled(random.nextInt(10) > 0)
+						.address(address)
+						.created(start.plus(i, ChronoUnit.MINUTES))
+						.build());
+				i++;
+			}
+			users.addAll(userRepo.saveAll(batch));
+			count += 2L * (to - from);
+		}
+
+		final List<Article> articles = new ArrayList<>(BATCH_SIZE);
+		final List<GrantingToken> tokens = new ArrayList<>(BATCH_SIZE);
+		for (User user : users) {
+			for (int i = 0; i < configuration.getArticlesPerUser(); i++) {
+				articles.add(Article.builder()
+						.title("Article " + i + " by " + user.getName())
+						.body("Synthetic body text ".repeat(1 + random.nextInt(20)))
+						.author(user)
+						.created(user.getCreated().plus(random.nextInt(100_000), ChronoUnit.MINUTES))
+						.build());
+				count += flushIfFull(articles, articleRepo::saveAll);
+			}
+			for (int i = 0; i < configuration.getTokensPerUser(); i++) {
+				tokens.add(GrantingToken.builder()
+						.user(user)
+						.comment("Token " + i)
+						.revoked(random.nextInt(5) == 0)
+						.created(user.getCreated().plus(random.nextInt(100_000), ChronoUnit.MINUTES))
+						.build());
+				count += flushIfFull(tokens, tokenRepo::saveAll);
+			}
+		}
+		articleRepo.saveAll(articles);
+		tokenRepo.saveAll(tokens);
+		return count + articles.size() + tokens.size();
+	}
+
+	private static <E> int flushIfFull(List<E> batch, Consumer<List<E>> saveAll) {
+		if (batch.size() < BATCH_SIZE) {
+			return 0;
+		}
+		saveAll.accept(batch);
+		final int size = batch.size();
+		batch.clear();
+		return size;
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.github.baylorpaul.micronautjsonapi.binding.JsonApiPageable;
+import io.github.baylorpaul.micronautjsonapi.body.JsonApiMediaType;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.PhysicalAddress;
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.User;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.GrantingTokenRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.PhysicalAddressRepository;
+import io.github.baylorpaul.micronautjsonapi.loadtest.repository.UserRepository;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiPage;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiMappingConfiguration;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiResourceMapper;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiRetrievalConfiguration;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+
+import java.util.List;
+
+/**
+ * Pages of granting tokens, which may include their users and the users' addresses
+ */
+@Controller("/grantingTokens")
+@Produces(JsonApiMediaType.APPLICATION_JSON_API)
+@ExecuteOn(TaskExecutors.BLOCKING)
+public class GrantingTokenController {
+
+	private final GrantingTokenRepository tokenRepo;
+	private final List<RelationshipRetriever> supportedIncludePaths;
+	private final JsonApiResourceMapper resourceMapper;
+
+	/**
+	 * Create the controller
+	 * @param tokenRepo the repository of granting tokens
+	 * @param userRepo the repository of users, for the "user" include path
+	 * @param addressRepo the repository of addresses, for the "user.address" include path
+	 * @param retrievalConfiguration the configuration of the retrieval of included entities
+	 * @param mappingConfiguration the configuration of the mapping of entities to resources
+	 */
+	public GrantingTokenController(
+			GrantingTokenRepository tokenRepo,
+			UserRepository userRepo,
+			PhysicalAddressRepository addressRepo,
+			JsonApiRetrievalConfiguration retrievalConfiguration,
+			JsonApiMappingConfiguration mappingConfiguration
+	) {
+		this.tokenRepo = tokenRepo;
+		this.supportedIncludePaths = List.of(
+				retrievalConfiguration.forRepository("user", userRepo, User.class),
+				retrievalConfiguration.forRepository("user.address", addressRepo, PhysicalAddress.class)
+		);
+		this.resourceMapper = mappingConfiguration.toResourceMapper();
+	}
+
+	/**
+	 * Find a page of granting tokens
+	 * @param pageable the page to find
+	 * @param include the "include" query parameter, such as "user.address"
+	 * @return the page of granting tokens
+	 */
+	@Get("{?include}")
+	public JsonApiPage<GrantingToken> getGrantingTokens(
+			@JsonApiPageable(sortable = {"id", "created"}) Pageable pageable, @Nullable String include
+	) {
+		final JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				include, supportedIncludePaths, resourceMapper
+		);
+		return new JsonApiPage<>(tokenRepo.findAll(pageable), includeProcessor::findIncluded, resourceMapper);
+	}
+}
@@ -0,0 +1,140 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.github.baylorpaul.micronautjsonapi.body.JsonApiMediaType;
+import io.micronaut.core.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A closed-loop load generator. Each worker sends a request, waits for its response, and then sends the next one, so
+ * the number of requests in flight is fixed at the number of workers, and the throughput is what the server sustains
+ * at that concurrency. The workers run on virtual threads, and share one HTTP client.
+ */
+public class LoadGenerator {
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+	private final int concurrency;
+	private final int pages;
+
+	/**
+	 * Create a load generator
+	 * @param concurrency the number of workers, each with one request in flight at a time
+	 * @param pages the number of pages that "{page}" in a path is chosen from
+	 */
+	public LoadGenerator(int concurrency, int pages) {
+		if (concurrency < 1 || pages < 1) {
+			throw new IllegalArgumentException("The concurrency and number of pages must be positive");
+		}
+		this.concurrency = concurrency;
+		this.pages = pages;
+	}
+
+	/**
+	 * Load a path, first without measuring to warm up, and then measured
+	 * @param baseUri the URI of the server
+	 * @param path the path, with URL-encoded query parameters, in which "{page}" is replaced by a random page
+	 * @param warmup the duration of the load before it is measured
+	 * @param duration the duration of the measured load
+	 * @return the report of the measured load
+	 * @throws InterruptedException if interrupted while waiting for the workers
+	 */
+	public @NonNull LoadReport run(
+			@NonNull URI baseUri, @NonNull String path, @NonNull Duration warmup, @NonNull Duration duration
+	) throws InterruptedException {
+		if (!warmup.isZero()) {
+			load(baseUri, path, warmup);
+		}
+		return load(baseUri, path, duration);
+	}
+
+	private LoadReport load(URI baseUri, String path, Duration duration) throws InterruptedException {
+		final long start = System.nanoTime();
+		final long deadline = start + duration.toNanos();
+		final List<Worker> workers = new ArrayList<>(concurrency);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concurrency; i++) {
+				final Worker worker = new Worker();
+				workers.add(worker);
+				executor.execute(() -> worker.run(baseUri, path, deadline));
+			}
+		}
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+		long errors = 0L;
+		long bytes = 0L;
+		int count = 0;
+		for (Worker worker : workers) {
+			errors += worker.errors;
+			bytes += worker.bytes;
+			count += worker.count;
+		}
+		final long[] latencies = new long[count];
+		int offset = 0;
+		for (Worker worker : workers) {
+			System.arraycopy(worker.latenciesNanos, 0, latencies, offset, worker.count);
+			offset += worker.count;
+		}
+		return LoadReport.of(path, errors, bytes, elapsed, latencies);
+	}
+
+	/**
+	 * A worker, whose counts are only read after its thread completes
+	 */
+	private final class Worker {
+		private long[] latenciesNanos = new long[1_024];
+		private int count;
+		private long errors;
+		private long bytes;
+
+		void run(URI baseUri, String path, long deadline) {
+			while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+				final URI uri = baseUri.resolve(
+						path.replace("{page}", Integer.toString(ThreadLocalRandom.current().nextInt(pages)))
+				);
+				final HttpRequest request = HttpRequest.newBuilder(uri)
+						.header("Accept", JsonApiMediaType.APPLICATION_JSON_API)
+						.timeout(Duration.ofSeconds(30))
+						.GET()
+						.build();
+				final long requestStart = System.nanoTime();
+				try {
+					final HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+					bytes += response.body().length;
+					if (response.statusCode() / 100 != 2) {
+						errors++;
+					}
+				} catch (IOException e) {
+					errors++;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				record(System.nanoTime() - requestStart);
+			}
+		}
+
+		private void record(long latencyNanos) {
+			if (count == latenciesNanos.length) {
+				latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+			}
+			latenciesNanos[count++] = latencyNanos;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The throughput and latency percentiles of the measured load of a path
+ * @param path the path
+ * @param requests the number of completed requests, including errors
+ * @param errors the number of requests that failed, or did not respond with a 2xx status
+ * @param bytes the number of response body bytes
+ * @param elapsed the measured duration
+ * @param latenciesNanos the latency of each completed request, in nanoseconds, sorted in ascending order
+ */
+public record LoadReport(
+		@NonNull String path, long requests, long errors, long bytes, @NonNull Duration elapsed, long[] latenciesNanos
+) {
+
+	/** The header of the columns of {@link #toString()} */
+	public static final String HEADER = String.format(
+			"%10s %8s %10s %9s %9s %9s %9s %9s  %s",
+			"req/s", "errors", "KiB/req", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "path"
+	);
+
+	/**
+	 * Create a report from unsorted latencies
+	 * @param path the path
+	 * @param errors the number of requests that failed
+	 * @param bytes the number of response body bytes
+	 * @param elapsed the measured duration
+	 * @param latenciesNanos the latency of each completed request, in nanoseconds, which are sorted in place
+	 * @return the report
+	 */
+	public static @NonNull LoadReport of(
+			@NonNull String path, long errors, long bytes, @NonNull Duration elapsed, long[] latenciesNanos
+	) {
+		Arrays.sort(latenciesNanos);
+		return new LoadReport(path, latenciesNanos.length, errors, bytes, elapsed, latenciesNanos);
+	}
+
+	/**
+	 * Find the throughput
+	 * @return the completed requests per second
+	 */
+	public double throughput() {
+		return elapsed.isZero() ? 0.0 : requests * 1_000_000_000.0 / elapsed.toNanos();
+	}
+
+	/**
+	 * Find a latency percentile, by the nearest-rank method
+	 * @param percentile the percentile, such as 99.9
+	 * @return the latency in nanoseconds, or 0 if there are no requests
+	 */
+	public long percentileNanos(double percentile) {
+		if (latenciesNanos.length == 0) {
+			return 0L;
+		}
+		final int rank = (int) Math.ceil(percentile * latenciesNanos.length / 100.0);
+		return latenciesNanos[Math.clamp(rank - 1, 0, latenciesNanos.length - 1)];
+	}
+
+	@Override
+	public @NonNull String toString() {
+		return String.format(
+				"%10.1f %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s",
+				throughput(),
+				errors,
+				requests == 0L ? 0.0 : bytes / 1024.0 / requests,
+				percentileNanos(50.0) / 1e6,
+				percentileNanos(90.0) / 1e6,
+				percentileNanos(99.0) / 1e6,
+				percentileNanos(99.9) / 1e6,
+				percentileNanos(100.0) / 1e6,
+				path
+		);
+	}
+}
@@ -0,0 +1,44 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.Micronaut;
+import io.micronaut.runtime.server.EmbeddedServer;
+
+import java.net.URI;
+
+/**
+ * Run an end-to-end load test of the library behind Micronaut's HTTP stack, offline on a single machine. The embedded
+ * server is started with an in-memory H2 database, which is seeded with a synthetic dataset. Each configured path is
+ * then loaded by a closed-loop load generator, and its throughput and latency percentiles are printed.
+ * @see LoadTestConfiguration
+ */
+public class LoadTestApplication {
+
+	/**
+	 * Run the load test
+	 * @param args the command line arguments, such as "--loadtest.users=10000"
+	 * @throws InterruptedException if interrupted while loading
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		try (ApplicationContext context = Micronaut.run(LoadTestApplication.class, args)) {
+			final LoadTestConfiguration configuration = context.getBean(LoadTestConfiguration.class);
+
+			final long seedStart = System.nanoTime();
+			final long records = context.getBean(DatasetSeeder.class).seed();
+			System.out.printf("Seeded %d records in %d ms%n", records, (System.nanoTime() - seedStart) / 1_000_000L);
+
+			final URI baseUri = context.getBean(EmbeddedServer.class).getURI();
+			System.out.printf(
+					"Loading %s with %d workers, %s warm-up and %s measured per path%n",
+					baseUri, configuration.getConcurrency(), configuration.getWarmup(), configuration.getDuration()
+			);
+			final LoadGenerator generator = new LoadGenerator(
+					configuration.getConcurrency(), configuration.getPages()
+			);
+			System.out.println(LoadReport.HEADER);
+			for (String path : configuration.getPaths()) {
+				System.out.println(generator.run(baseUri, path, configuration.getWarmup(), configuration.getDuration()));
+			}
+		}
+	}
+}
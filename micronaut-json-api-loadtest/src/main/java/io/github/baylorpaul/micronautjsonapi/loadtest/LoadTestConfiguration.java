@@ -0,0 +1,159 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the load test: the scale of the synthetic dataset, and the load to drive. E.g. on the command line:
+ * <pre>
+ * ./gradlew :micronaut-json-api-loadtest:run --args="--loadtest.users=10000 --loadtest.concurrency=64"
+ * </pre>
+ * Each path is requested by every worker in turn, with "{page}" replaced by a random page number below the number of
+ * pages. Query parameters must be URL-encoded, so the paths may be provided as a comma-separated list.
+ */
+@ConfigurationProperties("loadtest")
+public class LoadTestConfiguration {
+
+	private int users = 1_000;
+	private int articlesPerUser = 10;
+	private int tokensPerUser = 2;
+	private int concurrency = 16;
+	private int pages = 20;
+	private Duration warmup = Duration.ofSeconds(10);
+	private Duration duration = Duration.ofSeconds(30);
+	private List<String> paths = List.of(
+			"/articles?page%5Bnumber%5D={page}&page%5Bsize%5D=50",
+			"/articles?page%5Bnumber%5D={page}&page%5Bsize%5D=50&include=author%2Cauthor.address",
+			"/grantingTokens?page%5Bnumber%5D={page}&page%5Bsize%5D=100&include=user.address"
+	);
+
+	/**
+	 * Find the number of synthetic users, each with an address
+	 * @return the number of users
+	 */
+	public int getUsers() {
+		return users;
+	}
+
+	/**
+	 * Set the number of synthetic users, each with an address
+	 * @param users the number of users
+	 */
+	public void setUsers(int users) {
+		this.users = users;
+	}
+
+	/**
+	 * Find the number of articles written by each user
+	 * @return the number of articles per user
+	 */
+	public int getArticlesPerUser() {
+		return articlesPerUser;
+	}
+
+	/**
+	 * Set the number of articles written by each user
+	 * @param articlesPerUser the number of articles per user
+	 */
+	public void setArticlesPerUser(int articlesPerUser) {
+		this.articlesPerUser = articlesPerUser;
+	}
+
+	/**
+	 * Find the number of granting tokens of each user
+	 * @return the number of tokens per user
+	 */
+	public int getTokensPerUser() {
+		return tokensPerUser;
+	}
+
+	/**
+	 * Set the number of granting tokens of each user
+	 * @param tokensPerUser the number of tokens per user
+	 */
+	public void setTokensPerUser(int tokensPerUser) {
+		this.tokensPerUser = tokensPerUser;
+	}
+
+	/**
+	 * Find the number of workers, each with one request in flight at a time
+	 * @return the number of workers
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Set the number of workers, each with one request in flight at a time
+	 * @param concurrency the number of workers
+	 */
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Find the number of pages that "{page}" is chosen from
+	 * @return the number of pages
+	 */
+	public int getPages() {
+		return pages;
+	}
+
+	/**
+	 * Set the number of pages that "{page}" is chosen from
+	 * @param pages the number of pages
+	 */
+	public void setPages(int pages) {
+		this.pages = pages;
+	}
+
+	/**
+	 * Find the duration of the load per path before it is measured, to warm up the JIT compiler and the pools
+	 * @return the warm-up duration
+	 */
+	public Duration getWarmup() {
+		return warmup;
+	}
+
+	/**
+	 * Set the duration of the load per path before it is measured
+	 * @param warmup the warm-up duration
+	 */
+	public void setWarmup(Duration warmup) {
+		this.warmup = warmup;
+	}
+
+	/**
+	 * Find the duration of the measured load per path
+	 * @return the measured duration
+	 */
+	public Duration getDuration() {
+		return duration;
+	}
+
+	/**
+	 * Set the duration of the measured load per path
+	 * @param duration the measured duration
+	 */
+	public void setDuration(Duration duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * Find the paths to load, relative to the server
+	 * @return the paths
+	 */
+	public List<String> getPaths() {
+		return paths;
+	}
+
+	/**
+	 * Set the paths to load, relative to the server
+	 * @param paths the paths, with URL-encoded query parameters
+	 */
+	public void setPaths(List<String> paths) {
+		this.paths = paths;
+	}
+}
@@ -0,0 +1,37 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.data.annotation.Relation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A synthetic API token of a user
+ */
+@MappedEntity
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class GrantingToken implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "grantingToken";
+	}
+
+	private @Id @GeneratedValue @Nullable Long id;
+	private @Relation(Relation.Kind.MANY_TO_ONE) User user;
+	private @Nullable String comment;
+	private boolean revoked;
+	private Instant created;
+}
@@ -0,0 +1,35 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A synthetic mailing address of a user
+ */
+@MappedEntity
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class PhysicalAddress implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "physicalAddress";
+	}
+
+	private @Id @GeneratedValue @Nullable Long id;
+	private @Nullable String line1;
+	private @Nullable String locality;
+	private @Nullable String region;
+	private @Nullable String postalCode;
+	private @Nullable String country;
+}
@@ -0,0 +1,38 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.data.annotation.Relation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A synthetic user, with an address
+ */
+@MappedEntity("app_user")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class User implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "user";
+	}
+
+	private @Id @GeneratedValue @Nullable Long id;
+	private String email;
+	private String name;
+	private boolean enabled;
+	private @Relation(Relation.Kind.MANY_TO_ONE) @Nullable PhysicalAddress address;
+	private Instant created;
+}
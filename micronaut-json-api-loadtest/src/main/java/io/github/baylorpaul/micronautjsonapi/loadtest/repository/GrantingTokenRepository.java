@@ -0,0 +1,15 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.repository;
+
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.GrantingToken;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.PageableRepository;
+import io.micronaut.data.repository.jpa.JpaSpecificationExecutor;
+
+/**
+ * The repository of granting tokens
+ */
+@JdbcRepository(dialect = Dialect.H2)
+public interface GrantingTokenRepository
+		extends PageableRepository<GrantingToken, Long>, JpaSpecificationExecutor<GrantingToken> {
+}
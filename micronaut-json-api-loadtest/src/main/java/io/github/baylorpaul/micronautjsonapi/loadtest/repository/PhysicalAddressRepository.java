@@ -0,0 +1,15 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.repository;
+
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.PhysicalAddress;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.PageableRepository;
+import io.micronaut.data.repository.jpa.JpaSpecificationExecutor;
+
+/**
+ * The repository of physical addresses
+ */
+@JdbcRepository(dialect = Dialect.H2)
+public interface PhysicalAddressRepository
+		extends PageableRepository<PhysicalAddress, Long>, JpaSpecificationExecutor<PhysicalAddress> {
+}
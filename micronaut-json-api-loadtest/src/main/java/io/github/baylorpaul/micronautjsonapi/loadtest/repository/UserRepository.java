@@ -0,0 +1,15 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest.repository;
+
+import io.github.baylorpaul.micronautjsonapi.loadtest.entity.User;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.PageableRepository;
+import io.micronaut.data.repository.jpa.JpaSpecificationExecutor;
+
+/**
+ * The repository of users
+ */
+@JdbcRepository(dialect = Dialect.H2)
+public interface UserRepository
+		extends PageableRepository<User, Long>, JpaSpecificationExecutor<User> {
+}
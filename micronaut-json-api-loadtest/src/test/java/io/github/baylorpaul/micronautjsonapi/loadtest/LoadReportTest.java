@@ -0,0 +1,33 @@
+package io.github.baylorpaul.micronautjsonapi.loadtest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+public class LoadReportTest {
+
+	@Test
+	public void testPercentiles() {
+		// 1..1000 ms, in reverse order
+		final long[] latencies = LongStream.rangeClosed(1, 1_000).map(i -> (1_001 - i) * 1_000_000L).toArray();
+		final LoadReport report = LoadReport.of("/articles", 3L, 2_048_000L, Duration.ofSeconds(2), latencies);
+
+		Assertions.assertEquals(1_000L, report.requests());
+		Assertions.assertEquals(500.0, report.throughput(), 0.001);
+		Assertions.assertEquals(1_000_000L, report.percentileNanos(0.0));
+		Assertions.assertEquals(500_000_000L, report.percentileNanos(50.0));
+		Assertions.assertEquals(990_000_000L, report.percentileNanos(99.0));
+		Assertions.assertEquals(999_000_000L, report.percentileNanos(99.9));
+		Assertions.assertEquals(1_000_000_000L, report.percentileNanos(100.0));
+		Assertions.assertTrue(report.toString().endsWith("/articles"));
+	}
+
+	@Test
+	public void testNoRequests() {
+		final LoadReport report = LoadReport.of("/articles", 0L, 0L, Duration.ofSeconds(1), new long[0]);
+		Assertions.assertEquals(0.0, report.throughput());
+		Assertions.assertEquals(0L, report.percentileNanos(99.0));
+	}
+}
@@ -0,0 +1,131 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelArray;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.simple.SimpleHttpHeaders;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the CPU time of encoding and decoding a large JSON:API document as JSON, CBOR and Smile. The encoded size of
+ * each format is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonApiEncodingBenchmark {
+
+	@Param({"100", "1000"})
+	public int resourceCount;
+
+	private ApplicationContext context;
+	private JsonMapper jsonMapper;
+	private JsonApiCborBodyHandler cborBodyHandler;
+	private JsonApiSmileBodyHandler smileBodyHandler;
+	private Argument<Object> type;
+	private JsonApiTopLevelArray document;
+	private byte[] json;
+	private byte[] cbor;
+	private byte[] smile;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws IOException {
+		context = ApplicationContext.run();
+		jsonMapper = context.getBean(JsonMapper.class);
+		cborBodyHandler = context.getBean(JsonApiCborBodyHandler.class);
+		smileBodyHandler = context.getBean(JsonApiSmileBodyHandler.class);
+		type = Argument.of((Class<Object>) (Class<?>) JsonApiTopLevelArray.class);
+		document = buildDocument(resourceCount);
+
+		json = jsonMapper.writeValueAsBytes(document);
+		cbor = encode(cborBodyHandler, JsonApiMediaType.APPLICATION_CBOR_TYPE);
+		smile = encode(smileBodyHandler, JsonApiMediaType.APPLICATION_SMILE_TYPE);
+		System.out.printf("%n%d resources: JSON %d bytes, CBOR %d bytes, Smile %d bytes%n",
+				resourceCount, json.length, cbor.length, smile.length);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] encodeJson() throws IOException {
+		return jsonMapper.writeValueAsBytes(document);
+	}
+
+	@Benchmark
+	public byte[] encodeCbor() {
+		return encode(cborBodyHandler, JsonApiMediaType.APPLICATION_CBOR_TYPE);
+	}
+
+	@Benchmark
+	public byte[] encodeSmile() {
+		return encode(smileBodyHandler, JsonApiMediaType.APPLICATION_SMILE_TYPE);
+	}
+
+	@Benchmark
+	public Object decodeJson() throws IOException {
+		return jsonMapper.readValue(json, type);
+	}
+
+	@Benchmark
+	public Object decodeCbor() {
+		return decode(cborBodyHandler, JsonApiMediaType.APPLICATION_CBOR_TYPE, cbor);
+	}
+
+	@Benchmark
+	public Object decodeSmile() {
+		return decode(smileBodyHandler, JsonApiMediaType.APPLICATION_SMILE_TYPE, smile);
+	}
+
+	private byte[] encode(JsonApiBinaryBodyHandler handler, MediaType mediaType) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		handler.writeTo(type, mediaType, document, new SimpleHttpHeaders(ConversionService.SHARED), out);
+		return out.toByteArray();
+	}
+
+	private Object decode(JsonApiBinaryBodyHandler handler, MediaType mediaType, byte[] bytes) {
+		return handler.read(
+				type, mediaType, new SimpleHttpHeaders(ConversionService.SHARED), new ByteArrayInputStream(bytes)
+		);
+	}
+
+	private static JsonApiTopLevelArray buildDocument(int resourceCount) {
+		JsonApiArray data = new JsonApiArray();
+		for (int i = 1; i <= resourceCount; i++) {
+			SequencedMap<String, Object> attributes = new LinkedHashMap<>();
+			attributes.put("title", "Article " + i);
+			attributes.put("body", "The body of article " + i + ", which is somewhat longer than the title.");
+			attributes.put("published", i % 3 != 0);
+			attributes.put("views", i * 37L);
+			attributes.put("created", Instant.ofEpochSecond(1_700_000_000L + i).toString());
+
+			SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> relationships = new LinkedHashMap<>();
+			relationships.put("author", JsonApiObject.<JsonApiDataType>builder()
+					.data(new JsonApiResource("user", Integer.toString(i % 50), null, null, null))
+					.build());
+
+			data.add(new JsonApiResource("article", Integer.toString(i), attributes, relationships, null));
+		}
+		JsonApiTopLevelArray document = new JsonApiTopLevelArray();
+		document.setData(data);
+		return document;
+	}
+}
@@ -0,0 +1,40 @@
+package io.github.baylorpaul.micronautjsonapi.binding;
+
+import io.micronaut.core.bind.annotation.Bindable;
+
+import java.lang.annotation.*;
+
+/**
+ * Bind a controller's Pageable argument from the JSON:API "sort", "page[number]" and "page[size]" query parameters. E.g.
+ * <pre>
+ * &#64;Get("/articles")
+ * public JsonApiPage&lt;Article&gt; getArticles(&#64;JsonApiPageable(sortable = {"created", "title"}) Pageable pageable) {
+ *     return new JsonApiPage&lt;&gt;(articleRepo.findAll(pageable));
+ * }
+ * </pre>
+ * @see JsonApiPageableBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER})
+@Bindable
+public @interface JsonApiPageable {
+	/**
+	 * The fields that may be sorted on. These should be backed by database indexes. Sorting on any other field is
+	 * rejected, and no sorting is allowed when this is empty.
+	 * @return the sortable fields
+	 */
+	String[] sortable() default {};
+
+	/**
+	 * The page size when "page[size]" is not provided
+	 * @return the default page size, or a non-positive value for the configured default
+	 */
+	int defaultSize() default -1;
+
+	/**
+	 * The maximum page size. A larger "page[size]" is reduced to this size.
+	 * @return the maximum page size, or a non-positive value for the configured maximum
+	 */
+	int maxSize() default -1;
+}
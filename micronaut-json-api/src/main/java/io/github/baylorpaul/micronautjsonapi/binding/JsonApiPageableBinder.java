@@ -0,0 +1,52 @@
+package io.github.baylorpaul.micronautjsonapi.binding;
+
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiPagingUtil;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.bind.binders.AnnotatedRequestArgumentBinder;
+import jakarta.inject.Singleton;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bind a Pageable argument annotated with {@link JsonApiPageable} from the JSON:API "sort", "page[number]" and
+ * "page[size]" query parameters. Sorting is limited to the allowed fields, and the page size is bounded by a maximum,
+ * so a client cannot request an unbounded page.
+ */
+@Singleton
+public class JsonApiPageableBinder implements AnnotatedRequestArgumentBinder<JsonApiPageable, Pageable> {
+
+	private final JsonApiPagingConfiguration configuration;
+
+	/**
+	 * Create the binder
+	 * @param configuration the paging configuration, for the default and maximum page sizes
+	 */
+	public JsonApiPageableBinder(JsonApiPagingConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	@Override
+	public Class<JsonApiPageable> getAnnotationType() {
+		return JsonApiPageable.class;
+	}
+
+	@Override
+	public BindingResult<Pageable> bind(ArgumentConversionContext<Pageable> context, HttpRequest<?> source) {
+		final AnnotationMetadata metadata = context.getAnnotationMetadata();
+		final List<String> sortable = Arrays.asList(metadata.stringValues(JsonApiPageable.class, "sortable"));
+		final int defaultSize = metadata.intValue(JsonApiPageable.class, "defaultSize")
+				.stream().filter(v -> v > 0).findFirst().orElse(configuration.getDefaultSize());
+		final int maxSize = metadata.intValue(JsonApiPageable.class, "maxSize")
+				.stream().filter(v -> v > 0).findFirst().orElse(configuration.getMaxSize());
+
+		final Pageable pageable = JsonApiPagingUtil.toPageable(
+				source.getParameters().asMap(), sortable, Math.min(defaultSize, maxSize), maxSize
+		);
+		return () -> Optional.of(pageable);
+	}
+}
@@ -0,0 +1,54 @@
+package io.github.baylorpaul.micronautjsonapi.binding;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration for binding JSON:API "page[...]" query parameters. E.g. in application.properties:
+ * <pre>
+ * json-api.paging.default-size=20
+ * json-api.paging.max-size=100
+ * </pre>
+ */
+@ConfigurationProperties("json-api.paging")
+public class JsonApiPagingConfiguration {
+
+	/** The default page size */
+	public static final int DEFAULT_SIZE = 20;
+	/** The default maximum page size */
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	private int defaultSize = DEFAULT_SIZE;
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Find the page size when "page[size]" is not provided
+	 * @return the default page size
+	 */
+	public int getDefaultSize() {
+		return defaultSize;
+	}
+
+	/**
+	 * Set the page size when "page[size]" is not provided
+	 * @param defaultSize the default page size
+	 */
+	public void setDefaultSize(int defaultSize) {
+		this.defaultSize = defaultSize;
+	}
+
+	/**
+	 * Find the maximum page size
+	 * @return the maximum page size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Set the maximum page size. A larger "page[size]" is reduced to this size.
+	 * @param maxSize the maximum page size
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+}
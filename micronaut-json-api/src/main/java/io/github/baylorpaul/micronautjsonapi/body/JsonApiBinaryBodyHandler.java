@@ -0,0 +1,102 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiErrorResponse;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiDocumentLimits;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.Headers;
+import io.micronaut.core.type.MutableHeaders;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.body.MessageBodyHandler;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Read and write JSON:API documents in a binary encoding of the JSON data model, such as CBOR or Smile. The documents
+ * are mapped by the same serializers and deserializers as JSON, including the custom ones in the "serialization"
+ * package, so the document structure is identical. Only the encoding of that structure differs, which avoids parsing
+ * and printing JSON text for service-to-service traffic. Documents are streamed through the Jackson parser or generator
+ * of the encoding, without an intermediate tree, and request documents are checked against the
+ * {@link JsonApiDocumentLimits} in the same pass as they are decoded.
+ */
+public abstract class JsonApiBinaryBodyHandler implements MessageBodyHandler<Object> {
+
+	private final JacksonJsonMapper jsonMapper;
+	private final JsonFactory factory;
+	private final JsonApiDocumentLimits limits;
+
+	/**
+	 * Create a handler for a binary encoding
+	 * @param jsonMapper the serde JSON mapper, for the JSON:API serializers and deserializers, which also encodes and
+	 *            decodes via the parsers and generators of other Jackson formats
+	 * @param factory the Jackson factory of the binary encoding, such as a CBORFactory
+	 * @param limits the limits on the structure of a request document
+	 */
+	protected JsonApiBinaryBodyHandler(
+			@NonNull JacksonJsonMapper jsonMapper, @NonNull JsonFactory factory, @NonNull JsonApiDocumentLimits limits
+	) {
+		this.jsonMapper = jsonMapper;
+		this.factory = factory;
+		this.limits = limits;
+	}
+
+	@Override
+	public boolean isReadable(@NonNull Argument<Object> type, MediaType mediaType) {
+		return isJsonApiDocument(type.getType());
+	}
+
+	@Override
+	public boolean isWriteable(@NonNull Argument<Object> type, MediaType mediaType) {
+		return isJsonApiDocument(type.getType());
+	}
+
+	@Override
+	public Object read(
+			@NonNull Argument<Object> type, MediaType mediaType, @NonNull Headers httpHeaders,
+			@NonNull InputStream inputStream
+	) throws CodecException {
+		try (JsonParser parser = limits.wrap(factory.createParser(inputStream))) {
+			// An empty body has no document
+			return parser.nextToken() == null ? null : jsonMapper.readValue(parser, type);
+		} catch (IOException e) {
+			final JsonApiDocumentException exceeded = JsonApiDocumentLimits.findExceeded(e);
+			if (exceeded != null) {
+				throw exceeded;
+			}
+			throw new CodecException("Error decoding JSON:API document from " + mediaType + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void writeTo(
+			@NonNull Argument<Object> type, @NonNull MediaType mediaType, Object object,
+			@NonNull MutableHeaders outgoingHeaders, @NonNull OutputStream outputStream
+	) throws CodecException {
+		outgoingHeaders.setIfMissing(HttpHeaders.CONTENT_TYPE, mediaType);
+		try (JsonGenerator generator = factory.createGenerator(outputStream)) {
+			jsonMapper.writeValue(generator, object);
+		} catch (IOException e) {
+			throw new CodecException("Error encoding JSON:API document to " + mediaType + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Determine if a type is a JSON:API document or a part of one, which this handler may read and write
+	 */
+	private static boolean isJsonApiDocument(Class<?> type) {
+		return JsonApiObject.class.isAssignableFrom(type)
+				|| JsonApiResource.class.isAssignableFrom(type)
+				|| JsonApiErrorResponse.class.isAssignableFrom(type);
+	}
+}
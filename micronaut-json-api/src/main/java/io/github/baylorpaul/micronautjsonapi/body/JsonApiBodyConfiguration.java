@@ -0,0 +1,130 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiDocumentLimits;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration for reading JSON:API request bodies and writing JSON:API response bodies. E.g. in
+ * application.properties:
+ * <pre>
+ * json-api.body.chunk-size=8192
+ * json-api.body.max-depth=32
+ * json-api.body.max-array-length=10000
+ * json-api.body.max-members=1000
+ * json-api.body.max-resources=10000
+ * </pre>
+ * The total size of a request body is limited by Micronaut via "micronaut.server.max-request-size".
+ */
+@ConfigurationProperties("json-api.body")
+public class JsonApiBodyConfiguration {
+
+	/** The default size of each buffer chunk, in bytes */
+	public static final int DEFAULT_CHUNK_SIZE = 8192;
+	/** The default maximum nesting depth of a request document */
+	public static final int DEFAULT_MAX_DEPTH = 32;
+	/** The default maximum number of values in any array of a request document */
+	public static final int DEFAULT_MAX_ARRAY_LENGTH = 10_000;
+	/** The default maximum number of members in any object of a request document, such as "attributes" */
+	public static final int DEFAULT_MAX_MEMBERS = 1_000;
+	/** The default maximum number of resources and resource identifiers in a request document */
+	public static final int DEFAULT_MAX_RESOURCES = 10_000;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private int maxDepth = DEFAULT_MAX_DEPTH;
+	private int maxArrayLength = DEFAULT_MAX_ARRAY_LENGTH;
+	private int maxMembers = DEFAULT_MAX_MEMBERS;
+	private int maxResources = DEFAULT_MAX_RESOURCES;
+
+	/**
+	 * Find the size of each buffer chunk that a document is encoded into
+	 * @return the chunk size, in bytes
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set the size of each buffer chunk that a document is encoded into. A large document is encoded into several
+	 * chunks, so the buffer never grows by copying.
+	 * @param chunkSize the chunk size, in bytes
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Find the maximum nesting depth of objects and arrays in a request document
+	 * @return the maximum depth
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Set the maximum nesting depth of objects and arrays in a request document. A deeper document is rejected with a
+	 * 400 status.
+	 * @param maxDepth the maximum depth
+	 */
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Find the maximum number of values in any array of a request document
+	 * @return the maximum array length
+	 */
+	public int getMaxArrayLength() {
+		return maxArrayLength;
+	}
+
+	/**
+	 * Set the maximum number of values in any array of a request document. A longer array is rejected with a 413
+	 * status.
+	 * @param maxArrayLength the maximum array length
+	 */
+	public void setMaxArrayLength(int maxArrayLength) {
+		this.maxArrayLength = maxArrayLength;
+	}
+
+	/**
+	 * Find the maximum number of members in any object of a request document, such as "attributes"
+	 * @return the maximum number of members
+	 */
+	public int getMaxMembers() {
+		return maxMembers;
+	}
+
+	/**
+	 * Set the maximum number of members in any object of a request document, such as "attributes". An object with more
+	 * members is rejected with a 413 status.
+	 * @param maxMembers the maximum number of members
+	 */
+	public void setMaxMembers(int maxMembers) {
+		this.maxMembers = maxMembers;
+	}
+
+	/**
+	 * Find the maximum number of resources and resource identifiers in a request document
+	 * @return the maximum number of resources
+	 */
+	public int getMaxResources() {
+		return maxResources;
+	}
+
+	/**
+	 * Set the maximum number of resources and resource identifiers in a request document. A document with more is
+	 * rejected with a 413 status.
+	 * @param maxResources the maximum number of resources
+	 */
+	public void setMaxResources(int maxResources) {
+		this.maxResources = maxResources;
+	}
+
+	/**
+	 * Provide the limits on the structure of a request document
+	 * @return the document limits
+	 */
+	public JsonApiDocumentLimits toDocumentLimits() {
+		return new JsonApiDocumentLimits(maxDepth, maxArrayLength, maxMembers, maxResources);
+	}
+}
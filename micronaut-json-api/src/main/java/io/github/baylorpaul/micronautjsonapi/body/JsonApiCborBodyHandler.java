@@ -0,0 +1,29 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+import jakarta.inject.Singleton;
+
+/**
+ * Read and write JSON:API documents as CBOR, when "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor" is on the
+ * classpath. A client selects CBOR via an "Accept: application/cbor" header, if the controller method produces it.
+ */
+@Singleton
+@Requires(classes = CBORFactory.class)
+@Requires(beans = JacksonJsonMapper.class)
+@Produces(JsonApiMediaType.APPLICATION_CBOR)
+@Consumes(JsonApiMediaType.APPLICATION_CBOR)
+public class JsonApiCborBodyHandler extends JsonApiBinaryBodyHandler {
+
+	/**
+	 * Create a CBOR handler
+	 * @param jsonMapper the serde JSON mapper, for the JSON:API serializers and deserializers
+	 * @param configuration the configuration, for the limits on the structure of a request document
+	 */
+	public JsonApiCborBodyHandler(JacksonJsonMapper jsonMapper, JsonApiBodyConfiguration configuration) {
+		super(jsonMapper, new CBORFactory(), configuration.toDocumentLimits());
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedObject;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiDocumentLimits;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Order;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.Headers;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.body.MessageBodyReader;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Read JSON:API request documents sent as "application/vnd.api+json", checking the {@link JsonApiDocumentLimits} on
+ * the token stream in the same pass as the document is decoded. The deserializers decode "data" and "links" as
+ * arbitrary values, so without the check, a malicious document with deeply nested values or huge arrays would be
+ * fully decoded into maps and lists before any validation. Documents sent as "application/json" are left to the
+ * default JSON reader, without the limits.
+ */
+@Singleton
+@Order(-100)
+@Requires(beans = JacksonJsonMapper.class)
+@Consumes(JsonApiMediaType.APPLICATION_JSON_API)
+public class JsonApiDocumentBodyReader implements MessageBodyReader<Object> {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	private final JacksonJsonMapper jsonMapper;
+	private final JsonApiDocumentLimits limits;
+
+	/**
+	 * Create the reader
+	 * @param jsonMapper the serde JSON mapper - this must be provided in case there are custom
+	 *            serializers/deserializers
+	 * @param configuration the configuration, for the limits on the structure of a request document
+	 */
+	public JsonApiDocumentBodyReader(JacksonJsonMapper jsonMapper, JsonApiBodyConfiguration configuration) {
+		this.jsonMapper = jsonMapper;
+		this.limits = configuration.toDocumentLimits();
+	}
+
+	@Override
+	public boolean isReadable(@NonNull Argument<Object> type, MediaType mediaType) {
+		final Class<?> clazz = type.getType();
+		return JsonApiObject.class.isAssignableFrom(clazz)
+				|| JsonApiResource.class.isAssignableFrom(clazz)
+				|| JsonApiTypedObject.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public Object read(
+			@NonNull Argument<Object> type, MediaType mediaType, @NonNull Headers httpHeaders,
+			@NonNull InputStream inputStream
+	) throws CodecException {
+		try (JsonParser parser = limits.wrap(FACTORY.createParser(inputStream))) {
+			// An empty body has no document
+			return parser.nextToken() == null ? null : jsonMapper.readValue(parser, type);
+		} catch (IOException e) {
+			final JsonApiDocumentException exceeded = JsonApiDocumentLimits.findExceeded(e);
+			if (exceeded != null) {
+				throw exceeded;
+			}
+			throw new CodecException("Error decoding JSON:API document: " + e.getMessage(), e);
+		}
+	}
+}
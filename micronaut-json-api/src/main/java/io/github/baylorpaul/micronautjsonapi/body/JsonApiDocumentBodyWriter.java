@@ -0,0 +1,152 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelObject;
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.type.Argument;
+import io.micronaut.core.type.MutableHeaders;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.body.MessageBodyWriter;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.json.JsonMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Write JSON:API top-level documents as "application/vnd.api+json" straight into Netty buffers. The document is
+ * encoded into pooled, direct buffer chunks from the channel's allocator, which are composed without copying. This
+ * avoids encoding the document into an intermediate byte array or String, and then copying it into Netty, and avoids
+ * copying a growing buffer for large documents.
+ */
+@Singleton
+@Requires(classes = {NettyByteBufferFactory.class, ByteBuf.class})
+@Produces(JsonApiMediaType.APPLICATION_JSON_API)
+public class JsonApiDocumentBodyWriter implements MessageBodyWriter<Object> {
+
+	private final JsonMapper jsonMapper;
+	private final int chunkSize;
+
+	/**
+	 * Create the writer
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 * @param configuration the configuration, for the buffer chunk size
+	 */
+	public JsonApiDocumentBodyWriter(JsonMapper jsonMapper, JsonApiBodyConfiguration configuration) {
+		this.jsonMapper = jsonMapper;
+		this.chunkSize = Math.max(configuration.getChunkSize(), 256);
+	}
+
+	@Override
+	public boolean isWriteable(@NonNull Argument<Object> type, MediaType mediaType) {
+		return JsonApiTopLevelObject.class.isAssignableFrom(type.getType());
+	}
+
+	@Override
+	public void writeTo(
+			@NonNull Argument<Object> type, @NonNull MediaType mediaType, Object object,
+			@NonNull MutableHeaders outgoingHeaders, @NonNull OutputStream outputStream
+	) throws CodecException {
+		outgoingHeaders.setIfMissing(HttpHeaders.CONTENT_TYPE, mediaType);
+		try {
+			jsonMapper.writeValue(outputStream, type, object);
+		} catch (IOException e) {
+			throw new CodecException("Error encoding JSON:API document: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public @NonNull ByteBuffer<?> writeTo(
+			@NonNull Argument<Object> type, @NonNull MediaType mediaType, Object object,
+			@NonNull MutableHeaders outgoingHeaders, @NonNull ByteBufferFactory<?, ?> bufferFactory
+	) throws CodecException {
+		if (!(bufferFactory.getNativeAllocator() instanceof ByteBufAllocator allocator)) {
+			return MessageBodyWriter.super.writeTo(type, mediaType, object, outgoingHeaders, bufferFactory);
+		}
+		outgoingHeaders.setIfMissing(HttpHeaders.CONTENT_TYPE, mediaType);
+		final CompositeByteBuf composite = allocator.compositeDirectBuffer(Integer.MAX_VALUE);
+		final ChunkedOutputStream out = new ChunkedOutputStream(allocator, composite, chunkSize);
+		try {
+			jsonMapper.writeValue(out, type, object);
+			out.close();
+		} catch (IOException | RuntimeException e) {
+			out.release();
+			composite.release();
+			throw e instanceof CodecException ce
+					? ce
+					: new CodecException("Error encoding JSON:API document: " + e.getMessage(), e);
+		}
+		return NettyByteBufferFactory.DEFAULT.wrap(composite);
+	}
+
+	/**
+	 * Write into fixed size buffer chunks, adding each full chunk to a composite buffer
+	 */
+	private static class ChunkedOutputStream extends OutputStream {
+		private final ByteBufAllocator allocator;
+		private final CompositeByteBuf composite;
+		private final int chunkSize;
+		private ByteBuf chunk;
+
+		private ChunkedOutputStream(ByteBufAllocator allocator, CompositeByteBuf composite, int chunkSize) {
+			this.allocator = allocator;
+			this.composite = composite;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public void write(int b) {
+			writableChunk().writeByte(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			while (len > 0) {
+				ByteBuf c = writableChunk();
+				int n = Math.min(len, c.writableBytes());
+				c.writeBytes(b, off, n);
+				off += n;
+				len -= n;
+			}
+		}
+
+		@Override
+		public void close() {
+			addChunk();
+		}
+
+		private ByteBuf writableChunk() {
+			if (chunk != null && !chunk.isWritable()) {
+				addChunk();
+			}
+			if (chunk == null) {
+				chunk = allocator.directBuffer(chunkSize, chunkSize);
+			}
+			return chunk;
+		}
+
+		private void addChunk() {
+			if (chunk != null) {
+				composite.addComponent(true, chunk);
+				chunk = null;
+			}
+		}
+
+		/** Release the chunk not yet added to the composite buffer */
+		private void release() {
+			if (chunk != null) {
+				chunk.release();
+				chunk = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.micronaut.http.MediaType;
+
+/**
+ * Media types for JSON:API documents, in addition to those in {@link MediaType}
+ */
+public class JsonApiMediaType {
+
+	/** the JSON:API media type */
+	public static final String APPLICATION_JSON_API = "application/vnd.api+json";
+	/** the JSON:API media type, as a media type */
+	public static final MediaType APPLICATION_JSON_API_TYPE = new MediaType(APPLICATION_JSON_API);
+
+	/** the CBOR binary encoding, with the same document structure as JSON */
+	public static final String APPLICATION_CBOR = "application/cbor";
+	/** the CBOR binary encoding, as a media type */
+	public static final MediaType APPLICATION_CBOR_TYPE = new MediaType(APPLICATION_CBOR);
+	/** the Smile binary encoding, with the same document structure as JSON */
+	public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+	/** the Smile binary encoding, as a media type */
+	public static final MediaType APPLICATION_SMILE_TYPE = new MediaType(APPLICATION_SMILE);
+
+	private JsonApiMediaType() {}
+}
@@ -0,0 +1,30 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.annotation.Consumes;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+import jakarta.inject.Singleton;
+
+/**
+ * Read and write JSON:API documents as Smile, when "com.fasterxml.jackson.dataformat:jackson-dataformat-smile" is on
+ * the classpath. A client selects Smile via an "Accept: application/x-jackson-smile" header, if the controller method
+ * produces it.
+ */
+@Singleton
+@Requires(classes = SmileFactory.class)
+@Requires(beans = JacksonJsonMapper.class)
+@Produces(JsonApiMediaType.APPLICATION_SMILE)
+@Consumes(JsonApiMediaType.APPLICATION_SMILE)
+public class JsonApiSmileBodyHandler extends JsonApiBinaryBodyHandler {
+
+	/**
+	 * Create a Smile handler
+	 * @param jsonMapper the serde JSON mapper, for the JSON:API serializers and deserializers
+	 * @param configuration the configuration, for the limits on the structure of a request document
+	 */
+	public JsonApiSmileBodyHandler(JacksonJsonMapper jsonMapper, JsonApiBodyConfiguration configuration) {
+		super(jsonMapper, new SmileFactory(), configuration.toDocumentLimits());
+	}
+}
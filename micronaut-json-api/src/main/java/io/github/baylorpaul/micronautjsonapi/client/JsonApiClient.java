@@ -0,0 +1,51 @@
+package io.github.baylorpaul.micronautjsonapi.client;
+
+import io.micronaut.aop.Introduction;
+import jakarta.inject.Singleton;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declare an interface as a client of a JSON:API service. Each method is annotated with {@code @Get}, where the URI
+ * template variables are the method's parameter names. The return type determines how the response is read:
+ * <ul>
+ *     <li>{@code Publisher<T>} or {@code Flux<T>}: every primary resource as an entity, following "links.next"</li>
+ *     <li>{@code Mono<T>}: the primary resource of a single resource document as an entity</li>
+ *     <li>{@code T}: the same, blocking until the resource is read</li>
+ * </ul>
+ * {@code T} is a {@code JsonApiIdentifiable} entity, or {@code JsonApiResource} for the resources themselves. E.g.
+ * <pre>
+ * &#64;JsonApiClient("articles")
+ * public interface ArticleClient {
+ *     &#64;Get("/articles{?include}")
+ *     Publisher&lt;Article&gt; findAll(&#64;Nullable String include);
+ *
+ *     &#64;Get("/articles/{id}")
+ *     Mono&lt;Article&gt; findById(long id);
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Introduction
+@Singleton
+public @interface JsonApiClient {
+
+	/**
+	 * The service to call
+	 * @return an absolute URL, a service ID configured via "micronaut.http.services.[id].url", or a path starting with
+	 *             "/" on this application's embedded server, such as for a stand-in server in tests
+	 */
+	String value();
+
+	/**
+	 * A path to prefix to every method's URI
+	 * @return the path prefix, or empty for none
+	 */
+	String path() default "";
+}
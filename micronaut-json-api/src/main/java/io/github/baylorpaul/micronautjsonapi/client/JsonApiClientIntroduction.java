@@ -0,0 +1,136 @@
+package io.github.baylorpaul.micronautjsonapi.client;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiIdentifiable;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.StreamingHttpClient;
+import io.micronaut.http.uri.UriTemplate;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implement the methods of {@link JsonApiClient} interfaces. One HTTP client is created per service, and reused for
+ * every call to that service.
+ */
+@Singleton
+@InterceptorBean(JsonApiClient.class)
+@Requires(classes = {StreamingHttpClient.class, Flux.class})
+public class JsonApiClientIntroduction implements MethodInterceptor<Object, Object> {
+
+	private final ApplicationContext applicationContext;
+	private final JsonMapper jsonMapper;
+	private final Map<String, StreamingHttpClient> httpClients = new ConcurrentHashMap<>();
+	private final Map<String, JsonApiHttpClient> clients = new ConcurrentHashMap<>();
+
+	/**
+	 * Create the introduction advice
+	 * @param applicationContext the application context, to resolve the services
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 */
+	public JsonApiClientIntroduction(ApplicationContext applicationContext, JsonMapper jsonMapper) {
+		this.applicationContext = applicationContext;
+		this.jsonMapper = jsonMapper;
+	}
+
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public Object intercept(MethodInvocationContext<Object, Object> context) {
+		final String service = context.stringValue(JsonApiClient.class)
+				.orElseThrow(() -> new IllegalStateException("No service on @JsonApiClient"));
+		final String path = context.stringValue(JsonApiClient.class, "path").orElse("");
+		final String template = context.stringValue(Get.class)
+				.orElseThrow(() -> new UnsupportedOperationException(
+						"Only @Get methods are supported on @JsonApiClient interfaces: " + context.getExecutableMethod()
+				));
+		final String uri = UriTemplate.of(path + template).expand(context.getParameterValueMap());
+		final JsonApiHttpClient client = clients.computeIfAbsent(service, this::createClient);
+
+		final Class<Object> returnType = context.getReturnType().getType();
+		final boolean isPublisher = Publisher.class.isAssignableFrom(returnType);
+		final Class<?> elementType = isPublisher
+				? context.getReturnType().asArgument().getFirstTypeVariable().map(Argument::getType).orElse(Object.class)
+				: returnType;
+
+		final Publisher<?> publisher;
+		if (elementType == JsonApiResource.class) {
+			publisher = client.streamResources(uri);
+		} else if (JsonApiIdentifiable.class.isAssignableFrom(elementType)) {
+			publisher = client.streamAll(uri, (Class) elementType);
+		} else {
+			throw new UnsupportedOperationException(
+					"Unsupported return type for @JsonApiClient method: " + context.getExecutableMethod()
+			);
+		}
+
+		if (!isPublisher) {
+			return Mono.from(publisher).block();
+		} else if (Mono.class.isAssignableFrom(returnType)) {
+			return Mono.from(publisher);
+		}
+		return Flux.from(publisher);
+	}
+
+	/**
+	 * Close the HTTP clients when the application context is closed
+	 */
+	@PreDestroy
+	public void close() {
+		httpClients.values().forEach(StreamingHttpClient::stop);
+		httpClients.clear();
+		clients.clear();
+	}
+
+	private JsonApiHttpClient createClient(String service) {
+		final URL url = resolveUrl(service);
+		final StreamingHttpClient httpClient = httpClients.computeIfAbsent(service, s -> createHttpClient(url));
+		try {
+			// Only follow "next" links to the service's own origin
+			return new JsonApiHttpClient(httpClient, jsonMapper, url.toURI(), JsonApiHttpClient.DEFAULT_MAX_PAGES);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Invalid URL for @JsonApiClient service [" + service + "]", e);
+		}
+	}
+
+	private StreamingHttpClient createHttpClient(URL url) {
+		final HttpClientConfiguration configuration = applicationContext.getBean(HttpClientConfiguration.class);
+		return StreamingHttpClient.create(url, configuration);
+	}
+
+	private URL resolveUrl(String service) {
+		try {
+			if (service.startsWith("/")) {
+				URL serverUrl = applicationContext.getBean(EmbeddedServer.class).getURL();
+				return serverUrl.toURI().resolve(service).toURL();
+			} else if (service.contains("://")) {
+				return URI.create(service).toURL();
+			}
+			String url = applicationContext.getProperty("micronaut.http.services." + service + ".url", String.class)
+					.orElseThrow(() -> new IllegalStateException(
+							"No URL for @JsonApiClient service [" + service + "]. Configure micronaut.http.services."
+									+ service + ".url"
+					));
+			return URI.create(url).toURL();
+		} catch (MalformedURLException | URISyntaxException e) {
+			throw new IllegalStateException("Invalid URL for @JsonApiClient service [" + service + "]", e);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package io.github.baylorpaul.micronautjsonapi.client;
+
+import io.github.baylorpaul.micronautjsonapi.body.JsonApiMediaType;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiIdentifiable;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiUtil;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ReferenceCounted;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.StreamingHttpClient;
+import io.micronaut.json.JsonMapper;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Read JSON:API documents from another service. Each response body is decoded incrementally, so resources are emitted
+ * as they arrive instead of after the whole document is parsed. Pagination via "links.next" is followed lazily: the
+ * next page is only requested once the current page is consumed, and not at all if the subscriber cancels first.
+ * A "next" link is resolved against the current page, and must have the same origin as the first page, so the client's
+ * headers and credentials are never sent to another host. Paging ends with an error if a "next" link revisits a page,
+ * or there are more than the maximum number of pages. Connections are reused by the underlying HTTP client. E.g.
+ * <pre>
+ * JsonApiHttpClient client = new JsonApiHttpClient(streamingHttpClient, jsonMapper);
+ * Flux.from(client.streamAll("/articles?page[size]=100", Article.class))
+ *         .take(250)
+ *         .subscribe(article -&gt; ...);
+ * </pre>
+ */
+public class JsonApiHttpClient {
+
+	/** The default maximum number of pages followed via "links.next" */
+	public static final int DEFAULT_MAX_PAGES = 10_000;
+
+	private final StreamingHttpClient httpClient;
+	private final JsonMapper jsonMapper;
+	private final @Nullable URI baseUri;
+	private final int maxPages;
+
+	/**
+	 * Create a JSON:API client, which only follows relative "next" links unless the first page has an absolute URI
+	 * @param httpClient the streaming HTTP client, such as one injected via {@code @Client("id")}
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 */
+	public JsonApiHttpClient(@NonNull StreamingHttpClient httpClient, @NonNull JsonMapper jsonMapper) {
+		this(httpClient, jsonMapper, null, DEFAULT_MAX_PAGES);
+	}
+
+	/**
+	 * Create a JSON:API client
+	 * @param httpClient the streaming HTTP client, such as one injected via {@code @Client("id")}
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 * @param baseUri the URL of the service, against which relative URIs are resolved, so absolute "next" links to the
+	 *            same origin may be followed. If null, only relative "next" links are followed, unless the first page
+	 *            has an absolute URI.
+	 * @param maxPages the maximum number of pages to request per stream, including the first page
+	 */
+	public JsonApiHttpClient(
+			@NonNull StreamingHttpClient httpClient, @NonNull JsonMapper jsonMapper, @Nullable URI baseUri, int maxPages
+	) {
+		if (maxPages < 1) {
+			throw new IllegalArgumentException("The maximum number of pages must be at least 1");
+		}
+		this.httpClient = httpClient;
+		this.jsonMapper = jsonMapper;
+		this.baseUri = baseUri;
+		this.maxPages = maxPages;
+	}
+
+	/**
+	 * Stream the primary and included resources of a document, following "links.next" to later pages
+	 * @param uri the URI of the first page
+	 * @return the resources of every page, in document order
+	 */
+	public @NonNull Publisher<JsonApiResponseDecoder.Element> stream(@NonNull String uri) {
+		return streamFrom(uri);
+	}
+
+	/**
+	 * Stream the primary resources of a document, following "links.next" to later pages
+	 * @param uri the URI of the first page
+	 * @return the primary resources of every page
+	 */
+	public @NonNull Publisher<JsonApiResource> streamResources(@NonNull String uri) {
+		return streamFrom(uri)
+				.filter(e -> !e.included())
+				.map(JsonApiResponseDecoder.Element::resource);
+	}
+
+	/**
+	 * Stream the primary resources of a document as entities, following "links.next" to later pages
+	 * @param uri the URI of the first page
+	 * @param clazz the entity type
+	 * @return the primary resources of every page, as entities
+	 * @param <T> the entity type
+	 */
+	public @NonNull <T extends JsonApiIdentifiable> Publisher<T> streamAll(@NonNull String uri, @NonNull Class<T> clazz) {
+		// Bind each entity straight from its decoded JSON, rather than from the resource's attribute map
+		return streamFrom(uri)
+				.filter(e -> !e.included())
+				.map(e -> JsonApiUtil.readResourceWithIdOrThrow(jsonMapper, e.node(), clazz));
+	}
+
+	/**
+	 * Read the primary resource of a single resource document as an entity
+	 * @param uri the URI of the resource
+	 * @param clazz the entity type
+	 * @return the entity, or empty if the document's "data" is null
+	 * @param <T> the entity type
+	 */
+	public @NonNull <T extends JsonApiIdentifiable> Publisher<T> findOne(@NonNull String uri, @NonNull Class<T> clazz) {
+		return Mono.from(streamAll(uri, clazz));
+	}
+
+	private Flux<JsonApiResponseDecoder.Element> streamFrom(String uri) {
+		return Flux.defer(() -> {
+			final URI first = URI.create(uri);
+			final URI origin = first.isAbsolute() ? first : baseUri;
+			final Set<URI> visited = new HashSet<>();
+			visited.add(toPageKey(first, origin));
+			// Each page ends with an item for its "next" link, which is expanded into the next page. Expanding one level
+			// at a time pages iteratively, and only requests the next page after this page is complete, and the
+			// subscriber wants more.
+			return fetchPage(first)
+					.expand(item -> item.next() == null
+							? Flux.empty()
+							: fetchPage(checkNextPage(item.next(), origin, visited)))
+					.filter(item -> item.element() != null)
+					.map(PageItem::element);
+		});
+	}
+
+	/**
+	 * An item of a page: either a resource, or the "next" link that ends the page
+	 */
+	private record PageItem(@Nullable JsonApiResponseDecoder.Element element, @Nullable URI next) {}
+
+	private Flux<PageItem> fetchPage(URI uri) {
+		return Flux.defer(() -> {
+			final JsonApiResponseDecoder decoder = new JsonApiResponseDecoder(jsonMapper);
+			HttpRequest<?> request = HttpRequest.GET(uri)
+					.accept(JsonApiMediaType.APPLICATION_JSON_API_TYPE, MediaType.APPLICATION_JSON_TYPE);
+			return Flux.from(httpClient.dataStream(request))
+					.concatMapIterable(buffer -> decoder.feed(toBytes(buffer)))
+					.concatWith(Flux.defer(() -> Flux.fromIterable(decoder.complete())))
+					.map(element -> new PageItem(element, null))
+					.concatWith(Flux.defer(() -> Mono.justOrEmpty(decoder.findNextLink()
+							.map(next -> new PageItem(null, uri.resolve(next))))));
+		});
+	}
+
+	/**
+	 * Check that a "next" link may be followed, before it is requested
+	 * @param next the "next" link, resolved against the current page
+	 * @param origin the URI whose origin absolute links must match, or null to only allow relative links
+	 * @param visited the pages requested so far
+	 * @return the "next" link
+	 * @throws IllegalStateException if the link has another origin, revisits a page, or exceeds the maximum pages
+	 */
+	private URI checkNextPage(URI next, @Nullable URI origin, Set<URI> visited) throws IllegalStateException {
+		if (next.isAbsolute() && (origin == null || !isSameOrigin(next, origin))) {
+			throw new IllegalStateException("Refusing to follow a \"next\" link to another origin: " + next);
+		} else if (!visited.add(toPageKey(next, origin))) {
+			throw new IllegalStateException("The \"next\" link revisits a page: " + next);
+		} else if (visited.size() > maxPages) {
+			throw new IllegalStateException("Exceeded the maximum of " + maxPages + " pages");
+		}
+		return next;
+	}
+
+	/**
+	 * Identify a page by its absolute URI when the origin is known, so relative and absolute links to it are the same
+	 */
+	private static URI toPageKey(URI uri, @Nullable URI origin) {
+		return (origin == null || uri.isAbsolute() ? uri : origin.resolve(uri)).normalize();
+	}
+
+	private static boolean isSameOrigin(URI a, URI b) {
+		return a.getScheme().equalsIgnoreCase(b.getScheme())
+				&& a.getHost() != null && a.getHost().equalsIgnoreCase(b.getHost())
+				&& effectivePort(a) == effectivePort(b);
+	}
+
+	private static int effectivePort(URI uri) {
+		if (uri.getPort() != -1) {
+			return uri.getPort();
+		}
+		return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
+
+	private static byte[] toBytes(ByteBuffer<?> buffer) {
+		try {
+			return buffer.toByteArray();
+		} finally {
+			if (buffer instanceof ReferenceCounted rc) {
+				rc.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package io.github.baylorpaul.micronautjsonapi.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiTreeBuilder;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.codec.CodecException;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.json.tree.JsonNode;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Decode a JSON:API document incrementally, as chunks of the response body arrive. Each resource in "data" and
+ * "included" is emitted as soon as it is complete, so a large document is never held in memory as a whole. The other
+ * top-level members, such as "links" and "meta", are kept, and may be read once the document is complete.
+ */
+public class JsonApiResponseDecoder {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+
+	/**
+	 * A decoded resource
+	 * @param included true if the resource is from "included", or false if it is from the primary "data"
+	 * @param resource the resource
+	 * @param node the resource's JSON, from which an entity may be bound without another copy of the attributes
+	 */
+	public record Element(boolean included, @NonNull JsonApiResource resource, @NonNull JsonNode node) {}
+
+	private enum State {
+		/** expecting the start of the document */
+		START,
+		/** expecting a top-level member name, or the end of the document */
+		MEMBER,
+		/** expecting the value of a top-level member */
+		VALUE,
+		/** in a "data" or "included" array, expecting a resource or the end of the array */
+		RESOURCES,
+		/** building a resource */
+		RESOURCE,
+		/** building another top-level member */
+		OTHER,
+		/** the document is complete */
+		DONE
+	}
+
+	private final JsonMapper jsonMapper;
+	private final JsonParser parser;
+	private final ByteArrayFeeder feeder;
+	private final Map<String, JsonNode> members = new LinkedHashMap<>();
+	private State state = State.START;
+	private String member;
+	private boolean inArray;
+	private JsonApiTreeBuilder builder;
+
+	/**
+	 * Create a decoder for a single JSON:API document
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 */
+	public JsonApiResponseDecoder(@NonNull JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper;
+		try {
+			this.parser = FACTORY.createNonBlockingByteArrayParser();
+		} catch (IOException e) {
+			throw new CodecException("Unable to create a JSON parser", e);
+		}
+		this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * Decode the next chunk of the document
+	 * @param bytes the next chunk
+	 * @return the resources completed by the chunk, in document order
+	 * @throws CodecException if the document is not valid
+	 */
+	public @NonNull List<Element> feed(@NonNull byte[] bytes) throws CodecException {
+		try {
+			feeder.feedInput(bytes, 0, bytes.length);
+			return drain();
+		} catch (IOException e) {
+			throw new CodecException("Error decoding JSON:API document: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Signal the end of the document
+	 * @return the resources completed by the end of the document, if any
+	 * @throws CodecException if the document is not valid or not complete
+	 */
+	public @NonNull List<Element> complete() throws CodecException {
+		try {
+			feeder.endOfInput();
+			List<Element> elements = drain();
+			if (state != State.DONE) {
+				throw new CodecException("Incomplete JSON:API document");
+			}
+			return elements;
+		} catch (IOException e) {
+			throw new CodecException("Error decoding JSON:API document: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Find a top-level member other than "data" and "included", such as "links" or "meta"
+	 * @param name the member name
+	 * @return the member, if it has been decoded
+	 */
+	public Optional<JsonNode> findMember(@NonNull String name) {
+		return Optional.ofNullable(members.get(name));
+	}
+
+	/**
+	 * Find the "next" pagination link, which may be a string or a link object with an "href"
+	 * @return the URI of the next page, if any
+	 */
+	public Optional<String> findNextLink() {
+		return findMember("links")
+				.map(links -> links.get("next"))
+				.map(next -> next.isObject() ? next.get("href") : next)
+				.filter(JsonNode::isString)
+				.map(JsonNode::getStringValue);
+	}
+
+	private List<Element> drain() throws IOException {
+		final List<Element> elements = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			switch (state) {
+				case START -> {
+					if (token != JsonToken.START_OBJECT) {
+						throw new IOException("Expected a JSON:API document object");
+					}
+					state = State.MEMBER;
+				}
+				case MEMBER -> {
+					if (token == JsonToken.END_OBJECT) {
+						state = State.DONE;
+					} else {
+						member = parser.currentName();
+						state = State.VALUE;
+					}
+				}
+				case VALUE -> {
+					boolean isResources = member.equals("data") || member.equals("included");
+					if (isResources && token == JsonToken.START_ARRAY) {
+						state = State.RESOURCES;
+					} else if (isResources && token == JsonToken.VALUE_NULL) {
+						state = State.MEMBER;
+					} else {
+						inArray = false;
+						startValue(isResources ? State.RESOURCE : State.OTHER, token, elements);
+					}
+				}
+				case RESOURCES -> {
+					if (token == JsonToken.END_ARRAY) {
+						state = State.MEMBER;
+					} else {
+						inArray = true;
+						startValue(State.RESOURCE, token, elements);
+					}
+				}
+				case RESOURCE, OTHER -> addToValue(token, elements);
+				case DONE -> throw new IOException("Unexpected content after the JSON:API document");
+			}
+		}
+		return elements;
+	}
+
+	private void startValue(State valueState, JsonToken token, List<Element> elements) throws IOException {
+		builder = new JsonApiTreeBuilder();
+		state = valueState;
+		addToValue(token, elements);
+	}
+
+	private void addToValue(JsonToken token, List<Element> elements) throws IOException {
+		if (builder.add(parser, token)) {
+			JsonNode node = builder.getResult();
+			builder = null;
+			if (state == State.RESOURCE) {
+				JsonApiResource resource = jsonMapper.readValueFromTree(node, JsonApiResource.class);
+				elements.add(new Element(member.equals("included"), resource, node));
+				state = inArray ? State.RESOURCES : State.MEMBER;
+			} else {
+				members.put(member, node);
+				state = State.MEMBER;
+			}
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package io.github.baylorpaul.micronautjsonapi.exceptions;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiErrorSource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpStatus;
+
+/**
+ * An invalid value in a JSON:API request document, such as a missing "data" member or an ID in the wrong format. The
+ * error's "source.pointer" is a JSON Pointer to the value, such as "/data/id", when it is known.
+ */
+public class JsonApiDocumentException extends JsonApiRequestException {
+
+	/**
+	 * Create an exception for an invalid request document, with a 400 status
+	 * @param pointer a JSON Pointer to the value that caused the error, such as "/data", or null if unknown
+	 * @param detail a human-readable explanation of the problem
+	 */
+	public JsonApiDocumentException(@Nullable String pointer, @NonNull String detail) {
+		this(HttpStatus.BAD_REQUEST, pointer, detail);
+	}
+
+	/**
+	 * Create an exception for an invalid request document
+	 * @param status the HTTP status
+	 * @param pointer a JSON Pointer to the value that caused the error, such as "/data", or null if unknown
+	 * @param detail a human-readable explanation of the problem
+	 */
+	public JsonApiDocumentException(@NonNull HttpStatus status, @Nullable String pointer, @NonNull String detail) {
+		super(status, detail, pointer == null ? null : JsonApiErrorSource.builder().pointer(pointer).build());
+	}
+}
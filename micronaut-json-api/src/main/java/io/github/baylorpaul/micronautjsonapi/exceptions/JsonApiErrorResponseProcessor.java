@@ -14,6 +14,7 @@ import jakarta.inject.Singleton;
 
 /**
  * Similar to Micronaut's HateoasErrorResponseProcessor, but creates the error responses in JSON:API format instead.
+ * A {@link JsonApiRequestException} is rendered with the JSON:API errors it carries.
  */
 @Singleton
 @Primary
@@ -29,7 +30,10 @@ public class JsonApiErrorResponseProcessor implements ErrorResponseProcessor<Jso
         }
         JsonApiErrorResponse.JsonApiErrorResponseBuilder errorBuilder = JsonApiErrorResponse.builder()
                 .message(response.reason());
-        if (errorContext.hasErrors()) {
+        if (errorContext.getRootCause().orElse(null) instanceof JsonApiRequestException e) {
+            // The exception already describes its errors, including the source pointer or parameter
+            errorBuilder.errors(e.getErrors());
+        } else if (errorContext.hasErrors()) {
             for (Error jsonError : errorContext.getErrors()) {
                 JsonApiError error = JsonApiError.builder()
                         .status(String.valueOf(response.code()))
@@ -0,0 +1,31 @@
+package io.github.baylorpaul.micronautjsonapi.exceptions;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiErrorSource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.HttpStatus;
+
+/**
+ * An invalid URI query parameter in a JSON:API request, such as "include". The error's "source.parameter" names the
+ * query parameter.
+ */
+public class JsonApiParameterException extends JsonApiRequestException {
+
+	/**
+	 * Create an exception for an invalid query parameter, with a 400 status
+	 * @param parameter the query parameter that caused the error, such as "include"
+	 * @param detail a human-readable explanation of the problem
+	 */
+	public JsonApiParameterException(@NonNull String parameter, @NonNull String detail) {
+		this(HttpStatus.BAD_REQUEST, parameter, detail);
+	}
+
+	/**
+	 * Create an exception for an invalid query parameter
+	 * @param status the HTTP status
+	 * @param parameter the query parameter that caused the error, such as "include"
+	 * @param detail a human-readable explanation of the problem
+	 */
+	public JsonApiParameterException(@NonNull HttpStatus status, @NonNull String parameter, @NonNull String detail) {
+		super(status, detail, JsonApiErrorSource.builder().parameter(parameter).build());
+	}
+}
@@ -0,0 +1,64 @@
+package io.github.baylorpaul.micronautjsonapi.exceptions;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiError;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiErrorSource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.List;
+
+/**
+ * An error in a client's JSON:API request, such as an unsupported "include" value or a missing "data" member. These
+ * are routine client errors, so no stack trace is captured, which keeps them cheap under heavy or abusive traffic.
+ * The exception carries the JSON:API error objects to render, which JsonApiErrorResponseProcessor uses as-is.
+ */
+public class JsonApiRequestException extends HttpStatusException {
+
+	private final List<JsonApiError> errors;
+
+	/**
+	 * Create a JSON:API request exception with a single error
+	 * @param status the HTTP status
+	 * @param detail a human-readable explanation of the problem
+	 * @param source the part of the request that caused the error, or null if unknown
+	 */
+	public JsonApiRequestException(@NonNull HttpStatus status, @NonNull String detail, @Nullable JsonApiErrorSource source) {
+		this(status, detail, List.of(
+				JsonApiError.builder()
+						.status(String.valueOf(status.getCode()))
+						.title(status.getReason())
+						.detail(detail)
+						.source(source)
+						.build()
+		));
+	}
+
+	/**
+	 * Create a JSON:API request exception
+	 * @param status the HTTP status
+	 * @param message the exception message
+	 * @param errors the JSON:API errors to render
+	 */
+	public JsonApiRequestException(@NonNull HttpStatus status, @NonNull String message, @NonNull List<JsonApiError> errors) {
+		super(status, message);
+		this.errors = List.copyOf(errors);
+	}
+
+	/**
+	 * Find the JSON:API errors to render
+	 * @return the JSON:API errors
+	 */
+	public @NonNull List<JsonApiError> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Skip capturing the stack trace, since it would only describe where routine validation failed
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -0,0 +1,92 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.beans.BeanProperty;
+
+import java.util.*;
+
+/**
+ * A read-only, read-through view of an entity's JSON:API attributes. No values are copied when the view is created.
+ * Each value is read from the entity's getter when the view is iterated, such as during serialization. Because of
+ * this, the view reflects later changes to the entity. The view is not modifiable. Copy it into another map, as
+ * {@code JsonApiResource.putAllAttributes()} does, in order to add or replace attributes.
+ */
+public class JsonApiAttributeView extends AbstractMap<String, Object> implements SequencedMap<String, Object> {
+
+	private final Object entity;
+	private final List<BeanProperty<Object, Object>> properties;
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	/**
+	 * Create a view of the entity's attributes
+	 * @param entity the entity
+	 * @param properties the attribute properties, in order
+	 */
+	public JsonApiAttributeView(@NonNull Object entity, @NonNull List<BeanProperty<Object, Object>> properties) {
+		this.entity = entity;
+		this.properties = properties;
+	}
+
+	@Override
+	public int size() {
+		return properties.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return findProperty(key) != null;
+	}
+
+	@Override
+	public Object get(Object key) {
+		BeanProperty<Object, Object> bp = findProperty(key);
+		return bp == null ? null : bp.get(entity);
+	}
+
+	@Override
+	public @NonNull Set<Map.Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<>() {
+				@Override
+				public int size() {
+					return properties.size();
+				}
+
+				@Override
+				public @NonNull Iterator<Map.Entry<String, Object>> iterator() {
+					final Iterator<BeanProperty<Object, Object>> it = properties.iterator();
+					return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+							return it.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							BeanProperty<Object, Object> bp = it.next();
+							return new AbstractMap.SimpleImmutableEntry<>(bp.getName(), bp.get(entity));
+						}
+					};
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Provide a reverse-ordered copy of the attributes. Unlike the view, the copy reads every value immediately.
+	 */
+	@Override
+	public SequencedMap<String, Object> reversed() {
+		return new LinkedHashMap<>(this).reversed();
+	}
+
+	private BeanProperty<Object, Object> findProperty(Object key) {
+		for (BeanProperty<Object, Object> bp : properties) {
+			if (bp.getName().equals(key)) {
+				return bp;
+			}
+		}
+		return null;
+	}
+}
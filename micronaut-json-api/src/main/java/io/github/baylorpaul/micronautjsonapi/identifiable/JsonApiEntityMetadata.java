@@ -0,0 +1,349 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodec;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodecs;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiLinkTemplate;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.reflect.ReflectionUtils;
+import io.micronaut.core.type.Argument;
+import io.micronaut.data.annotation.EmbeddedId;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.Relation;
+
+import java.util.*;
+
+/**
+ * The JSON:API view of an entity class: which bean properties are attributes, and which are relationships. This is
+ * resolved once per entity class, so mapping an entity to a resource does not inspect annotations each time.
+ */
+public class JsonApiEntityMetadata {
+
+	private static final ClassValue<JsonApiEntityMetadata> CACHE = new ClassValue<>() {
+		@Override
+		protected JsonApiEntityMetadata computeValue(@NonNull Class<?> entityClass) {
+			return new JsonApiEntityMetadata(entityClass);
+		}
+	};
+
+	/**
+	 * A relationship property of an entity
+	 * @param name the relationship name
+	 * @param property the {@code @Relation} property
+	 * @param foreignKey the property holding the foreign key value(s), or null to read the relationship from the
+	 *            related entity
+	 * @param foreignKeyType the related resource type when a foreign key is used, else null
+	 * @param foreignKeyCodec the codec for the foreign key value(s) when a foreign key is used, else null
+	 */
+	public record RelationshipProperty(
+			@NonNull String name,
+			@NonNull BeanProperty<Object, Object> property,
+			@Nullable BeanProperty<Object, Object> foreignKey,
+			@Nullable String foreignKeyType,
+			@Nullable JsonApiIdCodec<Object> foreignKeyCodec
+	) {
+		/**
+		 * Decode the resource linkage IDs of a relationship into its foreign key value(s)
+		 * @param ids the String ID, list of String IDs, or null
+		 * @return the foreign key, list of foreign keys, or null
+		 * @throws IllegalArgumentException if an ID is not in the expected format, or there is no foreign key
+		 */
+		public @Nullable Object decodeForeignKey(@Nullable Object ids) throws IllegalArgumentException {
+			if (foreignKeyCodec == null) {
+				throw new IllegalArgumentException("Relationship '" + name + "' does not have a foreign key");
+			} else if (ids instanceof List<?> list) {
+				List<Object> keys = new ArrayList<>(list.size());
+				for (Object id : list) {
+					keys.add(foreignKeyCodec.decode((String) id));
+				}
+				return keys;
+			}
+			return ids == null ? null : foreignKeyCodec.decode((String) ids);
+		}
+	}
+
+	/**
+	 * How a relationship's linkage is rendered
+	 * @param mode the linkage mode
+	 * @param limit the maximum number of identifiers in "data"
+	 * @param countProperty the property holding the number of related resources, or null to use the relationship's
+	 *            size
+	 */
+	public record Linkage(
+			@NonNull JsonApiLinkage.Mode mode,
+			int limit,
+			@Nullable BeanProperty<Object, Object> countProperty
+	) {
+		/** Every identifier in "data" */
+		public static final Linkage FULL = new Linkage(JsonApiLinkage.Mode.FULL, Integer.MAX_VALUE, null);
+
+		/**
+		 * Determine if the relationship is read to render the linkage
+		 * @return true if the relationship is read, or false if only a count or links are rendered
+		 */
+		public boolean isRead() {
+			return mode == JsonApiLinkage.Mode.FULL || mode == JsonApiLinkage.Mode.TRUNCATED;
+		}
+	}
+
+	private final List<BeanProperty<Object, Object>> attributeProperties;
+	private final List<RelationshipProperty> relationshipProperties;
+	private final Map<String, Linkage> linkages;
+	private final boolean customAttributes;
+	private final @Nullable JsonApiLinkTemplate selfLinkTemplate;
+	private final Map<String, JsonApiLinkTemplate> relationshipSelfLinkTemplates;
+	private final Map<String, JsonApiLinkTemplate> relationshipRelatedLinkTemplates;
+
+	@SuppressWarnings("unchecked")
+	private JsonApiEntityMetadata(Class<?> entityClass) {
+		final BeanIntrospection<Object> introspection = BeanIntrospection.getIntrospection((Class<Object>) entityClass);
+		final Set<String> hiddenNames = new HashSet<>();
+		final List<RelationshipProperty> relationships = new ArrayList<>();
+		final Map<String, Linkage> linkageMap = new HashMap<>();
+		for (BeanProperty<Object, Object> bp : introspection.getBeanProperties()) {
+			boolean isRelation = bp.hasDeclaredAnnotation(Relation.class);
+			if (isRelation && !isExcluded(bp)) {
+				Linkage linkage = findLinkage(introspection, bp);
+				if (linkage != Linkage.FULL) {
+					linkageMap.put(bp.getName(), linkage);
+					if (linkage.countProperty() != null) {
+						hiddenNames.add(linkage.countProperty().getName());
+					}
+				}
+				String foreignKeyName = bp.stringValue(JsonApiForeignKey.class).orElse(null);
+				if (foreignKeyName == null) {
+					relationships.add(new RelationshipProperty(bp.getName(), bp, null, null, null));
+				} else {
+					BeanProperty<Object, Object> foreignKey = introspection.getRequiredProperty(foreignKeyName, Object.class);
+					Class<?> relatedType = findRelatedType(bp);
+					String type = bp.stringValue(JsonApiForeignKey.class, "type")
+							.filter(t -> !t.isEmpty())
+							.orElseGet(() -> findResourceType(relatedType));
+					relationships.add(new RelationshipProperty(
+							bp.getName(), bp, foreignKey, type, findForeignKeyCodec(relatedType, foreignKey)
+					));
+					hiddenNames.add(foreignKeyName);
+				}
+			}
+		}
+		final List<BeanProperty<Object, Object>> attributes = new ArrayList<>();
+		for (BeanProperty<Object, Object> bp : introspection.getBeanProperties()) {
+			boolean isRelation = bp.hasDeclaredAnnotation(Relation.class);
+			if (!isRelation && !isExcluded(bp) && !hiddenNames.contains(bp.getName())) {
+				attributes.add(bp);
+			}
+		}
+		this.attributeProperties = List.copyOf(attributes);
+		this.relationshipProperties = List.copyOf(relationships);
+		this.linkages = Map.copyOf(linkageMap);
+		this.customAttributes = overridesToJsonApiAttributes(entityClass);
+
+		final String selfLink = introspection.stringValue(JsonApiLinks.class).orElse(null);
+		final Map<String, JsonApiLinkTemplate> relationshipSelfLinks = new HashMap<>();
+		final Map<String, JsonApiLinkTemplate> relationshipRelatedLinks = new HashMap<>();
+		if (selfLink != null && introspection.booleanValue(JsonApiLinks.class, "relationships").orElse(true)) {
+			final JsonApiLinkTemplate selfTemplate = JsonApiLinkTemplate.compile(
+					selfLink + "/relationships/{relationship}"
+			);
+			final JsonApiLinkTemplate relatedTemplate = JsonApiLinkTemplate.compile(selfLink + "/{relationship}");
+			for (RelationshipProperty rp : relationships) {
+				relationshipSelfLinks.put(rp.name(), selfTemplate.bind("relationship", rp.name()));
+				relationshipRelatedLinks.put(rp.name(), relatedTemplate.bind("relationship", rp.name()));
+			}
+		}
+		this.selfLinkTemplate = selfLink == null ? null : JsonApiLinkTemplate.compile(selfLink);
+		this.relationshipSelfLinkTemplates = Map.copyOf(relationshipSelfLinks);
+		this.relationshipRelatedLinkTemplates = Map.copyOf(relationshipRelatedLinks);
+
+		for (Map.Entry<String, Linkage> e : linkages.entrySet()) {
+			boolean hasLinks = relationshipSelfLinkTemplates.containsKey(e.getKey());
+			if (e.getValue().mode() == JsonApiLinkage.Mode.LINKS && !hasLinks) {
+				throw new IllegalStateException("Relationship '" + e.getKey() + "' of " + entityClass.getName()
+						+ " has links-only linkage, which requires @" + JsonApiLinks.class.getSimpleName()
+						+ " with relationship links on the entity class");
+			}
+		}
+	}
+
+	/**
+	 * Find the JSON:API metadata for an entity class. The result is cached per class.
+	 * @param entityClass the introspected entity class
+	 * @return the JSON:API metadata for the entity class
+	 */
+	public static @NonNull JsonApiEntityMetadata of(@NonNull Class<?> entityClass) {
+		return CACHE.get(entityClass);
+	}
+
+	/**
+	 * Find the properties exposed as JSON:API attributes, in declaration order
+	 * @return the attribute properties
+	 */
+	public @NonNull List<BeanProperty<Object, Object>> getAttributeProperties() {
+		return attributeProperties;
+	}
+
+	/**
+	 * Find the properties exposed as JSON:API relationships, in declaration order
+	 * @return the relationship properties
+	 */
+	public @NonNull List<RelationshipProperty> getRelationshipProperties() {
+		return relationshipProperties;
+	}
+
+	/**
+	 * Find a relationship property by its relationship name
+	 * @param name the relationship name, such as "author"
+	 * @return the relationship property, or null if there is no such relationship
+	 */
+	public @Nullable RelationshipProperty findRelationshipProperty(String name) {
+		for (RelationshipProperty rp : relationshipProperties) {
+			if (rp.name().equals(name)) {
+				return rp;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find how a relationship's linkage is rendered
+	 * @param name the relationship name
+	 * @return the linkage, which is {@link Linkage#FULL} unless the relationship has {@link JsonApiLinkage}
+	 */
+	public @NonNull Linkage findLinkage(@NonNull String name) {
+		return linkages.getOrDefault(name, Linkage.FULL);
+	}
+
+	/**
+	 * Determine if the entity class has {@link JsonApiLinks}
+	 * @return true if resources of the entity class have links
+	 */
+	public boolean hasLinks() {
+		return selfLinkTemplate != null;
+	}
+
+	/**
+	 * Build the links of a resource from the {@link JsonApiLinks} template of the entity class
+	 * @param id the resource ID
+	 * @return the "self" link, or null if the entity class does not have links, or there is no ID
+	 */
+	public @Nullable SequencedMap<String, JsonApiLinkType> toLinks(@Nullable String id) {
+		if (selfLinkTemplate == null || id == null) {
+			return null;
+		}
+		final SequencedMap<String, JsonApiLinkType> links = LinkedHashMap.newLinkedHashMap(1);
+		links.put("self", selfLinkTemplate.toLink(id));
+		return links;
+	}
+
+	/**
+	 * Build the links of a relationship from the {@link JsonApiLinks} template of the entity class
+	 * @param name the relationship name
+	 * @param id the ID of the resource that has the relationship
+	 * @return the "self" and "related" links, or null if the relationship does not have links, or there is no ID
+	 */
+	public @Nullable SequencedMap<String, JsonApiLinkType> toRelationshipLinks(@NonNull String name, @Nullable String id) {
+		final JsonApiLinkTemplate selfTemplate = relationshipSelfLinkTemplates.get(name);
+		if (selfTemplate == null || id == null) {
+			return null;
+		}
+		final SequencedMap<String, JsonApiLinkType> links = LinkedHashMap.newLinkedHashMap(2);
+		links.put("self", selfTemplate.toLink(id));
+		links.put("related", relationshipRelatedLinkTemplates.get(name).toLink(id));
+		return links;
+	}
+
+	/**
+	 * Determine if the entity class overrides {@link JsonApiResourceable#toJsonApiAttributes()}, in which case the
+	 * attribute properties do not describe its attributes
+	 * @return true if the entity class provides its own attributes
+	 */
+	public boolean isCustomAttributes() {
+		return customAttributes;
+	}
+
+	private static boolean overridesToJsonApiAttributes(Class<?> entityClass) {
+		try {
+			return entityClass.getMethod("toJsonApiAttributes").getDeclaringClass() != JsonApiResourceable.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Determine if a property is neither an attribute nor a relationship, such as the ID or an ignored property
+	 */
+	private static boolean isExcluded(BeanProperty<Object, Object> bp) {
+		return bp.hasDeclaredAnnotation(Id.class)
+				|| bp.hasDeclaredAnnotation(EmbeddedId.class)
+				|| bp.hasDeclaredAnnotation(JsonIgnore.class);
+	}
+
+	/**
+	 * Read the {@link JsonApiLinkage} of a relationship property
+	 */
+	private static Linkage findLinkage(BeanIntrospection<Object> introspection, BeanProperty<Object, Object> bp) {
+		final JsonApiLinkage.Mode mode = bp.enumValue(JsonApiLinkage.class, JsonApiLinkage.Mode.class)
+				.orElse(JsonApiLinkage.Mode.FULL);
+		if (mode == JsonApiLinkage.Mode.FULL) {
+			return Linkage.FULL;
+		}
+		final BeanProperty<Object, Object> countProperty = bp.stringValue(JsonApiLinkage.class, "countProperty")
+				.filter(name -> !name.isEmpty())
+				.map(name -> introspection.getRequiredProperty(name, Object.class))
+				.orElse(null);
+		if (mode == JsonApiLinkage.Mode.COUNT && countProperty == null) {
+			throw new IllegalStateException("Relationship '" + bp.getName() + "' has count-only linkage, which requires a"
+					+ " countProperty on @" + JsonApiLinkage.class.getSimpleName());
+		}
+		final int limit = bp.intValue(JsonApiLinkage.class, "limit").orElse(JsonApiLinkage.DEFAULT_LIMIT);
+		return new Linkage(mode, Math.max(limit, 0), countProperty);
+	}
+
+	/**
+	 * Find the related entity class, which is the element type for a collection relationship
+	 */
+	private static Class<?> findRelatedType(BeanProperty<Object, Object> bp) {
+		if (Collection.class.isAssignableFrom(bp.getType())) {
+			return bp.asArgument().getFirstTypeVariable().map(Argument::getType).orElse(Object.class);
+		}
+		return bp.getType();
+	}
+
+	/**
+	 * Find the resource type of a related entity class by instantiating it once
+	 */
+	private static String findResourceType(Class<?> relatedType) {
+		Object instance = BeanIntrospector.SHARED.findIntrospection(relatedType)
+				.map(BeanIntrospection::instantiate)
+				.orElse(null);
+		if (instance instanceof JsonApiResourceable resourceable) {
+			return resourceable.toResourceType();
+		}
+		throw new IllegalStateException("Unable to find the resource type of " + relatedType.getName()
+				+ ". Provide the type on @" + JsonApiForeignKey.class.getSimpleName());
+	}
+
+	/**
+	 * Encode foreign keys the same way as the related entity's IDs, such as with an opaque codec, when the foreign key
+	 * has the same type as the related entity's ID. Otherwise, use the codec for the foreign key type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static JsonApiIdCodec<Object> findForeignKeyCodec(Class<?> relatedType, BeanProperty<Object, Object> foreignKey) {
+		Class<?> keyType = Collection.class.isAssignableFrom(foreignKey.getType())
+				? foreignKey.asArgument().getFirstTypeVariable().map(Argument::getType).orElse(Object.class)
+				: foreignKey.getType();
+		if (JsonApiIdentifiable.class.isAssignableFrom(relatedType)) {
+			JsonApiIdCodecs.EntityIdBinding binding = JsonApiIdCodecs.forEntity(relatedType);
+			if (binding.property() != null
+					&& ReflectionUtils.getWrapperType(binding.property().getType()) == ReflectionUtils.getWrapperType(keyType)) {
+				return binding.codec();
+			}
+		}
+		return (JsonApiIdCodec<Object>) JsonApiIdCodecs.forIdType(keyType);
+	}
+}
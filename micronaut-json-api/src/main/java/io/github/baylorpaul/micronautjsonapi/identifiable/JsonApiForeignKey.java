@@ -0,0 +1,32 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import java.lang.annotation.*;
+
+/**
+ * Render a relationship's linkage from a foreign key property instead of the related entity. Apply this to the
+ * {@code @Relation} property, naming the sibling property that holds the foreign key value(s). E.g.
+ * <pre>
+ * private @Relation(Relation.Kind.MANY_TO_ONE) @JsonApiForeignKey(value = "authorId", type = "user") User author;
+ * private @MappedProperty("author_id") @Nullable Long authorId;
+ * </pre>
+ * The relationship's "data" is then built from "authorId" alone, so the related entity is never read, loaded or
+ * hydrated. The foreign key property is not exposed as an attribute. The foreign key property may hold a single ID or a
+ * collection of IDs.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonApiForeignKey {
+	/**
+	 * The name of the bean property holding the foreign key value(s)
+	 * @return the foreign key property name
+	 */
+	String value();
+
+	/**
+	 * The resource type of the related entity. If empty, the type is found once per related class via
+	 * {@link JsonApiResourceable#toResourceType()} on an instance created with its no-arg constructor.
+	 * @return the related resource type, or empty to find it from the related class
+	 */
+	String type() default "";
+}
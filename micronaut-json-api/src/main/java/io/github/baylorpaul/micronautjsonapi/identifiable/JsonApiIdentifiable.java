@@ -1,11 +1,11 @@
 package io.github.baylorpaul.micronautjsonapi.identifiable;
 
-import io.micronaut.core.beans.BeanProperty;
-import io.micronaut.core.beans.BeanWrapper;
-import io.micronaut.data.annotation.Id;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodecs;
 
 /**
- * An entity with an ID that may be transformed into a JSON:API resource ID
+ * An entity with an ID that may be transformed into a JSON:API resource ID. The ID property is the one annotated with
+ * {@code @Id} or {@code @EmbeddedId}, and it is translated by the codec resolved for the entity class. See
+ * {@link JsonApiIdCodecs}.
  */
 public interface JsonApiIdentifiable extends JsonApiDataTypeable {
 	/**
@@ -13,54 +13,16 @@ public interface JsonApiIdentifiable extends JsonApiDataTypeable {
 	 * @return the entity ID as a JSON:API String ID
 	 */
 	default String toJsonApiId() {
-		BeanProperty<JsonApiIdentifiable, Object> idProperty = findIdProperty();
-		String id = null;
-		if (idProperty != null) {
-			Object value = idProperty.get(this);
-			if (value != null) {
-				id = value.toString();
-			}
-		}
-		return id;
+		return JsonApiIdCodecs.forEntity(getClass()).read(this);
 	}
 
 	/**
 	 * Set the ID using a JSON:API String ID. JSON:API requires that IDs be strings, but the supporting entity may use
-	 * another type, such as Number.
+	 * another type, such as Number or UUID.
 	 * @param jsonApiId the JSON:API String ID
+	 * @throws IllegalArgumentException if the JSON:API ID is not in the format expected by the entity's ID codec
 	 */
-	default void applyJsonApiId(String jsonApiId) {
-		BeanProperty<JsonApiIdentifiable, Object> idProperty = findIdProperty();
-		if (jsonApiId == null) {
-			idProperty.set(this, null);
-		} else {
-			if (idProperty != null) {
-				Class<?> type = idProperty.getType();
-				if (String.class.isAssignableFrom(type)) {
-					idProperty.set(this, jsonApiId);
-				} else if (long.class.isAssignableFrom(type)) {
-					idProperty.set(this, Long.parseLong(jsonApiId));
-				} else if (Long.class.isAssignableFrom(type)) {
-					idProperty.set(this, Long.valueOf(jsonApiId));
-				} else if (int.class.isAssignableFrom(type)) {
-					idProperty.set(this, Integer.parseInt(jsonApiId));
-				} else if (Integer.class.isAssignableFrom(type)) {
-					idProperty.set(this, Integer.valueOf(jsonApiId));
-				}
-			}
-		}
-	}
-
-	private BeanProperty<JsonApiIdentifiable, Object> findIdProperty() {
-		final BeanWrapper<JsonApiIdentifiable> wrapper = BeanWrapper.getWrapper(this);
-		BeanProperty<JsonApiIdentifiable, Object> idProperty = null;
-		for (BeanProperty<JsonApiIdentifiable, Object> bp : wrapper.getBeanProperties()) {
-			boolean isId = bp.getDeclaredAnnotation(Id.class) != null;
-			if (isId) {
-				idProperty = bp;
-				break;
-			}
-		}
-		return idProperty;
+	default void applyJsonApiId(String jsonApiId) throws IllegalArgumentException {
+		JsonApiIdCodecs.forEntity(getClass()).apply(this, jsonApiId);
 	}
 }
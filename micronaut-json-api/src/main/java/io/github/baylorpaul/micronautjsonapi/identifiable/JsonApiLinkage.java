@@ -0,0 +1,58 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import java.lang.annotation.*;
+
+/**
+ * Choose how a relationship's linkage is rendered, such as for a large {@code @Relation(ONE_TO_MANY)} collection.
+ * Apply this to the {@code @Relation} property. E.g.
+ * <pre>
+ * private @Relation(Relation.Kind.ONE_TO_MANY) @JsonApiLinkage(value = Mode.COUNT, countProperty = "commentCount")
+ *         List&lt;Comment&gt; comments;
+ * private @Transient @Nullable Long commentCount;
+ * </pre>
+ * The count property is populated by the repository, such as from a count query, and is not exposed as an attribute.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonApiLinkage {
+
+	/** The default maximum number of identifiers in truncated linkage */
+	int DEFAULT_LIMIT = 100;
+
+	/** How the linkage is rendered */
+	enum Mode {
+		/** every identifier in "data" */
+		FULL,
+		/**
+		 * up to the limit of identifiers in "data", with the total in "meta.count". Unless the relationship has a
+		 * {@link JsonApiForeignKey}, the relationship is read, so a lazy collection is loaded in full, even though only
+		 * the limit of identifiers is rendered.
+		 */
+		TRUNCATED,
+		/** the total in "meta.count", without "data". The relationship is never read. */
+		COUNT,
+		/** the "self" and "related" links, without "data". The relationship is never read. */
+		LINKS
+	}
+
+	/**
+	 * The linkage mode. {@link Mode#LINKS} requires {@link JsonApiLinks} on the entity class.
+	 * @return the linkage mode
+	 */
+	Mode value() default Mode.FULL;
+
+	/**
+	 * The maximum number of identifiers in "data" for {@link Mode#TRUNCATED}
+	 * @return the maximum number of identifiers
+	 */
+	int limit() default DEFAULT_LIMIT;
+
+	/**
+	 * The name of the bean property holding the number of related resources. This is required for {@link Mode#COUNT}.
+	 * For {@link Mode#TRUNCATED}, the size of the relationship is used if empty, which requires the whole collection.
+	 * To avoid loading a large collection at all, use {@link Mode#COUNT} with a count property, or {@link Mode#LINKS}.
+	 * @return the count property name, or empty for none
+	 */
+	String countProperty() default "";
+}
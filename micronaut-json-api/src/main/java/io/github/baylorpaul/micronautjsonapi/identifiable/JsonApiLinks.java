@@ -0,0 +1,30 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import java.lang.annotation.*;
+
+/**
+ * Add links to the resources of an entity class, built from a URI template with an "{id}" variable. E.g.
+ * <pre>
+ * &#64;JsonApiLinks("/articles/{id}")
+ * public class Article implements JsonApiResourceable { ... }
+ * </pre>
+ * Each resource then has a "self" link of "/articles/5", and each relationship, such as "author", has a "self" link of
+ * "/articles/5/relationships/author" and a "related" link of "/articles/5/author". The templates are compiled once per
+ * entity class and relationship.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonApiLinks {
+	/**
+	 * The URI template of the resource's "self" link, which may be absolute or relative
+	 * @return the URI template, with an "{id}" variable
+	 */
+	String value();
+
+	/**
+	 * Whether to add "self" and "related" links to each relationship
+	 * @return true to add relationship links
+	 */
+	boolean relationships() default true;
+}
@@ -0,0 +1,40 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+
+/**
+ * A reference to a resource by "type" and "id" only, such as a relationship built from a foreign key value. It stands in
+ * for the related entity without loading it.
+ * @param type the resource type
+ * @param id the JSON:API String ID
+ */
+public record JsonApiResourceReference(@NonNull String type, String id) implements JsonApiResourceable {
+
+	@Override
+	public String toResourceType() {
+		return type;
+	}
+
+	@Override
+	public String toJsonApiId() {
+		return id;
+	}
+
+	@Override
+	public void applyJsonApiId(String jsonApiId) {
+		throw new UnsupportedOperationException("A resource reference is immutable");
+	}
+
+	@Override
+	public SequencedMap<String, Object> toJsonApiAttributes() {
+		return new LinkedHashMap<>();
+	}
+
+	@Override
+	public SequencedMap<String, JsonApiDataTypeable> toRelationships() {
+		return null;
+	}
+}
@@ -1,11 +1,9 @@
 package io.github.baylorpaul.micronautjsonapi.identifiable;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.baylorpaul.micronautjsonapi.model.*;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
-import io.micronaut.core.beans.BeanWrapper;
-import io.micronaut.data.annotation.Id;
-import io.micronaut.data.annotation.Relation;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.core.beans.BeanProperty;
 
 import java.util.*;
 
@@ -26,82 +24,176 @@ public interface JsonApiResourceable extends JsonApiIdentifiable {
 	 * @return a map of attributes that describe the resources
 	 */
 	default SequencedMap<String, Object> toJsonApiAttributes() {
-		final BeanWrapper<JsonApiResourceable> wrapper = BeanWrapper.getWrapper(this);
-		final SequencedMap<String, Object> attrs = new LinkedHashMap<>();
-		wrapper.getBeanProperties().forEach(bp -> {
-			boolean isId = bp.getDeclaredAnnotation(Id.class) != null;
-			boolean isRelation = bp.getDeclaredAnnotation(Relation.class) != null;
-			boolean ignore = bp.getDeclaredAnnotation(JsonIgnore.class) != null;
-			Object value = bp.get(this);
-			if (!isId && !isRelation && !ignore) {
-				attrs.put(bp.getName(), value);
-			}
-		});
+		final List<BeanProperty<Object, Object>> attributeProperties = JsonApiEntityMetadata.of(getClass())
+				.getAttributeProperties();
+		final SequencedMap<String, Object> attrs = LinkedHashMap.newLinkedHashMap(attributeProperties.size());
+		for (BeanProperty<Object, Object> bp : attributeProperties) {
+			attrs.put(bp.getName(), bp.get(this));
+		}
 		return attrs;
 	}
 
 	/**
-	 * Find the relationship entities, in a map with consistently ordered keys if there are multiple entries
+	 * Provide the attributes as a read-only view, which reads each value from the entity only when the view is iterated,
+	 * such as during serialization. If the entity overrides {@link #toJsonApiAttributes()}, those attributes are used
+	 * instead.
+	 * @return a read-only view of the attributes that describe the resource
+	 * @see JsonApiAttributeView
+	 */
+	default SequencedMap<String, Object> toLazyJsonApiAttributes() {
+		final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(getClass());
+		return metadata.isCustomAttributes()
+				? toJsonApiAttributes()
+				: new JsonApiAttributeView(this, metadata.getAttributeProperties());
+	}
+
+	/**
+	 * Find the relationship entities, in a map with consistently ordered keys if there are multiple entries.
+	 * Relationships annotated with {@link JsonApiForeignKey} are built from the foreign key value(s), without reading
+	 * the related entity. Relationships with count-only or links-only {@link JsonApiLinkage} are not read, and
+	 * truncated linkage only includes up to its limit of entities.
 	 * @return the relationship entities in a map
 	 */
 	default SequencedMap<String, JsonApiDataTypeable> toRelationships() {
-		final BeanWrapper<JsonApiResourceable> wrapper = BeanWrapper.getWrapper(this);
-		final SequencedMap<String, JsonApiDataTypeable> relationships = new LinkedHashMap<>();
-		wrapper.getBeanProperties().forEach(bp -> {
-			boolean isId = bp.getDeclaredAnnotation(Id.class) != null;
-			boolean isRelation = bp.getDeclaredAnnotation(Relation.class) != null;
-			boolean ignore = bp.getDeclaredAnnotation(JsonIgnore.class) != null;
-			Class<?> type = bp.getType();
-			Object value = bp.get(this);
-			if (!isId && isRelation && !ignore) {
+		final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(getClass());
+		final List<JsonApiEntityMetadata.RelationshipProperty> relationshipProperties = metadata
+				.getRelationshipProperties();
+		final SequencedMap<String, JsonApiDataTypeable> relationships = LinkedHashMap.newLinkedHashMap(
+				relationshipProperties.size()
+		);
+		for (JsonApiEntityMetadata.RelationshipProperty rp : relationshipProperties) {
+			JsonApiEntityMetadata.Linkage linkage = metadata.findLinkage(rp.name());
+			if (!linkage.isRead()) {
+				continue;
+			}
+			if (rp.foreignKey() != null) {
+				relationships.put(rp.name(), mapForeignKeyToReference(rp, rp.foreignKey().get(this), linkage.limit()));
+			} else {
+				Class<?> type = rp.property().getType();
 				if (JsonApiDataTypeable.class.isAssignableFrom(type)) {
-					relationships.put(bp.getName(), (JsonApiDataTypeable) value);
+					relationships.put(rp.name(), (JsonApiDataTypeable) rp.property().get(this));
 				} else if (Collection.class.isAssignableFrom(type)) {
-					JsonApiArrayable arrayable = mapToJsonApiArrayable((Collection<?>) value);
-					relationships.put(bp.getName(), arrayable);
+					JsonApiArrayable arrayable = mapToJsonApiArrayable(
+							(Collection<?>) rp.property().get(this), linkage.limit()
+					);
+					relationships.put(rp.name(), arrayable);
 				}
 			}
-		});
+		}
 		return relationships;
 	}
 
-	private static JsonApiArrayable mapToJsonApiArrayable(Collection<?> collection) {
+	private static JsonApiDataTypeable mapForeignKeyToReference(
+			JsonApiEntityMetadata.RelationshipProperty rp, Object foreignKeyValue, int limit
+	) {
+		if (foreignKeyValue == null) {
+			return null;
+		} else if (foreignKeyValue instanceof Collection<?> foreignKeyValues) {
+			List<JsonApiResourceable> list = new ArrayList<>(Math.min(foreignKeyValues.size(), limit));
+			for (Object v : foreignKeyValues) {
+				if (list.size() >= limit) {
+					break;
+				} else if (v != null) {
+					list.add(new JsonApiResourceReference(rp.foreignKeyType(), rp.foreignKeyCodec().encode(v)));
+				}
+			}
+			return new JsonApiArrayable(list);
+		}
+		return new JsonApiResourceReference(rp.foreignKeyType(), rp.foreignKeyCodec().encode(foreignKeyValue));
+	}
+
+	private static JsonApiArrayable mapToJsonApiArrayable(Collection<?> collection, int limit) {
 		JsonApiArrayable arrayable = null;
 		if (collection != null) {
-			List<JsonApiResourceable> list = new ArrayList<>(collection.size());
-			collection.forEach(v -> {
-				if (v == null || v instanceof JsonApiResourceable) {
+			List<JsonApiResourceable> list = new ArrayList<>(Math.min(collection.size(), limit));
+			for (Object v : collection) {
+				if (list.size() >= limit) {
+					break;
+				} else if (v == null || v instanceof JsonApiResourceable) {
 					list.add((JsonApiResourceable) v);
 				}
-			});
+			}
 			arrayable = new JsonApiArrayable(list);
 		}
 		return arrayable;
 	}
 
 	/**
-	 * Provide a map of relationships as JSON:API objects
+	 * Provide a map of relationships as JSON:API objects, in declaration order. Truncated {@link JsonApiLinkage} adds
+	 * the total to "meta.count", count-only linkage provides only "meta.count", and links-only linkage provides only
+	 * "links".
 	 * @return the relationships as JSON:API objects, or null if none
 	 */
 	default SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> toJsonApiRelationships() {
 		SequencedMap<String, ? extends JsonApiDataTypeable> relationships = toRelationships();
 		LinkedHashMap<String, JsonApiObject<? extends JsonApiDataType>> result = null;
 		if (relationships != null) {
+			final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(getClass());
+			final String id = metadata.hasLinks() ? toJsonApiId() : null;
 			result = new LinkedHashMap<>();
+			for (JsonApiEntityMetadata.RelationshipProperty rp : metadata.getRelationshipProperties()) {
+				final String name = rp.name();
+				JsonApiEntityMetadata.Linkage linkage = metadata.findLinkage(name);
+				if (linkage.isRead()) {
+					if (relationships.containsKey(name)) {
+						SequencedMap<String, Object> meta = linkage.mode() == JsonApiLinkage.Mode.TRUNCATED
+								? toCountMeta(countRelated(rp, linkage))
+								: null;
+						result.put(name, toJsonApiObject(
+								metadata.toRelationshipLinks(name, id), meta, relationships.get(name)
+						));
+					}
+				} else {
+					SequencedMap<String, Object> meta = linkage.mode() == JsonApiLinkage.Mode.COUNT
+							? toCountMeta(linkage.countProperty().get(this))
+							: null;
+					result.put(name, toJsonApiObject(metadata.toRelationshipLinks(name, id), meta, null));
+				}
+			}
+			// Relationships that are not @Relation properties, such as from an overridden toRelationships()
 			for (Map.Entry<String, ? extends JsonApiDataTypeable> e : relationships.entrySet()) {
-				result.put(e.getKey(), toJsonApiObject(e.getValue()));
+				final String name = e.getKey();
+				if (!result.containsKey(name)) {
+					result.put(name, toJsonApiObject(metadata.toRelationshipLinks(name, id), null, e.getValue()));
+				}
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Find the total number of related entities, from the count property if there is one. Otherwise, this is the size
+	 * of the relationship, which truncated linkage has already read, so a lazy collection is already loaded.
+	 */
+	private Object countRelated(JsonApiEntityMetadata.RelationshipProperty rp, JsonApiEntityMetadata.Linkage linkage) {
+		if (linkage.countProperty() != null) {
+			return linkage.countProperty().get(this);
+		}
+		Object value = rp.foreignKey() != null ? rp.foreignKey().get(this) : rp.property().get(this);
+		if (value instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		return value == null ? 0 : 1;
+	}
+
+	private static SequencedMap<String, Object> toCountMeta(Object count) {
+		if (count == null) {
+			return null;
+		}
+		final SequencedMap<String, Object> meta = LinkedHashMap.newLinkedHashMap(1);
+		meta.put("count", count);
+		return meta;
+	}
+
 	/**
 	 * Translate the entity to a JSON:API object
 	 */
-	private static JsonApiObject<? extends JsonApiDataType> toJsonApiObject(JsonApiDataTypeable entity) {
+	private static JsonApiObject<? extends JsonApiDataType> toJsonApiObject(
+			SequencedMap<String, JsonApiLinkType> links, SequencedMap<String, Object> meta, JsonApiDataTypeable entity
+	) {
 		return new JsonApiObject<>(
-				null,
-				null,
+				links,
+				meta,
 				entity == null ? null : entity.toResourceIdOrIds()
 		);
 	}
@@ -118,15 +210,35 @@ public interface JsonApiResourceable extends JsonApiIdentifiable {
 	}
 
 	/**
-	 * Build the resource, providing relationship IDs, but not the relationship attributes
+	 * Build the resource, providing relationship IDs, but not the relationship attributes. If the entity class has
+	 * {@link JsonApiLinks}, the resource and its relationships have links.
 	 * @return the instance as a JSON:API resource
 	 */
 	default JsonApiResource toResource() {
+		final String id = toJsonApiId();
 		return JsonApiResource.builder()
 				.type(toResourceType())
-				.id(toJsonApiId())
+				.id(id)
 				.attributes(toJsonApiAttributes())
 				.relationships(toJsonApiRelationships())
+				.links(JsonApiEntityMetadata.of(getClass()).toLinks(id))
+				.build();
+	}
+
+	/**
+	 * Build the resource like {@link #toResource()}, but with attributes that are read from the entity only when they
+	 * are serialized or copied. This avoids reading and copying the attributes for resources that are later dropped,
+	 * filtered or replaced. The attributes are read-only, and reflect later changes to the entity.
+	 * @return the instance as a JSON:API resource, with a read-only view of the attributes
+	 */
+	default JsonApiResource toLazyResource() {
+		final String id = toJsonApiId();
+		return JsonApiResource.builder()
+				.type(toResourceType())
+				.id(id)
+				.attributes(toLazyJsonApiAttributes())
+				.relationships(toJsonApiRelationships())
+				.links(JsonApiEntityMetadata.of(getClass()).toLinks(id))
 				.build();
 	}
 
@@ -0,0 +1,109 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.type.Argument;
+
+import java.util.List;
+
+/**
+ * A codec for composite IDs, such as an {@code @EmbeddedId} class. Each property of the composite ID is translated with
+ * the codec for its own type, and the parts are joined in declaration order with a delimiter. E.g. a composite ID of
+ * (orgId: 5, userId: 12) is rendered as "5~12".
+ * @param <T> the type of the composite ID
+ */
+public class CompositeIdCodec<T> implements JsonApiIdCodec<T> {
+
+	/** The default delimiter. "~" is an unreserved URI character, so the ID needs no escaping in a URL path. */
+	public static final char DEFAULT_DELIMITER = '~';
+
+	private final BeanIntrospection<T> introspection;
+	private final List<BeanProperty<T, Object>> parts;
+	private final JsonApiIdCodec<Object>[] partCodecs;
+	private final char delimiter;
+
+	/**
+	 * Create a codec for a composite ID, joining the parts with the default delimiter
+	 * @param idType the composite ID class, which must be introspected
+	 */
+	public CompositeIdCodec(Class<T> idType) {
+		this(idType, DEFAULT_DELIMITER);
+	}
+
+	/**
+	 * Create a codec for a composite ID
+	 * @param idType the composite ID class, which must be introspected
+	 * @param delimiter the delimiter between the encoded parts. Encoded parts may not contain this character.
+	 */
+	@SuppressWarnings("unchecked")
+	public CompositeIdCodec(Class<T> idType, char delimiter) {
+		this.introspection = BeanIntrospection.getIntrospection(idType);
+		this.parts = List.copyOf(introspection.getBeanProperties());
+		this.partCodecs = new JsonApiIdCodec[parts.size()];
+		for (int i = 0; i < partCodecs.length; i++) {
+			partCodecs[i] = (JsonApiIdCodec<Object>) JsonApiIdCodecs.forIdType(parts.get(i).getType());
+		}
+		this.delimiter = delimiter;
+	}
+
+	@Override
+	public @NonNull String encode(@NonNull T id) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < partCodecs.length; i++) {
+			Object value = parts.get(i).get(id);
+			if (value == null) {
+				throw new IllegalArgumentException("Composite ID part is null: " + parts.get(i).getName());
+			}
+			String encoded = partCodecs[i].encode(value);
+			if (encoded.indexOf(delimiter) >= 0) {
+				throw new IllegalArgumentException("Composite ID part may not contain '" + delimiter + "': " + parts.get(i).getName());
+			}
+			if (i > 0) {
+				sb.append(delimiter);
+			}
+			sb.append(encoded);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public @NonNull T decode(@NonNull String jsonApiId) throws IllegalArgumentException {
+		final Object[] values = new Object[partCodecs.length];
+		int start = 0;
+		for (int i = 0; i < partCodecs.length; i++) {
+			int end = i == partCodecs.length - 1 ? jsonApiId.length() : jsonApiId.indexOf(delimiter, start);
+			if (end < 0 || (i == partCodecs.length - 1 && jsonApiId.indexOf(delimiter, start) >= 0)) {
+				throw new IllegalArgumentException("Expected " + partCodecs.length + " composite ID parts");
+			}
+			values[i] = partCodecs[i].decode(jsonApiId.substring(start, end));
+			start = end + 1;
+		}
+		return instantiate(values);
+	}
+
+	/**
+	 * Create the composite ID, via its constructor when it declares one for the parts (such as a record), else via the
+	 * no-arg constructor and setters
+	 */
+	private T instantiate(Object[] values) {
+		Argument<?>[] constructorArgs = introspection.getConstructorArguments();
+		if (constructorArgs.length > 0) {
+			Object[] args = new Object[constructorArgs.length];
+			for (int a = 0; a < constructorArgs.length; a++) {
+				for (int i = 0; i < parts.size(); i++) {
+					if (parts.get(i).getName().equals(constructorArgs[a].getName())) {
+						args[a] = values[i];
+						break;
+					}
+				}
+			}
+			return introspection.instantiate(args);
+		}
+		T id = introspection.instantiate();
+		for (int i = 0; i < parts.size(); i++) {
+			parts.get(i).set(id, values[i]);
+		}
+		return id;
+	}
+}
@@ -0,0 +1,38 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A codec for int IDs, with primitive methods so callers holding an int need not box it
+ */
+public class IntIdCodec implements JsonApiIdCodec<Integer> {
+
+	/**
+	 * Convert the primitive ID to a JSON:API String ID
+	 * @param id the entity ID
+	 * @return the JSON:API String ID
+	 */
+	public @NonNull String encodeInt(int id) {
+		return Integer.toString(id);
+	}
+
+	/**
+	 * Convert a JSON:API String ID to a primitive ID
+	 * @param jsonApiId the JSON:API String ID
+	 * @return the entity ID
+	 * @throws NumberFormatException if the JSON:API ID is not an int
+	 */
+	public int decodeInt(@NonNull String jsonApiId) throws NumberFormatException {
+		return Integer.parseInt(jsonApiId);
+	}
+
+	@Override
+	public @NonNull String encode(@NonNull Integer id) {
+		return encodeInt(id);
+	}
+
+	@Override
+	public @NonNull Integer decode(@NonNull String jsonApiId) throws NumberFormatException {
+		return decodeInt(jsonApiId);
+	}
+}
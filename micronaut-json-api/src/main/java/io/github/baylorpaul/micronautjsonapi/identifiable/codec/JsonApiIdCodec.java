@@ -0,0 +1,45 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.Optional;
+
+/**
+ * Translates between an entity ID and its JSON:API String ID. JSON:API requires that IDs be strings, but the
+ * supporting entity may use another type, such as a Number, UUID or composite key.
+ * @param <T> the type of the entity ID
+ */
+public interface JsonApiIdCodec<T> {
+
+	/**
+	 * Convert the entity ID to a JSON:API String ID
+	 * @param id the entity ID
+	 * @return the JSON:API String ID
+	 */
+	@NonNull String encode(@NonNull T id);
+
+	/**
+	 * Convert a JSON:API String ID to the entity ID
+	 * @param jsonApiId the JSON:API String ID
+	 * @return the entity ID
+	 * @throws IllegalArgumentException if the JSON:API ID is not in the expected format
+	 */
+	@NonNull T decode(@NonNull String jsonApiId) throws IllegalArgumentException;
+
+	/**
+	 * Convert a JSON:API String ID to the entity ID, returning an empty "optional" if the ID is null or not in the
+	 * expected format
+	 * @param jsonApiId the JSON:API String ID, or null
+	 * @return the entity ID, if the JSON:API ID could be decoded
+	 */
+	default Optional<T> decodeNoThrow(String jsonApiId) {
+		if (jsonApiId == null) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(decode(jsonApiId));
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+}
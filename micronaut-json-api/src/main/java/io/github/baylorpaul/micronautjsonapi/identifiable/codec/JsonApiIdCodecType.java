@@ -0,0 +1,22 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import java.lang.annotation.*;
+
+/**
+ * Override the codec used to translate an entity's ID to and from a JSON:API String ID. Apply this to the same field as
+ * the {@code @Id} or {@code @EmbeddedId} annotation. E.g.
+ * <pre>
+ * private @Id @JsonApiIdCodecType(ArticleIdCodec.class) long id;
+ * </pre>
+ * Without this annotation, a codec is chosen by the ID type. See {@link JsonApiIdCodecs#forIdType(Class)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface JsonApiIdCodecType {
+	/**
+	 * The codec class, which must have a public no-arg constructor. It is instantiated once per entity class.
+	 * @return the codec class
+	 */
+	Class<? extends JsonApiIdCodec<?>> value();
+}
@@ -0,0 +1,161 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.reflect.InstantiationUtils;
+import io.micronaut.data.annotation.EmbeddedId;
+import io.micronaut.data.annotation.Id;
+
+import java.util.UUID;
+
+/**
+ * The built-in ID codecs, and the resolution of an entity class to its ID property and codec. Resolution happens once
+ * per entity class, so translating an ID does not scan the bean properties or compare types each time.
+ */
+public class JsonApiIdCodecs {
+
+	/** A codec for String IDs, which are used as-is */
+	public static final JsonApiIdCodec<String> STRING = new JsonApiIdCodec<>() {
+		@Override
+		public @NonNull String encode(@NonNull String id) {
+			return id;
+		}
+
+		@Override
+		public @NonNull String decode(@NonNull String jsonApiId) {
+			return jsonApiId;
+		}
+	};
+	/** A codec for long and Long IDs */
+	public static final LongIdCodec LONG = new LongIdCodec();
+	/** A codec for int and Integer IDs */
+	public static final IntIdCodec INT = new IntIdCodec();
+	/** A codec for UUID IDs */
+	public static final UuidIdCodec UUID_CODEC = new UuidIdCodec();
+
+	private static final ClassValue<EntityIdBinding> BINDINGS = new ClassValue<>() {
+		@Override
+		protected EntityIdBinding computeValue(@NonNull Class<?> entityClass) {
+			return resolveBinding(entityClass);
+		}
+	};
+
+	private JsonApiIdCodecs() {}
+
+	/**
+	 * The ID property of an entity class and the codec to translate it
+	 * @param property the ID property, or null if the entity has no ID property
+	 * @param codec the codec for the ID property, or null if the entity has no ID property
+	 */
+	public record EntityIdBinding(
+			@Nullable BeanProperty<Object, Object> property,
+			@Nullable JsonApiIdCodec<Object> codec
+	) {
+		/**
+		 * Read the entity's ID as a JSON:API String ID
+		 * @param entity the entity
+		 * @return the JSON:API String ID, or null if the entity has no ID
+		 */
+		public @Nullable String read(@NonNull Object entity) {
+			if (property == null) {
+				return null;
+			}
+			Object value = property.get(entity);
+			return value == null ? null : codec.encode(value);
+		}
+
+		/**
+		 * Set the entity's ID from a JSON:API String ID
+		 * @param entity the entity
+		 * @param jsonApiId the JSON:API String ID, or null to clear a non-primitive ID
+		 * @throws IllegalArgumentException if the JSON:API ID is not in the expected format
+		 */
+		public void apply(@NonNull Object entity, @Nullable String jsonApiId) throws IllegalArgumentException {
+			if (property != null) {
+				if (jsonApiId != null) {
+					property.set(entity, codec.decode(jsonApiId));
+				} else if (!property.getType().isPrimitive()) {
+					property.set(entity, null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the ID property and codec for an entity class. The result is cached per class.
+	 * @param entityClass the introspected entity class
+	 * @return the ID binding for the class
+	 */
+	public static @NonNull EntityIdBinding forEntity(@NonNull Class<?> entityClass) {
+		return BINDINGS.get(entityClass);
+	}
+
+	/**
+	 * Find the built-in codec for an ID type
+	 * @param idType the type of the ID property
+	 * @return a codec for String, long, int and UUID IDs, else a codec using Micronaut's conversion service
+	 */
+	@SuppressWarnings("unchecked")
+	public static @NonNull <T> JsonApiIdCodec<T> forIdType(@NonNull Class<T> idType) {
+		final JsonApiIdCodec<?> codec;
+		if (idType == String.class) {
+			codec = STRING;
+		} else if (idType == long.class || idType == Long.class) {
+			codec = LONG;
+		} else if (idType == int.class || idType == Integer.class) {
+			codec = INT;
+		} else if (idType == UUID.class) {
+			codec = UUID_CODEC;
+		} else {
+			codec = new ConvertingIdCodec<>(idType);
+		}
+		return (JsonApiIdCodec<T>) codec;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static EntityIdBinding resolveBinding(Class<?> entityClass) {
+		final BeanIntrospection<Object> introspection = BeanIntrospection.getIntrospection((Class<Object>) entityClass);
+		for (BeanProperty<Object, Object> bp : introspection.getBeanProperties()) {
+			boolean isId = bp.hasDeclaredAnnotation(Id.class);
+			boolean isEmbeddedId = bp.hasDeclaredAnnotation(EmbeddedId.class);
+			if (isId || isEmbeddedId) {
+				Class<?> codecClass = bp.classValue(JsonApiIdCodecType.class).orElse(null);
+				final JsonApiIdCodec<?> codec;
+				if (codecClass != null) {
+					codec = (JsonApiIdCodec<?>) InstantiationUtils.instantiate(codecClass);
+				} else if (isEmbeddedId) {
+					codec = new CompositeIdCodec<>(bp.getType());
+				} else {
+					codec = forIdType(bp.getType());
+				}
+				return new EntityIdBinding(bp, (JsonApiIdCodec<Object>) codec);
+			}
+		}
+		return new EntityIdBinding(null, null);
+	}
+
+	/**
+	 * A fallback codec for other ID types, using toString() and Micronaut's conversion service
+	 */
+	private static class ConvertingIdCodec<T> implements JsonApiIdCodec<T> {
+		private final Class<T> idType;
+
+		private ConvertingIdCodec(Class<T> idType) {
+			this.idType = idType;
+		}
+
+		@Override
+		public @NonNull String encode(@NonNull T id) {
+			return id.toString();
+		}
+
+		@Override
+		public @NonNull T decode(@NonNull String jsonApiId) throws IllegalArgumentException {
+			return ConversionService.SHARED.convert(jsonApiId, idType)
+					.orElseThrow(() -> new IllegalArgumentException("Unable to convert ID to " + idType.getName()));
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A codec for long IDs, with primitive methods so callers holding a long need not box it
+ */
+public class LongIdCodec implements JsonApiIdCodec<Long> {
+
+	/**
+	 * Convert the primitive ID to a JSON:API String ID
+	 * @param id the entity ID
+	 * @return the JSON:API String ID
+	 */
+	public @NonNull String encodeLong(long id) {
+		return Long.toString(id);
+	}
+
+	/**
+	 * Convert a JSON:API String ID to a primitive ID
+	 * @param jsonApiId the JSON:API String ID
+	 * @return the entity ID
+	 * @throws NumberFormatException if the JSON:API ID is not a long
+	 */
+	public long decodeLong(@NonNull String jsonApiId) throws NumberFormatException {
+		return Long.parseLong(jsonApiId);
+	}
+
+	@Override
+	public @NonNull String encode(@NonNull Long id) {
+		return encodeLong(id);
+	}
+
+	@Override
+	public @NonNull Long decode(@NonNull String jsonApiId) throws NumberFormatException {
+		return decodeLong(jsonApiId);
+	}
+}
@@ -0,0 +1,60 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+
+/**
+ * A codec for long IDs that exposes an opaque, hash-encoded String instead of the sequential database ID. E.g. IDs 1, 2
+ * and 3 are rendered as unrelated looking base 36 values. The encoding is a reversible bit mix keyed by the provided
+ * secret, so no lookup table is needed. This hides sequence and volume, but it is obfuscation, not encryption.
+ * <p>
+ * To use it on an entity, extend this class with a public no-arg constructor that provides the key, and reference it
+ * via {@link JsonApiIdCodecType} on the ID field.
+ */
+public class OpaqueLongIdCodec extends LongIdCodec {
+
+	/** An odd multiplier (the 64-bit golden ratio), which is therefore invertible modulo 2^64 */
+	private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+	private static final long MULTIPLIER_INVERSE = modularInverse(MULTIPLIER);
+	private static final int RADIX = 36;
+
+	private final long key;
+
+	/**
+	 * Create an opaque codec for long IDs
+	 * @param key the secret mixed into every ID. Changing it changes every exposed ID.
+	 */
+	public OpaqueLongIdCodec(long key) {
+		this.key = key;
+	}
+
+	@Override
+	public @NonNull String encodeLong(long id) {
+		long x = (id ^ key) * MULTIPLIER;
+		x ^= x >>> 32;
+		x *= MULTIPLIER;
+		x ^= x >>> 32;
+		return Long.toUnsignedString(x, RADIX);
+	}
+
+	@Override
+	public long decodeLong(@NonNull String jsonApiId) throws NumberFormatException {
+		long x = Long.parseUnsignedLong(jsonApiId, RADIX);
+		x ^= x >>> 32;
+		x *= MULTIPLIER_INVERSE;
+		x ^= x >>> 32;
+		x *= MULTIPLIER_INVERSE;
+		return x ^ key;
+	}
+
+	/**
+	 * Find the inverse of an odd number modulo 2^64 via Newton's method. Each iteration doubles the number of correct
+	 * low bits, starting from 3.
+	 */
+	private static long modularInverse(long odd) {
+		long inverse = odd;
+		for (int i = 0; i < 5; i++) {
+			inverse *= 2 - odd * inverse;
+		}
+		return inverse;
+	}
+}
@@ -0,0 +1,21 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.micronaut.core.annotation.NonNull;
+
+import java.util.UUID;
+
+/**
+ * A codec for UUID IDs, using the canonical 36 character representation
+ */
+public class UuidIdCodec implements JsonApiIdCodec<UUID> {
+
+	@Override
+	public @NonNull String encode(@NonNull UUID id) {
+		return id.toString();
+	}
+
+	@Override
+	public @NonNull UUID decode(@NonNull String jsonApiId) throws IllegalArgumentException {
+		return UUID.fromString(jsonApiId);
+	}
+}
@@ -2,6 +2,8 @@ package io.github.baylorpaul.micronautjsonapi.model;
 
 import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiResourceMapper;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.serde.annotation.Serdeable;
 
@@ -29,8 +31,17 @@ public class JsonApiArray extends LinkedList<JsonApiResource> implements JsonApi
 	 * @param list the list of entities to include which may be translated into JSON:API resources
 	 */
 	public JsonApiArray(Collection<? extends JsonApiResourceable> list) {
+		this(list, JsonApiResourceMapper.SEQUENTIAL);
+	}
+
+	/**
+	 * Create a JSON:API array, mapping large collections of entities in parallel if the mapper allows
+	 * @param list the list of entities to include which may be translated into JSON:API resources
+	 * @param mapper the mapper of the entities to JSON:API resources
+	 */
+	public JsonApiArray(Collection<? extends JsonApiResourceable> list, @NonNull JsonApiResourceMapper mapper) {
 		if (list != null) {
-			list.stream().map(JsonApiResourceable::toResource).forEach(this::add);
+			addAll(mapper.toResources(list));
 		}
 	}
 
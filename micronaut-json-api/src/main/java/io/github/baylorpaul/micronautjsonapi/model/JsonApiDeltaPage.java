@@ -0,0 +1,165 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.function.Function;
+
+/**
+ * A JSON:API representation of the changes since a watermark, for delta sync. The "data" only holds the resources
+ * created or updated after the watermark. Deleted resources are listed as resource identifiers in "meta.deleted", and
+ * "meta.watermark" holds the watermark to send as "page[since]" on the next sync. E.g.
+ * <pre>
+ * {
+ *   "meta": {
+ *     "since": "2025-01-01T00:00:00Z",
+ *     "watermark": "2025-01-02T08:30:00Z",
+ *     "deleted": [ {"type": "article", "id": "7"} ],
+ *     "hasMore": false
+ *   },
+ *   "data": [ {"type": "article", "id": "9", "attributes": {...}} ]
+ * }
+ * </pre>
+ * The watermark may be an "updated" timestamp, or a monotonic version. When the changes are read in batches, such as
+ * with "page[size]", the records should be ordered by the watermark, and a monotonic version is preferred so records
+ * that share a timestamp are not skipped. When there are more changes, the watermark is capped at the last changed
+ * record, and only the deletions up to it are listed, so the records after it are not skipped on the next sync.
+ * @param <T> the entity type
+ * @param <W> the watermark type, such as Instant or Long
+ */
+@Serdeable
+@ReflectiveAccess
+public class JsonApiDeltaPage<T extends JsonApiResourceable, W extends Comparable<? super W>>
+		extends JsonApiTopLevelObject<JsonApiArray> {
+
+	/**
+	 * A deleted resource. Deleted records must be retained, such as via a soft delete or a tombstone table, for at
+	 * least as long as clients may sync from an older watermark.
+	 * @param type the resource type
+	 * @param id the ID of the resource
+	 * @param deletedAt the watermark of the deletion
+	 */
+	public record Tombstone<W>(@NonNull String type, @NonNull String id, @NonNull W deletedAt) {}
+
+	private final List<T> content;
+	private final W watermark;
+	private final boolean hasMore;
+
+	/**
+	 * Create a JSON:API delta page
+	 * @param since the watermark of the previous sync, or null for a full sync
+	 * @param changed the records created or updated after the watermark
+	 * @param watermarkOf a function to read a record's watermark, such as {@code Article::getUpdated}
+	 * @param deleted the records deleted after the watermark
+	 */
+	public JsonApiDeltaPage(
+			@Nullable W since,
+			@NonNull Collection<T> changed,
+			@NonNull Function<? super T, ? extends W> watermarkOf,
+			@NonNull Collection<Tombstone<W>> deleted
+	) {
+		this(since, changed, watermarkOf, deleted, false, null);
+	}
+
+	/**
+	 * Create a JSON:API delta page
+	 * @param since the watermark of the previous sync, or null for a full sync
+	 * @param changed the records created or updated after the watermark
+	 * @param watermarkOf a function to read a record's watermark, such as {@code Article::getUpdated}
+	 * @param deleted the records deleted after the watermark. When there are more changes, the deletions after the last
+	 *            changed record are left for the next sync.
+	 * @param hasMore true if only a batch of the changes is provided, and the client should sync again from the new
+	 *            watermark
+	 * @param findIncluded null for none, else a function to find included values for the collection of resources
+	 */
+	public JsonApiDeltaPage(
+			@Nullable W since,
+			@NonNull Collection<T> changed,
+			@NonNull Function<? super T, ? extends W> watermarkOf,
+			@NonNull Collection<Tombstone<W>> deleted,
+			boolean hasMore,
+			@Nullable Function<Collection<? extends JsonApiResource>, JsonApiArray> findIncluded
+	) {
+		this.content = new ArrayList<>(changed);
+		this.hasMore = hasMore;
+
+		W next = since;
+		for (T entity : changed) {
+			next = max(next, watermarkOf.apply(entity));
+		}
+		// With more changes to come, the watermark can't pass the last changed record, or the unsent records between
+		// it and a later deletion would be skipped. Later deletions are sent on the next sync instead.
+		final W cutoff = hasMore && !changed.isEmpty() ? next : null;
+		final List<JsonApiResourceIdentifier> tombstones = new ArrayList<>(deleted.size());
+		for (Tombstone<W> tombstone : deleted) {
+			if (cutoff == null || tombstone.deletedAt().compareTo(cutoff) <= 0) {
+				tombstones.add(new JsonApiResourceIdentifier(tombstone.type(), tombstone.id()));
+				next = max(next, tombstone.deletedAt());
+			}
+		}
+		this.watermark = next;
+
+		final JsonApiArray data = new JsonApiArray(changed);
+
+		final SequencedMap<String, Object> meta = new LinkedHashMap<>();
+		if (since != null) {
+			meta.put("since", since);
+		}
+		if (next != null) {
+			meta.put("watermark", next);
+		}
+		meta.put("deleted", tombstones);
+		meta.put("hasMore", hasMore);
+
+		setMeta(meta);
+		setData(data);
+
+		if (findIncluded != null) {
+			setIncluded(findIncluded.apply(data));
+		}
+	}
+
+	/**
+	 * Find the records created or updated after the watermark
+	 * @return the changed records
+	 */
+	@JsonIgnore
+	public List<T> getContent() {
+		return content;
+	}
+
+	/**
+	 * Find the watermark to send on the next sync
+	 * @return the latest watermark of the changes, or the previous watermark if there are no changes
+	 */
+	@JsonIgnore
+	public @Nullable W getWatermark() {
+		return watermark;
+	}
+
+	/**
+	 * Determine if only a batch of the changes is provided
+	 * @return true if the client should sync again from the new watermark
+	 */
+	public boolean hasMore() {
+		return hasMore;
+	}
+
+	private static <W extends Comparable<? super W>> W max(W a, W b) {
+		if (a == null) {
+			return b;
+		} else if (b == null) {
+			return a;
+		}
+		return a.compareTo(b) >= 0 ? a : b;
+	}
+}
@@ -0,0 +1,255 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * An immutable {@link JsonApiArray}, such as the data of a to-many relationship of a {@link JsonApiFrozenResource}. The
+ * resources are frozen too. The mutators, including those of its iterators, throw an
+ * {@link UnsupportedOperationException}. Mutations of views such as {@link #subList(int, int)} go through these, so
+ * they throw too.
+ */
+@Serdeable.Serializable
+@ReflectiveAccess
+public final class JsonApiFrozenArray extends JsonApiArray {
+
+	/** false while the constructor adds the resources, after which the array is immutable */
+	private final boolean frozen;
+
+	JsonApiFrozenArray(List<? extends JsonApiResource> list) {
+		super(list);
+		this.frozen = true;
+	}
+
+	@Override
+	public boolean add(JsonApiResource res) {
+		checkMutable();
+		return super.add(res);
+	}
+
+	@Override
+	public void add(int index, JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends JsonApiResource> c) {
+		checkMutable();
+		return super.addAll(c);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends JsonApiResource> c) {
+		checkMutable();
+		return super.addAll(index, c);
+	}
+
+	@Override
+	public void addFirst(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public void addLast(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean offer(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean offerFirst(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean offerLast(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public void push(JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource set(int index, JsonApiResource res) {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource remove() {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource remove(int index) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource removeFirst() {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource removeLast() {
+		throw immutable();
+	}
+
+	@Override
+	public boolean removeFirstOccurrence(Object o) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean removeLastOccurrence(Object o) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super JsonApiResource> filter) {
+		throw immutable();
+	}
+
+	@Override
+	public void replaceAll(UnaryOperator<JsonApiResource> operator) {
+		throw immutable();
+	}
+
+	@Override
+	public void sort(Comparator<? super JsonApiResource> c) {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource poll() {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource pollFirst() {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource pollLast() {
+		throw immutable();
+	}
+
+	@Override
+	public JsonApiResource pop() {
+		throw immutable();
+	}
+
+	@Override
+	public void clear() {
+		throw immutable();
+	}
+
+	@Override
+	public ListIterator<JsonApiResource> listIterator(int index) {
+		final ListIterator<JsonApiResource> it = super.listIterator(index);
+		return new ListIterator<>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public JsonApiResource next() {
+				return it.next();
+			}
+
+			@Override
+			public boolean hasPrevious() {
+				return it.hasPrevious();
+			}
+
+			@Override
+			public JsonApiResource previous() {
+				return it.previous();
+			}
+
+			@Override
+			public int nextIndex() {
+				return it.nextIndex();
+			}
+
+			@Override
+			public int previousIndex() {
+				return it.previousIndex();
+			}
+
+			@Override
+			public void remove() {
+				throw immutable();
+			}
+
+			@Override
+			public void set(JsonApiResource res) {
+				throw immutable();
+			}
+
+			@Override
+			public void add(JsonApiResource res) {
+				throw immutable();
+			}
+		};
+	}
+
+	@Override
+	public Iterator<JsonApiResource> descendingIterator() {
+		final Iterator<JsonApiResource> it = super.descendingIterator();
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public JsonApiResource next() {
+				return it.next();
+			}
+		};
+	}
+
+	/**
+	 * Provide a mutable copy, since a clone of this array would be immutable
+	 */
+	@Override
+	public Object clone() {
+		return new JsonApiArray(this);
+	}
+
+	private void checkMutable() {
+		if (frozen) {
+			throw immutable();
+		}
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("A frozen JSON:API array is immutable");
+	}
+}
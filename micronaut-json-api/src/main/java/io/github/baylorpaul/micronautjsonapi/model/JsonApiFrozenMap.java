@@ -0,0 +1,279 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * A compact, unmodifiable map with String keys, such as the attributes of a {@link JsonApiFrozenResource}. The entries
+ * are held in arrays, in order. A map with replaced or added entries, via {@link #withAll(Map)}, shares this map as its
+ * base and only holds the new entries, so adding an attribute to a large resource does not copy its attributes. Like
+ * {@link LinkedHashMap#putAll(Map)}, a replaced entry keeps its position, and added entries follow the base entries.
+ * Nested lists, sets and maps are copied as unmodifiable ones, and resources are frozen, so the hash code stays valid.
+ * Other mutable values, such as arrays, are held by reference.
+ * @param <V> the type of the values, which may be null
+ */
+public final class JsonApiFrozenMap<V> extends AbstractMap<String, V> implements SequencedMap<String, V> {
+
+	private static final JsonApiFrozenMap<?> EMPTY = new JsonApiFrozenMap<>(null, new String[0], new Object[0]);
+
+	/** the maximum number of own entries that are found by a linear search, rather than by an index */
+	private static final int MAX_LINEAR_ENTRIES = 8;
+
+	private final @Nullable JsonApiFrozenMap<V> base;
+	/** the own entries, which replace or follow the base entries */
+	private final String[] keys;
+	private final Object[] values;
+	private final @Nullable Map<String, Integer> index;
+	private final int size;
+	/** the number of own entries that replace base entries, which are first in the arrays */
+	private final int replacedCount;
+	private int hash;
+	private Set<Map.Entry<String, V>> entrySet;
+
+	private JsonApiFrozenMap(@Nullable JsonApiFrozenMap<V> base, String[] keys, Object[] values) {
+		int replaced = 0;
+		if (base != null) {
+			// Order the replacing entries first, so iteration only checks those against the base entries
+			final String[] orderedKeys = new String[keys.length];
+			final Object[] orderedValues = new Object[values.length];
+			int added = keys.length;
+			for (int i = 0; i < keys.length; i++) {
+				int target = base.containsKey(keys[i]) ? replaced++ : --added;
+				orderedKeys[target] = keys[i];
+				orderedValues[target] = values[i];
+			}
+			// The added entries were filled from the end, so restore their order
+			reverse(orderedKeys, orderedValues, replaced, keys.length);
+			keys = orderedKeys;
+			values = orderedValues;
+		}
+		this.base = base;
+		this.keys = keys;
+		this.values = values;
+		this.replacedCount = replaced;
+		this.size = (base == null ? 0 : base.size) + keys.length - replaced;
+		if (keys.length > MAX_LINEAR_ENTRIES) {
+			final Map<String, Integer> idx = HashMap.newHashMap(keys.length);
+			for (int i = 0; i < keys.length; i++) {
+				idx.put(keys[i], i);
+			}
+			this.index = idx;
+		} else {
+			this.index = null;
+		}
+	}
+
+	/**
+	 * Provide an empty map
+	 * @return the empty map
+	 * @param <V> the type of the values
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> @NonNull JsonApiFrozenMap<V> of() {
+		return (JsonApiFrozenMap<V>) EMPTY;
+	}
+
+	/**
+	 * Copy a map, keeping its order
+	 * @param map the map to copy
+	 * @return the copy, or the map itself if it is already frozen
+	 * @param <V> the type of the values
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> @NonNull JsonApiFrozenMap<V> copyOf(@NonNull Map<String, ? extends V> map) {
+		if (map instanceof JsonApiFrozenMap<?> frozen) {
+			return (JsonApiFrozenMap<V>) frozen;
+		} else if (map.isEmpty()) {
+			return of();
+		}
+		final String[] keys = new String[map.size()];
+		final Object[] values = new Object[keys.length];
+		int i = 0;
+		for (Map.Entry<String, ? extends V> e : map.entrySet()) {
+			keys[i] = e.getKey();
+			values[i] = freezeValue(e.getValue());
+			i++;
+		}
+		return new JsonApiFrozenMap<>(null, keys, values);
+	}
+
+	/**
+	 * Freeze a value, copying a nested list, set or map as an unmodifiable one with frozen values, and freezing a
+	 * resource. Other values, such as arrays or beans, are kept as-is, so they must not be mutated.
+	 */
+	private static Object freezeValue(@Nullable Object value) {
+		if (value instanceof JsonApiFrozenMap<?> || value instanceof JsonApiFrozenArray) {
+			return value;
+		} else if (value instanceof JsonApiResource res) {
+			return res.freeze();
+		} else if (value instanceof JsonApiArray arr) {
+			final List<JsonApiResource> copy = new ArrayList<>(arr.size());
+			for (JsonApiResource res : arr) {
+				copy.add(res == null ? null : res.freeze());
+			}
+			return new JsonApiFrozenArray(copy);
+		} else if (value instanceof List<?> list) {
+			final List<Object> copy = new ArrayList<>(list.size());
+			for (Object item : list) {
+				copy.add(freezeValue(item));
+			}
+			return Collections.unmodifiableList(copy);
+		} else if (value instanceof Set<?> set) {
+			final Set<Object> copy = LinkedHashSet.newLinkedHashSet(set.size());
+			for (Object item : set) {
+				copy.add(freezeValue(item));
+			}
+			return Collections.unmodifiableSet(copy);
+		} else if (value instanceof Map<?, ?> map) {
+			final Map<Object, Object> copy = LinkedHashMap.newLinkedHashMap(map.size());
+			boolean isStringKeys = true;
+			for (Map.Entry<?, ?> e : map.entrySet()) {
+				isStringKeys &= e.getKey() instanceof String;
+				copy.put(e.getKey(), freezeValue(e.getValue()));
+			}
+			return isStringKeys ? copyOf(copy) : Collections.unmodifiableMap(copy);
+		}
+		return value;
+	}
+
+	/**
+	 * Provide a map with more entries, which shares this map rather than copying it
+	 * @param more the entries to add. These replace the entries of this map when the keys match.
+	 * @return the new map, or this map if there are no entries to add
+	 */
+	public @NonNull JsonApiFrozenMap<V> withAll(@NonNull Map<String, ? extends V> more) {
+		if (more.isEmpty()) {
+			return this;
+		} else if (isEmpty()) {
+			return copyOf(more);
+		}
+		// Merge with the own entries of an overlay, so the base is shared without chaining overlays
+		final Map<String, Object> merged = LinkedHashMap.newLinkedHashMap(
+				(base == null ? 0 : keys.length) + more.size()
+		);
+		if (base != null) {
+			for (int i = 0; i < keys.length; i++) {
+				merged.put(keys[i], values[i]);
+			}
+		}
+		for (Map.Entry<String, ? extends V> e : more.entrySet()) {
+			merged.put(e.getKey(), freezeValue(e.getValue()));
+		}
+		return new JsonApiFrozenMap<>(
+				base == null ? this : base,
+				merged.keySet().toArray(String[]::new),
+				merged.values().toArray()
+		);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0 || (base != null && base.containsKey(key));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int i = indexOf(key);
+		if (i >= 0) {
+			return (V) values[i];
+		}
+		return base == null ? null : base.get(key);
+	}
+
+	@Override
+	public @NonNull Set<Map.Entry<String, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<>() {
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public @NonNull Iterator<Map.Entry<String, V>> iterator() {
+					return new EntryIterator();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0 && size > 0) {
+			h = super.hashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Provide a reverse-ordered copy of the map
+	 */
+	@Override
+	public SequencedMap<String, V> reversed() {
+		return Collections.unmodifiableSequencedMap(new LinkedHashMap<>(this).reversed());
+	}
+
+	private int indexOf(Object key) {
+		if (index != null) {
+			final Integer i = index.get(key);
+			return i == null ? -1 : i;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static void reverse(String[] keys, Object[] values, int from, int to) {
+		for (int i = from, j = to - 1; i < j; i++, j--) {
+			String k = keys[i];
+			keys[i] = keys[j];
+			keys[j] = k;
+			Object v = values[i];
+			values[i] = values[j];
+			values[j] = v;
+		}
+	}
+
+	/**
+	 * Iterate the base entries, with replaced values, and then the added entries
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+		private final Iterator<Map.Entry<String, V>> baseIterator = base == null
+				? Collections.emptyIterator()
+				: base.entrySet().iterator();
+		private int ownIndex = replacedCount;
+
+		@Override
+		public boolean hasNext() {
+			return baseIterator.hasNext() || ownIndex < keys.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<String, V> next() {
+			if (baseIterator.hasNext()) {
+				final Map.Entry<String, V> e = baseIterator.next();
+				final int i = replacedCount == 0 ? -1 : indexOf(e.getKey());
+				return i < 0 ? e : new AbstractMap.SimpleImmutableEntry<>(e.getKey(), (V) values[i]);
+			} else if (ownIndex < keys.length) {
+				final int i = ownIndex++;
+				return new AbstractMap.SimpleImmutableEntry<>(keys[i], (V) values[i]);
+			}
+			throw new NoSuchElementException();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.SequencedMap;
+
+/**
+ * An immutable relationship object of a {@link JsonApiFrozenResource}. The links and meta are held in
+ * {@link JsonApiFrozenMap}s, and the data is frozen too. The setters throw an {@link UnsupportedOperationException}.
+ * @param <T> the type of the data
+ */
+@Serdeable.Serializable
+@ReflectiveAccess
+public final class JsonApiFrozenObject<T extends JsonApiDataType> extends JsonApiObject<T> {
+
+	JsonApiFrozenObject(
+			@Nullable JsonApiFrozenMap<JsonApiLinkType> links,
+			@Nullable JsonApiFrozenMap<Object> meta,
+			@Nullable T data
+	) {
+		super(links, meta, data);
+	}
+
+	@Override
+	public void setLinks(SequencedMap<String, JsonApiLinkType> links) {
+		throw immutable();
+	}
+
+	@Override
+	public void setMeta(SequencedMap<String, Object> meta) {
+		throw immutable();
+	}
+
+	@Override
+	public void setData(T data) {
+		throw immutable();
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("A frozen JSON:API relationship is immutable");
+	}
+}
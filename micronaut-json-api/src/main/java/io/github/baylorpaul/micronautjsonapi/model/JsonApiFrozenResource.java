@@ -0,0 +1,185 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+
+/**
+ * An immutable snapshot of a {@link JsonApiResource}, from {@link JsonApiResource#freeze()}. The attributes, links and
+ * relationships are held in {@link JsonApiFrozenMap}s, each relationship is a {@link JsonApiFrozenObject}, and its data
+ * is a frozen resource, {@link JsonApiFrozenArray} or {@link JsonApiFrozenResourceIdentifier}, so a snapshot may be
+ * memoized and shared across threads and requests without defensive copies. Share a snapshot via safe publication,
+ * such as a concurrent cache. The setters throw an {@link UnsupportedOperationException}. Nested lists, sets and maps
+ * in the attributes and meta are copied as unmodifiable ones, so the hash code, which is computed once, stays valid.
+ * Other mutable attribute values, such as arrays, are held by reference and must not be mutated. E.g.
+ * <pre>
+ * JsonApiFrozenResource cached = cache.computeIfAbsent(id, k -&gt; entity.toResource().freeze());
+ * // Shares the cached attributes, rather than copying them
+ * JsonApiFrozenResource res = cached.withAttributes(Map.of("signedToken", signedToken));
+ * </pre>
+ */
+@Serdeable.Serializable
+@ReflectiveAccess
+public final class JsonApiFrozenResource extends JsonApiResource {
+
+	private final int hash;
+
+	JsonApiFrozenResource(
+			String type,
+			String id,
+			@Nullable JsonApiFrozenMap<Object> attributes,
+			@Nullable JsonApiFrozenMap<JsonApiObject<? extends JsonApiDataType>> relationships,
+			@Nullable JsonApiFrozenMap<JsonApiLinkType> links
+	) {
+		super(type, id, attributes, relationships, links);
+		this.hash = super.hashCode();
+	}
+
+	/**
+	 * Freeze a resource
+	 * @param resource the resource
+	 * @return the snapshot
+	 */
+	static JsonApiFrozenResource of(@NonNull JsonApiResource resource) {
+		return new JsonApiFrozenResource(
+				resource.getType(),
+				resource.getId(),
+				freezeMap(resource.getAttributes()),
+				freezeRelationships(resource.getRelationships()),
+				freezeMap(resource.getLinks())
+		);
+	}
+
+	/**
+	 * Provide a snapshot with more attributes, which shares the attributes, relationships and links of this snapshot
+	 * rather than copying them
+	 * @param newAttributes attributes to add to the existing attributes. These attributes will replace the old
+	 *            attributes when the keys match.
+	 * @return the new snapshot, or this snapshot if there are no attributes to add
+	 */
+	@SuppressWarnings("unchecked")
+	public @NonNull JsonApiFrozenResource withAttributes(@Nullable Map<String, ?> newAttributes) {
+		if (newAttributes == null || newAttributes.isEmpty()) {
+			return this;
+		}
+		final JsonApiFrozenMap<Object> attributes = (JsonApiFrozenMap<Object>) getAttributes();
+		return new JsonApiFrozenResource(
+				getType(),
+				getId(),
+				attributes == null ? JsonApiFrozenMap.copyOf(newAttributes) : attributes.withAll(newAttributes),
+				(JsonApiFrozenMap<JsonApiObject<? extends JsonApiDataType>>) getRelationships(),
+				(JsonApiFrozenMap<JsonApiLinkType>) getLinks()
+		);
+	}
+
+	/**
+	 * Provide this snapshot, which is already frozen
+	 */
+	@Override
+	public @NonNull JsonApiFrozenResource freeze() {
+		return this;
+	}
+
+	/**
+	 * Not supported, because the snapshot is immutable. Use {@link #withAttributes(Map)} instead.
+	 */
+	@Override
+	public void putAllAttributes(SequencedMap<String, Object> newAttributes) {
+		throw immutable();
+	}
+
+	@Override
+	public void setType(String type) {
+		throw immutable();
+	}
+
+	@Override
+	public void setId(String id) {
+		throw immutable();
+	}
+
+	@Override
+	public void setAttributes(SequencedMap<String, Object> attributes) {
+		throw immutable();
+	}
+
+	@Override
+	public void setRelationships(SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> relationships) {
+		throw immutable();
+	}
+
+	@Override
+	public void setLinks(SequencedMap<String, JsonApiLinkType> links) {
+		throw immutable();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		} else if (o instanceof JsonApiFrozenResource other && other.hash != hash) {
+			return false;
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("A frozen JSON:API resource is immutable");
+	}
+
+	private static <V> JsonApiFrozenMap<V> freezeMap(@Nullable Map<String, ? extends V> map) {
+		return map == null ? null : JsonApiFrozenMap.copyOf(map);
+	}
+
+	/**
+	 * Copy each relationship object as a {@link JsonApiFrozenObject}, with frozen links, meta and data
+	 */
+	private static JsonApiFrozenMap<JsonApiObject<? extends JsonApiDataType>> freezeRelationships(
+			@Nullable Map<String, JsonApiObject<? extends JsonApiDataType>> relationships
+	) {
+		if (relationships == null) {
+			return null;
+		}
+		final SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> copy = LinkedHashMap.newLinkedHashMap(
+				relationships.size()
+		);
+		for (Map.Entry<String, JsonApiObject<? extends JsonApiDataType>> e : relationships.entrySet()) {
+			JsonApiObject<? extends JsonApiDataType> obj = e.getValue();
+			copy.put(e.getKey(), obj == null || obj instanceof JsonApiFrozenObject ? obj : new JsonApiFrozenObject<>(
+					freezeMap(obj.getLinks()), freezeMap(obj.getMeta()), freezeData(obj.getData())
+			));
+		}
+		return JsonApiFrozenMap.copyOf(copy);
+	}
+
+	private static JsonApiDataType freezeData(@Nullable JsonApiDataType data) {
+		if (data instanceof JsonApiResource res) {
+			return res.freeze();
+		} else if (data instanceof JsonApiFrozenArray || data instanceof JsonApiFrozenResourceIdentifier) {
+			return data;
+		} else if (data instanceof JsonApiArray arr) {
+			final List<JsonApiResource> copy = new ArrayList<>(arr.size());
+			for (JsonApiResource res : arr) {
+				copy.add(res == null ? null : res.freeze());
+			}
+			return new JsonApiFrozenArray(copy);
+		} else if (data instanceof JsonApiResourceIdentifier identifier) {
+			return new JsonApiFrozenResourceIdentifier(identifier.getType(), identifier.getId());
+		}
+		return data;
+	}
+}
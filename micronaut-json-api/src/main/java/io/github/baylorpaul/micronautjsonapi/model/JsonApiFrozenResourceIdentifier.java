@@ -0,0 +1,31 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * An immutable {@link JsonApiResourceIdentifier}, such as the data of a relationship of a
+ * {@link JsonApiFrozenResource}. The setters throw an {@link UnsupportedOperationException}.
+ */
+@Serdeable.Serializable
+@ReflectiveAccess
+public final class JsonApiFrozenResourceIdentifier extends JsonApiResourceIdentifier {
+
+	JsonApiFrozenResourceIdentifier(String type, String id) {
+		super(type, id);
+	}
+
+	@Override
+	public void setType(String type) {
+		throw immutable();
+	}
+
+	@Override
+	public void setId(String id) {
+		throw immutable();
+	}
+
+	private static UnsupportedOperationException immutable() {
+		return new UnsupportedOperationException("A frozen JSON:API resource identifier is immutable");
+	}
+}
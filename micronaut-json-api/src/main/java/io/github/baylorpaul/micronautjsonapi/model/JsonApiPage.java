@@ -2,6 +2,9 @@ package io.github.baylorpaul.micronautjsonapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiResourceMapper;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.data.model.Page;
 import io.micronaut.serde.annotation.Serdeable;
@@ -9,7 +12,9 @@ import io.micronaut.serde.annotation.Serdeable;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.SequencedMap;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * A JSON:API representation of a page. This models a type that supports pagination operations.
@@ -38,7 +43,22 @@ public class JsonApiPage<T extends JsonApiResourceable> extends JsonApiSlice<T>
 	 * @param findIncluded null for none, else a function to find included values for the collection of resources
 	 */
 	public JsonApiPage(Page<T> page, Function<Collection<? extends JsonApiResource>, JsonApiArray> findIncluded) {
-		super(page, findIncluded);
+		this(page, findIncluded, JsonApiResourceMapper.SEQUENTIAL);
+	}
+
+	/**
+	 * Create a JSON:API page
+	 * @param page a result set associated with a particular Pageable that includes a calculation of the total size of
+	 *                page of records.
+	 * @param findIncluded null for none, else a function to find included values for the collection of resources
+	 * @param mapper the mapper of the entities to JSON:API resources, which may map a large page in parallel
+	 */
+	public JsonApiPage(
+			Page<T> page,
+			Function<Collection<? extends JsonApiResource>, JsonApiArray> findIncluded,
+			@NonNull JsonApiResourceMapper mapper
+	) {
+		super(page, findIncluded, mapper);
 		this.page = page;
 
 		SequencedMap<String, Object> meta = new LinkedHashMap<>(getMeta());
@@ -47,6 +67,36 @@ public class JsonApiPage<T extends JsonApiResourceable> extends JsonApiSlice<T>
 		setMeta(meta);
 	}
 
+	/**
+	 * Create a JSON:API page, whose included values are found without blocking, such as via
+	 * {@code JsonApiIncludeProcessor.findIncludedAsync()}
+	 * @param page a result set associated with a particular Pageable that includes a calculation of the total size of
+	 *                page of records.
+	 * @param findIncludedAsync a function to find included values for the collection of resources
+	 * @return a stage that completes with the page, once the included values are found
+	 * @param <T> the entity type
+	 */
+	public static <T extends JsonApiResourceable> @NonNull CompletionStage<JsonApiPage<T>> ofAsync(
+			Page<T> page,
+			@NonNull Function<Collection<? extends JsonApiResource>, ? extends CompletionStage<JsonApiArray>>
+					findIncludedAsync
+	) {
+		return withIncludedAsync(new JsonApiPage<>(page), findIncludedAsync);
+	}
+
+	@Override
+	protected void addPaginationLinks(
+			SequencedMap<String, JsonApiLinkType> links, IntFunction<JsonApiLinkString> toLink
+	) {
+		super.addPaginationLinks(links, toLink);
+		links.put("last", toLink.apply(Math.max(getTotalPages() - 1, 0)));
+	}
+
+	@Override
+	protected boolean hasNextPage() {
+		return getPageNumber() + 1 < getTotalPages();
+	}
+
 	/**
 	 * Find the total number of pages
 	 * @return The total number of pages
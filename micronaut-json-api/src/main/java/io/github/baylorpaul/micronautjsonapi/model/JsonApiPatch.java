@@ -0,0 +1,149 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.data.annotation.EmbeddedId;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.annotation.Id;
+
+import java.util.*;
+
+/**
+ * The fields of a JSON:API PATCH request, bound onto an instance of the provided type, along with which attributes and
+ * relationships were actually sent. A member that is absent from the request is left as-is, while a member that is
+ * present, even with a null value, is changed. This allows a service to write only the changed columns. E.g.
+ * <pre>
+ * JsonApiPatch&lt;Article&gt; patch = JsonApiUtil.readPatch(jsonMapper, body.getData(), Article.class);
+ * Article article = patch.applyTo(articleRepo.findById(id).orElseThrow());
+ * // Or write the changed columns alone, such as via a partial update
+ * SequencedMap&lt;String, Object&gt; changes = patch.toPropertyValues();
+ * </pre>
+ * @param <T> the type the fields are bound onto
+ */
+public class JsonApiPatch<T> {
+
+	private final T values;
+	private final Set<String> attributeNames;
+	private final Set<String> relationshipNames;
+
+	/**
+	 * Create a patch descriptor
+	 * @param values the instance holding the bound values of the present members
+	 * @param attributeNames the names of the attributes present in the request
+	 * @param relationshipNames the names of the relationships present in the request
+	 */
+	public JsonApiPatch(
+			@NonNull T values, @NonNull Set<String> attributeNames, @NonNull Set<String> relationshipNames
+	) {
+		this.values = values;
+		this.attributeNames = Collections.unmodifiableSet(new LinkedHashSet<>(attributeNames));
+		this.relationshipNames = Collections.unmodifiableSet(new LinkedHashSet<>(relationshipNames));
+	}
+
+	/**
+	 * Get the instance holding the bound values. Properties for absent members have their default values.
+	 * @return the bound values
+	 */
+	public @NonNull T getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the names of the attributes present in the request, in request order
+	 * @return the attribute names
+	 */
+	public @NonNull Set<String> getAttributeNames() {
+		return attributeNames;
+	}
+
+	/**
+	 * Get the names of the relationships present in the request, in request order
+	 * @return the relationship names
+	 */
+	public @NonNull Set<String> getRelationshipNames() {
+		return relationshipNames;
+	}
+
+	/**
+	 * Determine if an attribute or relationship was sent in the request
+	 * @param name the attribute or relationship name
+	 * @return true if the member is present, even if its value is null
+	 */
+	public boolean isPresent(@NonNull String name) {
+		return attributeNames.contains(name) || relationshipNames.contains(name);
+	}
+
+	/**
+	 * Find the names of the bean properties changed by the request. A relationship with a {@code @JsonApiForeignKey}
+	 * changes its foreign key property. Members without a writable property of the same name are ignored, as are
+	 * members for properties that deserialization doesn't bind, such as {@code @JsonIgnore}, ID or generated ones.
+	 * @return the changed property names, in request order
+	 */
+	public @NonNull Set<String> getPropertyNames() {
+		return findProperties().keySet();
+	}
+
+	/**
+	 * Read the bound values of the bean properties changed by the request, such as for a partial update
+	 * @return the changed property values keyed by property name, in request order. Values may be null.
+	 */
+	public @NonNull SequencedMap<String, Object> toPropertyValues() {
+		final SequencedMap<String, Object> result = new LinkedHashMap<>();
+		findProperties().forEach((name, bp) -> result.put(name, bp.get(values)));
+		return result;
+	}
+
+	/**
+	 * Copy the bound values of the changed bean properties onto another instance, such as the stored entity
+	 * @param target the instance to change
+	 * @return the target instance
+	 */
+	public @NonNull T applyTo(@NonNull T target) {
+		findProperties().values().forEach(bp -> bp.set(target, bp.get(values)));
+		return target;
+	}
+
+	@SuppressWarnings("unchecked")
+	private SequencedMap<String, BeanProperty<Object, Object>> findProperties() {
+		final BeanIntrospection<Object> introspection = BeanIntrospection.getIntrospection(
+				(Class<Object>) values.getClass()
+		);
+		final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(values.getClass());
+		final SequencedMap<String, BeanProperty<Object, Object>> properties = new LinkedHashMap<>();
+		for (String name : attributeNames) {
+			introspection.getProperty(name)
+					.filter(JsonApiPatch::isBound)
+					.ifPresent(bp -> properties.put(bp.getName(), bp));
+		}
+		for (String name : relationshipNames) {
+			JsonApiEntityMetadata.RelationshipProperty rp = metadata.findRelationshipProperty(name);
+			if (rp != null && rp.foreignKey() != null) {
+				properties.put(rp.foreignKey().getName(), rp.foreignKey());
+			} else {
+				introspection.getProperty(name)
+						.filter(JsonApiPatch::isBound)
+						.ifPresent(bp -> properties.put(bp.getName(), bp));
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * Determine if a property is bound from the request by deserialization. An ignored, read-only, ID or generated
+	 * property is never bound, so its value is not a change even when a member of the same name is sent.
+	 */
+	private static boolean isBound(BeanProperty<Object, Object> bp) {
+		return !bp.isReadOnly()
+				&& !bp.hasDeclaredAnnotation(JsonIgnore.class)
+				&& bp.enumValue(JsonProperty.class, "access", JsonProperty.Access.class)
+						.filter(access -> access == JsonProperty.Access.READ_ONLY)
+						.isEmpty()
+				&& !bp.hasDeclaredAnnotation(Id.class)
+				&& !bp.hasDeclaredAnnotation(EmbeddedId.class)
+				&& !bp.hasDeclaredAnnotation(GeneratedValue.class);
+	}
+}
@@ -2,6 +2,7 @@ package io.github.baylorpaul.micronautjsonapi.model;
 
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.core.util.CollectionUtils;
@@ -18,7 +19,10 @@ import java.util.SequencedMap;
 @Serdeable
 @ReflectiveAccess
 public class JsonApiResource extends JsonApiResourceIdentifier {
-	/** an attributes object representing some of the resource's data. */
+	/**
+	 * an attributes object representing some of the resource's data. This may be a read-only view, such as from
+	 * {@code JsonApiResourceable.toLazyResource()}. Use {@link #putAllAttributes(SequencedMap)} to add attributes.
+	 */
 	private @Nullable SequencedMap<String, Object> attributes;
 	/** relationships between the resource and other resources. */
 	private @Nullable SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> relationships;
@@ -65,4 +69,15 @@ public class JsonApiResource extends JsonApiResourceIdentifier {
 			}
 		}
 	}
+
+	/**
+	 * Provide an immutable snapshot of the resource, which may be memoized and shared across threads and requests.
+	 * The attributes, links and relationships are copied, and the related resources are frozen too. Attributes in a
+	 * read-only view, such as from {@code JsonApiResourceable.toLazyResource()}, are read from the entity now.
+	 * @return the snapshot
+	 * @see JsonApiFrozenResource
+	 */
+	public @NonNull JsonApiFrozenResource freeze() {
+		return JsonApiFrozenResource.of(this);
+	}
 }
@@ -2,15 +2,23 @@ package io.github.baylorpaul.micronautjsonapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiLinkTemplate;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiResourceMapper;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.core.annotation.ReflectiveAccess;
 import io.micronaut.data.model.Slice;
 import io.micronaut.serde.annotation.Serdeable;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SequencedMap;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * A JSON:API representation of a slice. This models a type that supports pagination operations.
@@ -37,8 +45,22 @@ public class JsonApiSlice<T extends JsonApiResourceable> extends JsonApiTopLevel
 	 * @param findIncluded null for none, else a function to find included values for the collection of resources
 	 */
 	public JsonApiSlice(Slice<T> slice, Function<Collection<? extends JsonApiResource>, JsonApiArray> findIncluded) {
+		this(slice, findIncluded, JsonApiResourceMapper.SEQUENTIAL);
+	}
+
+	/**
+	 * Create a JSON:API slice
+	 * @param slice a result list associated with a particular Pageable
+	 * @param findIncluded null for none, else a function to find included values for the collection of resources
+	 * @param mapper the mapper of the entities to JSON:API resources, which may map a large slice in parallel
+	 */
+	public JsonApiSlice(
+			Slice<T> slice,
+			Function<Collection<? extends JsonApiResource>, JsonApiArray> findIncluded,
+			@NonNull JsonApiResourceMapper mapper
+	) {
 		this.slice = slice;
-		final JsonApiArray data = new JsonApiArray(slice.getContent());
+		final JsonApiArray data = new JsonApiArray(slice.getContent(), mapper);
 
 		final SequencedMap<String, Object> meta = new LinkedHashMap<>();
 		meta.put("pageNumber", getPageNumber());
@@ -52,6 +74,84 @@ public class JsonApiSlice<T extends JsonApiResourceable> extends JsonApiTopLevel
 		}
 	}
 
+	/**
+	 * Create a JSON:API slice, whose included values are found without blocking, such as via
+	 * {@code JsonApiIncludeProcessor.findIncludedAsync()}
+	 * @param slice a result list associated with a particular Pageable
+	 * @param findIncludedAsync a function to find included values for the collection of resources
+	 * @return a stage that completes with the slice, once the included values are found
+	 * @param <T> the entity type
+	 */
+	public static <T extends JsonApiResourceable> @NonNull CompletionStage<JsonApiSlice<T>> ofAsync(
+			Slice<T> slice,
+			@NonNull Function<Collection<? extends JsonApiResource>, ? extends CompletionStage<JsonApiArray>>
+					findIncludedAsync
+	) {
+		return withIncludedAsync(new JsonApiSlice<>(slice), findIncludedAsync);
+	}
+
+	/**
+	 * Set the included values of a slice once they are found
+	 */
+	protected static <S extends JsonApiSlice<?>> CompletionStage<S> withIncludedAsync(
+			S slice,
+			Function<Collection<? extends JsonApiResource>, ? extends CompletionStage<JsonApiArray>> findIncludedAsync
+	) {
+		return findIncludedAsync.apply(slice.getData()).thenApply(included -> {
+			slice.setIncluded(included);
+			return slice;
+		});
+	}
+
+	/**
+	 * Add the "self", "first", "prev" and "next" pagination links. Links that are not available, such as "prev" on the
+	 * first page, are omitted. Links to the same page share a single link instance.
+	 * @param pageLinkTemplate the template of the pagination links, with "{number}" and "{size}" variables, such as
+	 *            from {@code JsonApiPagingUtil.toPageLinkTemplate()}
+	 * @return this slice
+	 */
+	public JsonApiSlice<T> withPaginationLinks(@NonNull JsonApiLinkTemplate pageLinkTemplate) {
+		if (slice.getPageable().isUnpaged()) {
+			return this;
+		}
+		final JsonApiLinkTemplate sizedTemplate = pageLinkTemplate.bind("size", getPageSize());
+		final Map<Integer, JsonApiLinkString> linksByPage = new HashMap<>();
+		final IntFunction<JsonApiLinkString> toLink = pageNumber -> linksByPage.computeIfAbsent(
+				pageNumber, n -> sizedTemplate.toLink(Map.of("number", n))
+		);
+		final SequencedMap<String, JsonApiLinkType> links = new LinkedHashMap<>();
+		addPaginationLinks(links, toLink);
+		setLinks(links);
+		return this;
+	}
+
+	/**
+	 * Add the pagination links available for this slice
+	 * @param links the links to add to
+	 * @param toLink a function to provide the link to a page number
+	 */
+	protected void addPaginationLinks(
+			SequencedMap<String, JsonApiLinkType> links, IntFunction<JsonApiLinkString> toLink
+	) {
+		final int pageNumber = getPageNumber();
+		links.put("self", toLink.apply(pageNumber));
+		links.put("first", toLink.apply(0));
+		if (pageNumber > 0) {
+			links.put("prev", toLink.apply(pageNumber - 1));
+		}
+		if (hasNextPage()) {
+			links.put("next", toLink.apply(pageNumber + 1));
+		}
+	}
+
+	/**
+	 * Determine if there may be a next page. Without a total size, a full slice may have a next page.
+	 * @return true if there may be a next page
+	 */
+	protected boolean hasNextPage() {
+		return slice.getNumberOfElements() >= getPageSize();
+	}
+
 	/**
 	 * Find the slice content.
 	 * @return The slice content.
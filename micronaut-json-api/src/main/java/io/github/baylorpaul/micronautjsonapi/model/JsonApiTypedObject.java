@@ -0,0 +1,38 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.github.baylorpaul.micronautjsonapi.serialization.JsonApiTypedObjectDeserializer;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.SequencedMap;
+
+/**
+ * A <a href="https://jsonapi.org/">JSON:API</a> request document, where the primary data's attributes and relationship
+ * IDs are decoded directly into an instance of the provided type. This avoids the intermediate attribute maps of
+ * {@link JsonApiObject}, such as for create and update request bodies. E.g.
+ * <pre>
+ * &#64;Post
+ * public JsonApiTopLevelResource create(&#64;Body JsonApiTypedObject&lt;ArticleCreation&gt; body) {
+ *     ArticleCreation creation = JsonApiUtil.readDataWithoutId(body);
+ *     ...
+ * }
+ * </pre>
+ * @param <T> the type of the primary data's attributes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Serdeable.Deserializable(using = JsonApiTypedObjectDeserializer.class)
+@ReflectiveAccess
+public class JsonApiTypedObject<T> {
+	/** a meta object that contains non-standard meta-information. */
+	private @Nullable SequencedMap<String, Object> meta;
+	/** the document's "primary data" */
+	private @Nullable JsonApiTypedResource<T> data;
+}
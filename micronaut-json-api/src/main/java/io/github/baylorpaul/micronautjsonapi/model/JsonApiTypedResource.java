@@ -0,0 +1,29 @@
+package io.github.baylorpaul.micronautjsonapi.model;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The primary data of a {@link JsonApiTypedObject}
+ * @param <T> the type of the attributes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class JsonApiTypedResource<T> {
+	/** the resource type */
+	private String type;
+	/** the ID of the resource, or null when the resource originates at the client */
+	private @Nullable String id;
+	/**
+	 * the attributes, including the IDs of the relationships. Each relationship's ID, or list of IDs, is set on the
+	 * property of the same name, or on its {@code @JsonApiForeignKey} property.
+	 */
+	private @Nullable T attributes;
+}
@@ -0,0 +1,217 @@
+package io.github.baylorpaul.micronautjsonapi.serialization;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedResource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.convert.exceptions.ConversionErrorException;
+import io.micronaut.core.type.Argument;
+import io.micronaut.data.annotation.Relation;
+import io.micronaut.serde.Decoder;
+import io.micronaut.serde.Deserializer;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Deserialize a {@link JsonApiTypedObject} in a single pass. The primary data's attributes are decoded straight into
+ * the document's type argument, and each relationship's linkage is reduced to its ID, or list of IDs, and set on the
+ * matching property. A relationship with a {@code @JsonApiForeignKey} sets the foreign key property instead, decoded
+ * with the foreign key's ID codec. A relation to an entity without a foreign key is left unset, as there is only an ID
+ * to bind.
+ */
+@Singleton
+public class JsonApiTypedObjectDeserializer implements Deserializer<JsonApiTypedObject<?>> {
+
+	private final Argument<Object> attributesType;
+
+	/**
+	 * Create a deserializer where the attributes are decoded as a map, until specific to a type argument
+	 */
+	public JsonApiTypedObjectDeserializer() {
+		this(Argument.OBJECT_ARGUMENT);
+	}
+
+	private JsonApiTypedObjectDeserializer(Argument<Object> attributesType) {
+		this.attributesType = attributesType;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @NonNull Deserializer<JsonApiTypedObject<?>> createSpecific(
+			@NonNull DecoderContext context, @NonNull Argument<? super JsonApiTypedObject<?>> type
+	) {
+		Argument<?>[] typeParameters = type.getTypeParameters();
+		return typeParameters.length == 0
+				? this
+				: new JsonApiTypedObjectDeserializer((Argument<Object>) typeParameters[0]);
+	}
+
+	@Override
+	public @Nullable JsonApiTypedObject<?> deserialize(
+			@NonNull Decoder decoder, @NonNull DecoderContext context,
+			@NonNull Argument<? super JsonApiTypedObject<?>> type
+	) throws IOException {
+		final JsonApiTypedObject<Object> result = new JsonApiTypedObject<>();
+		final Decoder obj = decoder.decodeObject(type);
+		String key;
+		while ((key = obj.decodeKey()) != null) {
+			switch (key) {
+				case "data" -> result.setData(obj.decodeNull() ? null : decodeResource(obj, context));
+				case "meta" -> result.setMeta(obj.decodeNull() ? null : toSequencedMap(obj.decodeArbitrary()));
+				default -> obj.skipValue();
+			}
+		}
+		obj.finishStructure();
+		return result;
+	}
+
+	private JsonApiTypedResource<Object> decodeResource(Decoder decoder, DecoderContext context) throws IOException {
+		final JsonApiTypedResource<Object> resource = new JsonApiTypedResource<>();
+		Map<String, Object> relationshipIds = null;
+		final Decoder obj = decoder.decodeObject();
+		String key;
+		while ((key = obj.decodeKey()) != null) {
+			switch (key) {
+				case "type" -> resource.setType(obj.decodeStringNullable());
+				case "id" -> resource.setId(obj.decodeStringNullable());
+				case "attributes" -> resource.setAttributes(findAttributesDeserializer(context)
+						.deserializeNullable(obj, context, attributesType));
+				case "relationships" -> relationshipIds = obj.decodeNull() ? null : decodeRelationshipIds(obj);
+				default -> obj.skipValue();
+			}
+		}
+		obj.finishStructure();
+
+		if (relationshipIds != null && !relationshipIds.isEmpty()) {
+			if (resource.getAttributes() == null) {
+				resource.setAttributes(instantiateAttributes());
+			}
+			applyRelationshipIds(resource.getAttributes(), relationshipIds);
+		}
+		return resource;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Deserializer<Object> findAttributesDeserializer(DecoderContext context) throws IOException {
+		return (Deserializer<Object>) context.findDeserializer(attributesType).createSpecific(context, attributesType);
+	}
+
+	/**
+	 * Reduce each relationship's linkage to its ID, or list of IDs, keyed by the relationship name
+	 */
+	private static Map<String, Object> decodeRelationshipIds(Decoder decoder) throws IOException {
+		final Map<String, Object> ids = new LinkedHashMap<>();
+		final Decoder relationships = decoder.decodeObject();
+		String name;
+		while ((name = relationships.decodeKey()) != null) {
+			if (!relationships.decodeNull()) {
+				final Decoder relationship = relationships.decodeObject();
+				String key;
+				while ((key = relationship.decodeKey()) != null) {
+					if (key.equals("data")) {
+						// Resource linkage is small, so decoding it arbitrarily is cheap
+						ids.put(name, toIds(relationship.decodeArbitrary()));
+					} else {
+						relationship.skipValue();
+					}
+				}
+				relationship.finishStructure();
+			}
+		}
+		relationships.finishStructure();
+		return ids;
+	}
+
+	private static Object toIds(Object linkage) {
+		if (linkage instanceof Map<?, ?> identifier) {
+			return toId(identifier);
+		} else if (linkage instanceof List<?> identifiers) {
+			List<String> ids = new ArrayList<>(identifiers.size());
+			for (Object item : identifiers) {
+				if (item instanceof Map<?, ?> identifier) {
+					ids.add(toId(identifier));
+				}
+			}
+			return ids;
+		}
+		return null;
+	}
+
+	private static String toId(Map<?, ?> identifier) {
+		Object id = identifier.get("id");
+		return id == null ? null : id.toString();
+	}
+
+	private Object instantiateAttributes() {
+		return attributesType.getType() == Object.class
+				? new LinkedHashMap<String, Object>()
+				: BeanIntrospection.getIntrospection(attributesType.getType()).instantiate();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void applyRelationshipIds(Object attributes, Map<String, Object> relationshipIds) {
+		if (attributes instanceof Map<?, ?> map) {
+			((Map<String, Object>) map).putAll(relationshipIds);
+			return;
+		}
+		final BeanIntrospection<Object> introspection = BeanIntrospection.getIntrospection(
+				(Class<Object>) attributes.getClass()
+		);
+		final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(attributes.getClass());
+		for (Map.Entry<String, Object> e : relationshipIds.entrySet()) {
+			JsonApiEntityMetadata.RelationshipProperty rp = metadata.findRelationshipProperty(e.getKey());
+			if (rp != null && rp.foreignKey() != null) {
+				try {
+					rp.foreignKey().set(attributes, rp.decodeForeignKey(e.getValue()));
+				} catch (IllegalArgumentException ex) {
+					throw new JsonApiDocumentException(
+							"/data/relationships/" + e.getKey(), "Unexpected format for relationship 'id'"
+					);
+				}
+			} else {
+				introspection.getProperty(e.getKey())
+						.filter(JsonApiTypedObjectDeserializer::isIdProperty)
+						.ifPresent(bp -> setIds(bp, attributes, e.getKey(), e.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * Determine if a property may be set from a relationship's ID, or list of IDs. A relation to an entity, rather
+	 * than to its ID, can't be bound from the linkage alone without a {@code @JsonApiForeignKey}, and an ignored
+	 * property isn't bound from attributes either.
+	 */
+	private static boolean isIdProperty(BeanProperty<Object, Object> bp) {
+		if (bp.isReadOnly() || bp.hasDeclaredAnnotation(JsonIgnore.class)) {
+			return false;
+		}
+		final Class<?> valueType = Collection.class.isAssignableFrom(bp.getType())
+				? bp.asArgument().getFirstTypeVariable().map(Argument::getType).orElse(Object.class)
+				: bp.getType();
+		return !bp.hasDeclaredAnnotation(Relation.class)
+				|| BeanIntrospector.SHARED.findIntrospection(valueType).isEmpty();
+	}
+
+	private static void setIds(BeanProperty<Object, Object> bp, Object attributes, String name, Object ids) {
+		try {
+			bp.convertAndSet(attributes, ids);
+		} catch (ConversionErrorException ex) {
+			throw new JsonApiDocumentException(
+					"/data/relationships/" + name, "Unexpected format for relationship 'id'"
+			);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static SequencedMap<String, Object> toSequencedMap(Object obj) {
+		return obj instanceof Map<?, ?> map ? new LinkedHashMap<>((Map<String, Object>) map) : null;
+	}
+}
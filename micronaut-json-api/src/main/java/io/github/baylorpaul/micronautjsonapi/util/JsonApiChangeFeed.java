@@ -0,0 +1,434 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiFrozenMap;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiFrozenResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelResource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.sse.Event;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Publish changed entities to long-lived subscribers, such as dashboards, as JSON:API resource documents over
+ * Server-Sent Events or newline-delimited JSON, rather than having them poll the list endpoints. Each change is mapped
+ * to a resource once, via {@link JsonApiResourceable#toResource()}, and frozen so every subscriber shares it. A
+ * subscriber may be limited to some resource types, and may request sparse fieldsets per type. Bursts of changes to the
+ * same resource are coalesced by type and ID: a subscriber receives the latest state of a resource at most once per
+ * coalescing window, and a slow subscriber only holds the latest state of each resource until it requests more. E.g.
+ * <pre>
+ * // After saving or deleting an entity
+ * changeFeed.publish(article);
+ * changeFeed.publishDeleted("article", "7");
+ *
+ * &#64;Get(value = "/changes{?types}", produces = MediaType.TEXT_EVENT_STREAM)
+ * public Publisher&lt;Event&lt;JsonApiTopLevelResource&gt;&gt; changes(
+ *         HttpRequest&lt;?&gt; request, @Nullable String types
+ * ) {
+ *     Map&lt;String, Set&lt;String&gt;&gt; fields = JsonApiChangeFeed.parseFieldsets(request.getParameters().asMap());
+ *     return changeFeed.subscribeEvents(JsonApiChangeFeed.parseTypes(types), fields);
+ * }
+ * </pre>
+ * A deleted resource is published as a resource with only its type and ID, and with "meta.deleted" set to true.
+ * Share one feed per application, such as a bean with {@code @Bean(preDestroy = "close")}, so its subscribers are
+ * completed on shutdown.
+ */
+public class JsonApiChangeFeed implements AutoCloseable {
+
+	/** The default window in which changes to the same resource are coalesced */
+	public static final Duration DEFAULT_COALESCE_WINDOW = Duration.ofMillis(250);
+
+	private static final SequencedMap<String, Object> DELETED_META = JsonApiFrozenMap.copyOf(Map.of("deleted", true));
+
+	private final long coalesceWindowNanos;
+	private final ScheduledExecutorService scheduler;
+	private final Set<FeedSubscription<?>> subscriptions = ConcurrentHashMap.newKeySet();
+	private volatile boolean closed;
+
+	/**
+	 * Create a change feed that coalesces changes within {@link #DEFAULT_COALESCE_WINDOW}
+	 */
+	public JsonApiChangeFeed() {
+		this(DEFAULT_COALESCE_WINDOW);
+	}
+
+	/**
+	 * Create a change feed
+	 * @param coalesceWindow the window in which changes to the same resource are coalesced, or zero to send each
+	 *            change as soon as it is requested
+	 */
+	public JsonApiChangeFeed(@NonNull Duration coalesceWindow) {
+		if (coalesceWindow.isNegative()) {
+			throw new IllegalArgumentException("The coalescing window must not be negative");
+		}
+		this.coalesceWindowNanos = coalesceWindow.toNanos();
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(
+				Thread.ofPlatform().name("json-api-change-feed").daemon().factory()
+		);
+	}
+
+	/**
+	 * Publish a created or updated entity to the subscribers of its type
+	 * @param entity the entity, which is mapped to a resource immediately
+	 */
+	public void publish(@NonNull JsonApiResourceable entity) {
+		publish(entity.toResource());
+	}
+
+	/**
+	 * Publish a created or updated resource to the subscribers of its type
+	 * @param resource the resource, which is frozen immediately
+	 */
+	public void publish(@NonNull JsonApiResource resource) {
+		offer(new Change(resource.freeze(), null));
+	}
+
+	/**
+	 * Publish a deleted resource to the subscribers of its type
+	 * @param type the resource type
+	 * @param id the ID of the resource
+	 */
+	public void publishDeleted(@NonNull String type, @NonNull String id) {
+		offer(new Change(JsonApiResource.builder().type(type).id(id).build().freeze(), DELETED_META));
+	}
+
+	/**
+	 * Subscribe to the changes as JSON:API documents, such as for a newline-delimited JSON response, which produces
+	 * "application/x-ndjson"
+	 * @param types the resource types to receive, or null for every type
+	 * @param fieldsets the sparse fieldsets, by resource type, or null for all the fields of every type
+	 * @return the publisher of the changes, which publishes to each subscriber until the subscriber cancels
+	 */
+	public @NonNull Publisher<JsonApiTopLevelResource> subscribe(
+			@Nullable Set<String> types, @Nullable Map<String, ? extends Set<String>> fieldsets
+	) {
+		return subscriber -> register(new FeedSubscription<>(subscriber, types, fieldsets, Function.identity()));
+	}
+
+	/**
+	 * Subscribe to the changes as Server-Sent Events, named by the resource type
+	 * @param types the resource types to receive, or null for every type
+	 * @param fieldsets the sparse fieldsets, by resource type, or null for all the fields of every type
+	 * @return the publisher of the events, which publishes to each subscriber until the subscriber cancels
+	 */
+	public @NonNull Publisher<Event<JsonApiTopLevelResource>> subscribeEvents(
+			@Nullable Set<String> types, @Nullable Map<String, ? extends Set<String>> fieldsets
+	) {
+		return subscriber -> register(new FeedSubscription<>(
+				subscriber, types, fieldsets, doc -> Event.of(doc).name(doc.getData().getType())
+		));
+	}
+
+	/**
+	 * Find the number of current subscribers
+	 * @return the number of subscribers that have not cancelled
+	 */
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * Complete every subscriber, and stop the coalescing timer. Later subscribers are completed immediately.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		for (FeedSubscription<?> subscription : subscriptions) {
+			subscription.complete();
+		}
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * Parse a comma-separated list of resource types, such as from a "types" query parameter
+	 * @param types the comma-separated types, or null
+	 * @return the types, or null for every type if none are provided
+	 */
+	public static @Nullable Set<String> parseTypes(@Nullable String types) {
+		final Set<String> result = new LinkedHashSet<>();
+		if (types != null) {
+			for (String type : types.split(",")) {
+				if (!type.isBlank()) {
+					result.add(type.trim());
+				}
+			}
+		}
+		return result.isEmpty() ? null : result;
+	}
+
+	/**
+	 * Parse the JSON:API "fields[TYPE]" query parameters, such as "fields[article]=title,body"
+	 * @param parameters the query parameters
+	 * @return the sparse fieldsets, by resource type
+	 */
+	public static @NonNull Map<String, Set<String>> parseFieldsets(@NonNull Map<String, List<String>> parameters) {
+		final Map<String, Set<String>> result = new HashMap<>();
+		for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+			final String name = entry.getKey();
+			if (name.startsWith("fields[") && name.endsWith("]") && name.length() > "fields[]".length()) {
+				final Set<String> fields = result.computeIfAbsent(
+						name.substring("fields[".length(), name.length() - 1), k -> new LinkedHashSet<>()
+				);
+				for (String value : entry.getValue()) {
+					for (String field : value.split(",")) {
+						if (!field.isBlank()) {
+							fields.add(field.trim());
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private void offer(Change change) {
+		for (FeedSubscription<?> subscription : subscriptions) {
+			subscription.offer(change);
+		}
+	}
+
+	private <T> void register(FeedSubscription<T> subscription) {
+		subscription.downstream.onSubscribe(subscription);
+		subscriptions.add(subscription);
+		if (closed) {
+			subscription.complete();
+		} else if (subscription.isDone()) {
+			// Cancelled while subscribing
+			subscriptions.remove(subscription);
+		}
+	}
+
+	/**
+	 * A published change
+	 * @param resource the frozen resource
+	 * @param meta the meta of the document, such as for a deleted resource, or null for none
+	 */
+	private record Change(@NonNull JsonApiFrozenResource resource, @Nullable SequencedMap<String, Object> meta) {
+
+		String key() {
+			return resource.getType() + ':' + resource.getId();
+		}
+
+		JsonApiTopLevelResource toDocument(@Nullable Map<String, ? extends Set<String>> fieldsets) {
+			final Set<String> fields = fieldsets == null || meta != null ? null : fieldsets.get(resource.getType());
+			return JsonApiTopLevelResource.topLevelResourceBuilder()
+					.meta(meta)
+					.data(fields == null ? resource : toSparseResource(fields))
+					.build();
+		}
+
+		private JsonApiResource toSparseResource(Set<String> fields) {
+			return JsonApiResource.builder()
+					.type(resource.getType())
+					.id(resource.getId())
+					.attributes(filter(resource.getAttributes(), fields))
+					.relationships(filter(resource.getRelationships(), fields))
+					.links(resource.getLinks())
+					.build();
+		}
+
+		private static <V> SequencedMap<String, V> filter(@Nullable SequencedMap<String, V> map, Set<String> fields) {
+			if (map == null) {
+				return null;
+			}
+			final SequencedMap<String, V> result = new LinkedHashMap<>();
+			for (Map.Entry<String, V> entry : map.entrySet()) {
+				if (fields.contains(entry.getKey())) {
+					result.put(entry.getKey(), entry.getValue());
+				}
+			}
+			return result.isEmpty() ? null : result;
+		}
+	}
+
+	/**
+	 * The subscription of a single subscriber. Changes wait in "pending" until the coalescing window elapses, and then
+	 * in "ready" until the subscriber requests them. A later change to the same resource replaces the waiting change,
+	 * in its original position. The subscriber is signalled by one thread at a time, outside the lock, via
+	 * {@link #drain()}. That includes the terminal signal, which is recorded under the lock and sent by the draining
+	 * thread, so it never overlaps an "onNext".
+	 */
+	private final class FeedSubscription<T> implements Subscription {
+
+		private final Subscriber<? super T> downstream;
+		private final @Nullable Set<String> types;
+		private final @Nullable Map<String, ? extends Set<String>> fieldsets;
+		private final Function<JsonApiTopLevelResource, T> toItem;
+
+		private final SequencedMap<String, Change> pending = new LinkedHashMap<>();
+		private final SequencedMap<String, Change> ready = new LinkedHashMap<>();
+		private long requested;
+		private boolean releaseScheduled;
+		private boolean draining;
+		private boolean missed;
+		private boolean done;
+		/** true while a terminal signal is recorded, but not yet sent */
+		private boolean terminalPending;
+		/** the error to signal, or null to signal completion */
+		private @Nullable Throwable error;
+
+		FeedSubscription(
+				Subscriber<? super T> downstream,
+				@Nullable Set<String> types,
+				@Nullable Map<String, ? extends Set<String>> fieldsets,
+				Function<JsonApiTopLevelResource, T> toItem
+		) {
+			this.downstream = downstream;
+			this.types = types == null ? null : Set.copyOf(types);
+			this.fieldsets = fieldsets == null ? null : Map.copyOf(fieldsets);
+			this.toItem = toItem;
+		}
+
+		void offer(Change change) {
+			if (types != null && !types.contains(change.resource().getType())) {
+				return;
+			}
+			final String key = change.key();
+			boolean scheduleRelease = false;
+			synchronized (this) {
+				if (done) {
+					return;
+				} else if (ready.containsKey(key) || coalesceWindowNanos == 0L) {
+					ready.put(key, change);
+				} else {
+					pending.put(key, change);
+					scheduleRelease = !releaseScheduled;
+					releaseScheduled = true;
+				}
+			}
+			if (scheduleRelease) {
+				scheduler.schedule(this::release, coalesceWindowNanos, TimeUnit.NANOSECONDS);
+			} else {
+				drain();
+			}
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0L) {
+				fail(new IllegalArgumentException("The requested number of changes must be positive"));
+				return;
+			}
+			synchronized (this) {
+				requested = requested + n < 0L ? Long.MAX_VALUE : requested + n;
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (this) {
+				done = true;
+				terminalPending = false;
+				pending.clear();
+				ready.clear();
+			}
+			subscriptions.remove(this);
+		}
+
+		synchronized boolean isDone() {
+			return done;
+		}
+
+		void complete() {
+			terminate(null);
+		}
+
+		private void fail(Throwable t) {
+			terminate(t);
+		}
+
+		/**
+		 * Record the terminal signal, and send it via the drain, after any "onNext" in progress
+		 */
+		private void terminate(@Nullable Throwable t) {
+			synchronized (this) {
+				if (done) {
+					return;
+				}
+				done = true;
+				terminalPending = true;
+				error = t;
+				pending.clear();
+				ready.clear();
+			}
+			subscriptions.remove(this);
+			drain();
+		}
+
+		private void release() {
+			synchronized (this) {
+				releaseScheduled = false;
+				ready.putAll(pending);
+				pending.clear();
+			}
+			drain();
+		}
+
+		private void drain() {
+			synchronized (this) {
+				if (draining) {
+					missed = true;
+					return;
+				}
+				draining = true;
+			}
+			while (true) {
+				final Change change;
+				final Throwable terminalError;
+				synchronized (this) {
+					if (terminalPending) {
+						// Nothing follows the terminal signal, so the drain stays claimed
+						terminalPending = false;
+						terminalError = error;
+						change = null;
+					} else if (done || requested == 0L || ready.isEmpty()) {
+						if (!missed) {
+							draining = false;
+							return;
+						}
+						missed = false;
+						continue;
+					} else {
+						change = ready.pollFirstEntry().getValue();
+						terminalError = null;
+						if (requested != Long.MAX_VALUE) {
+							requested--;
+						}
+					}
+				}
+				if (change == null) {
+					if (terminalError == null) {
+						downstream.onComplete();
+					} else {
+						downstream.onError(terminalError);
+					}
+					return;
+				}
+				try {
+					downstream.onNext(toItem.apply(change.toDocument(fieldsets)));
+				} catch (RuntimeException e) {
+					cancel();
+					throw e;
+				}
+			}
+		}
+	}
+}
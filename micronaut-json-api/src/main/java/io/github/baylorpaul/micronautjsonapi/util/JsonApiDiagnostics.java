@@ -0,0 +1,202 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.context.ServerRequestContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counts of an HTTP request's JSON:API work, to catch N+1 patterns during development and in canary builds. The
+ * counts are of {@link JsonApiResourceable#toResource()} calls by resource type, retriever calls and their numbers of
+ * IDs by full "include" path, and reads of {@code @Relation} properties by resource type and relationship. The work is
+ * counted by the {@link JsonApiResourceMapper} and the {@link JsonApiIncludeProcessor}, once per collection, so a
+ * direct {@code toResource()} call is not counted. A request is only counted once an open
+ * {@link JsonApiDiagnosticsFilter} has started it, and then only on threads that carry the HTTP request.
+ * @see JsonApiDiagnosticsConfiguration
+ */
+public final class JsonApiDiagnostics {
+
+	/** The name of the HTTP request attribute that holds the diagnostics of the request */
+	public static final String REQUEST_ATTRIBUTE = "json-api.diagnostics";
+
+	private final Map<String, LongAdder> toResourceCalls = new ConcurrentHashMap<>();
+	private final Map<String, Retrievals> retrievals = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> relationReads = new ConcurrentHashMap<>();
+
+	/**
+	 * The retriever calls of an "include" path
+	 */
+	private static final class Retrievals {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder ids = new LongAdder();
+		private final AtomicInteger maxIds = new AtomicInteger();
+	}
+
+	/**
+	 * Find the diagnostics of the current HTTP request
+	 * @return the diagnostics, or null if there is no current request, or its diagnostics were not started
+	 */
+	public static @Nullable JsonApiDiagnostics current() {
+		return ServerRequestContext.currentRequest()
+				.flatMap(request -> request.getAttribute(REQUEST_ATTRIBUTE, JsonApiDiagnostics.class))
+				.orElse(null);
+	}
+
+	/**
+	 * Count the mappings of entities to resources, along with the reads of the {@code @Relation} properties without a
+	 * foreign key that each mapping makes
+	 * @param entities the entities
+	 */
+	static void recordToResources(@NonNull Collection<? extends JsonApiResourceable> entities) {
+		final JsonApiDiagnostics diagnostics = current();
+		if (diagnostics != null) {
+			for (JsonApiResourceable entity : entities) {
+				final String type = entity.toResourceType();
+				increment(diagnostics.toResourceCalls, type);
+				final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(entity.getClass());
+				for (JsonApiEntityMetadata.RelationshipProperty rp : metadata.getRelationshipProperties()) {
+					if (rp.foreignKey() == null && metadata.findLinkage(rp.name()).isRead()) {
+						increment(diagnostics.relationReads, type + '.' + rp.name());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Count a read of a {@code @Relation} property, which may lazily load the related entities
+	 * @param entity the entity
+	 * @param relationship the name of the relationship
+	 */
+	static void recordRelationRead(@NonNull JsonApiResourceable entity, @NonNull String relationship) {
+		final JsonApiDiagnostics diagnostics = current();
+		if (diagnostics != null) {
+			increment(diagnostics.relationReads, entity.toResourceType() + '.' + relationship);
+		}
+	}
+
+	/**
+	 * Count a call of a retriever
+	 * @param includePath the full "include" path of the retriever, such as "author.address"
+	 * @param idCount the number of IDs in the call
+	 */
+	static void recordRetrieval(@NonNull String includePath, int idCount) {
+		final JsonApiDiagnostics diagnostics = current();
+		if (diagnostics != null) {
+			final Retrievals r = diagnostics.retrievals.computeIfAbsent(includePath, k -> new Retrievals());
+			r.calls.increment();
+			r.ids.add(idCount);
+			r.maxIds.accumulateAndGet(idCount, Math::max);
+		}
+	}
+
+	/**
+	 * Find the total number of mappings of entities to resources
+	 * @return the number of {@code toResource()} calls
+	 */
+	public long getToResourceCount() {
+		return sum(toResourceCalls);
+	}
+
+	/**
+	 * Find the total number of reads of {@code @Relation} properties
+	 * @return the number of reads
+	 */
+	public long getRelationReadCount() {
+		return sum(relationReads);
+	}
+
+	/**
+	 * Find the number of retriever calls of an "include" path
+	 * @param includePath the full "include" path, such as "author.address"
+	 * @return the number of calls
+	 */
+	public long getRetrievalCount(@NonNull String includePath) {
+		final Retrievals r = retrievals.get(includePath);
+		return r == null ? 0L : r.calls.sum();
+	}
+
+	/**
+	 * Describe the counts that exceed the thresholds
+	 * @param configuration the thresholds
+	 * @return a warning per exceeded threshold, or an empty list
+	 */
+	public @NonNull List<String> findWarnings(@NonNull JsonApiDiagnosticsConfiguration configuration) {
+		final List<String> warnings = new ArrayList<>();
+		final long toResourceCount = getToResourceCount();
+		if (toResourceCount > configuration.getMaxToResourceCalls()) {
+			warnings.add(toResourceCount + " toResource() calls exceed " + configuration.getMaxToResourceCalls());
+		}
+		final long relationReadCount = getRelationReadCount();
+		if (relationReadCount > configuration.getMaxRelationReads()) {
+			warnings.add(relationReadCount + " @Relation reads exceed " + configuration.getMaxRelationReads());
+		}
+		for (Map.Entry<String, Retrievals> e : new TreeMap<>(retrievals).entrySet()) {
+			final long calls = e.getValue().calls.sum();
+			if (calls > configuration.getMaxRetrievalsPerPath()) {
+				warnings.add(calls + " retriever calls for \"" + e.getKey() + "\" exceed "
+						+ configuration.getMaxRetrievalsPerPath() + ", averaging "
+						+ e.getValue().ids.sum() / calls + " IDs per call");
+			}
+		}
+		return warnings;
+	}
+
+	/**
+	 * Provide the counts as a meta object, such as for "meta.diagnostics"
+	 * @param warnings the warnings, such as from {@link #findWarnings(JsonApiDiagnosticsConfiguration)}
+	 * @return the counts, in a consistent order
+	 */
+	public @NonNull SequencedMap<String, Object> toMeta(@NonNull List<String> warnings) {
+		final SequencedMap<String, Object> retrievalsMeta = new LinkedHashMap<>();
+		for (Map.Entry<String, Retrievals> e : new TreeMap<>(retrievals).entrySet()) {
+			final SequencedMap<String, Object> counts = new LinkedHashMap<>();
+			counts.put("calls", e.getValue().calls.sum());
+			counts.put("ids", e.getValue().ids.sum());
+			counts.put("maxIds", e.getValue().maxIds.get());
+			retrievalsMeta.put(e.getKey(), counts);
+		}
+
+		final SequencedMap<String, Object> meta = new LinkedHashMap<>();
+		meta.put("toResource", toCounts(toResourceCalls));
+		meta.put("retrievals", retrievalsMeta);
+		meta.put("relationReads", toCounts(relationReads));
+		if (!warnings.isEmpty()) {
+			meta.put("warnings", Collections.unmodifiableList(warnings));
+		}
+		return meta;
+	}
+
+	private static void increment(Map<String, LongAdder> counts, String key) {
+		counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+	}
+
+	private static long sum(Map<String, LongAdder> counts) {
+		long total = 0L;
+		for (LongAdder count : counts.values()) {
+			total += count.sum();
+		}
+		return total;
+	}
+
+	private static SequencedMap<String, Long> toCounts(Map<String, LongAdder> counts) {
+		final SequencedMap<String, Long> result = new LinkedHashMap<>();
+		for (Map.Entry<String, LongAdder> e : new TreeMap<>(counts).entrySet()) {
+			result.put(e.getKey(), e.getValue().sum());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,116 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration for the per-request diagnostics of JSON:API work, such as for development and canary builds. The
+ * diagnostics are disabled by default. When a request exceeds a threshold, a warning is logged, and the counts may be
+ * attached to the response as "meta.diagnostics". E.g. in application.properties:
+ * <pre>
+ * json-api.diagnostics.enabled=true
+ * json-api.diagnostics.attach-meta=true
+ * json-api.diagnostics.max-to-resource-calls=1000
+ * json-api.diagnostics.max-retrievals-per-path=2
+ * json-api.diagnostics.max-relation-reads=1000
+ * </pre>
+ * @see JsonApiDiagnostics
+ */
+@ConfigurationProperties("json-api.diagnostics")
+public class JsonApiDiagnosticsConfiguration {
+
+	/** The default maximum number of {@code toResource()} calls per request */
+	public static final int DEFAULT_MAX_TO_RESOURCE_CALLS = 1_000;
+	/** The default maximum number of retriever calls per "include" path per request */
+	public static final int DEFAULT_MAX_RETRIEVALS_PER_PATH = 2;
+	/** The default maximum number of {@code @Relation} property reads per request */
+	public static final int DEFAULT_MAX_RELATION_READS = 1_000;
+
+	private boolean enabled = false;
+	private boolean attachMeta = false;
+	private int maxToResourceCalls = DEFAULT_MAX_TO_RESOURCE_CALLS;
+	private int maxRetrievalsPerPath = DEFAULT_MAX_RETRIEVALS_PER_PATH;
+	private int maxRelationReads = DEFAULT_MAX_RELATION_READS;
+
+	/**
+	 * Determine if the diagnostics are enabled
+	 * @return true if the JSON:API work of each request is counted
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set whether the diagnostics are enabled
+	 * @param enabled true to count the JSON:API work of each request
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Determine if the counts are attached to the response when a threshold is exceeded
+	 * @return true if the counts are attached as "meta.diagnostics"
+	 */
+	public boolean isAttachMeta() {
+		return attachMeta;
+	}
+
+	/**
+	 * Set whether the counts are attached to the response as "meta.diagnostics" when a threshold is exceeded. This
+	 * exposes the counts to clients, so it suits development and canary builds.
+	 * @param attachMeta true to attach the counts
+	 */
+	public void setAttachMeta(boolean attachMeta) {
+		this.attachMeta = attachMeta;
+	}
+
+	/**
+	 * Find the maximum number of {@code toResource()} calls per request
+	 * @return the maximum number of calls without a warning
+	 */
+	public int getMaxToResourceCalls() {
+		return maxToResourceCalls;
+	}
+
+	/**
+	 * Set the maximum number of {@code toResource()} calls per request
+	 * @param maxToResourceCalls the maximum number of calls without a warning
+	 */
+	public void setMaxToResourceCalls(int maxToResourceCalls) {
+		this.maxToResourceCalls = maxToResourceCalls;
+	}
+
+	/**
+	 * Find the maximum number of retriever calls per "include" path per request
+	 * @return the maximum number of calls without a warning
+	 */
+	public int getMaxRetrievalsPerPath() {
+		return maxRetrievalsPerPath;
+	}
+
+	/**
+	 * Set the maximum number of retriever calls per "include" path per request. A retriever that is called once per
+	 * resource, rather than once per batch of resources, exceeds this.
+	 * @param maxRetrievalsPerPath the maximum number of calls without a warning
+	 */
+	public void setMaxRetrievalsPerPath(int maxRetrievalsPerPath) {
+		this.maxRetrievalsPerPath = maxRetrievalsPerPath;
+	}
+
+	/**
+	 * Find the maximum number of {@code @Relation} property reads per request
+	 * @return the maximum number of reads without a warning
+	 */
+	public int getMaxRelationReads() {
+		return maxRelationReads;
+	}
+
+	/**
+	 * Set the maximum number of {@code @Relation} property reads per request. Each read of a lazy relation may query
+	 * the database.
+	 * @param maxRelationReads the maximum number of reads without a warning
+	 */
+	public void setMaxRelationReads(int maxRelationReads) {
+		this.maxRelationReads = maxRelationReads;
+	}
+}
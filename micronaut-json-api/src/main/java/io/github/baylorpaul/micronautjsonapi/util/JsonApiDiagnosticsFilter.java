@@ -0,0 +1,88 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+
+/**
+ * Count the JSON:API work of each HTTP request, when "json-api.diagnostics.enabled" is true. When a request exceeds a
+ * threshold, such as a retriever that is called once per resource, log a warning, and optionally attach the counts to
+ * a JSON:API response body as "meta.diagnostics".
+ * @see JsonApiDiagnostics
+ */
+@ServerFilter(ServerFilter.MATCH_ALL_PATTERN)
+@Requires(property = "json-api.diagnostics.enabled", value = StringUtils.TRUE)
+public class JsonApiDiagnosticsFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JsonApiDiagnosticsFilter.class);
+
+	private final JsonApiDiagnosticsConfiguration configuration;
+	private volatile boolean closed;
+
+	/**
+	 * Create the filter, which counts each request until the filter is closed
+	 * @param configuration the diagnostics configuration, for the thresholds
+	 */
+	public JsonApiDiagnosticsFilter(JsonApiDiagnosticsConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Stop counting new requests when the application context is closed. The filters of other application contexts
+	 * are not affected.
+	 */
+	@PreDestroy
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Start counting the request, unless the filter is closed
+	 * @param request the HTTP request
+	 */
+	@RequestFilter
+	public void startDiagnostics(HttpRequest<?> request) {
+		if (!closed) {
+			request.setAttribute(JsonApiDiagnostics.REQUEST_ATTRIBUTE, new JsonApiDiagnostics());
+		}
+	}
+
+	/**
+	 * Report the counts of the request, if they exceed a threshold
+	 * @param request the HTTP request
+	 * @param response the HTTP response
+	 */
+	@ResponseFilter
+	public void reportDiagnostics(HttpRequest<?> request, MutableHttpResponse<?> response) {
+		final JsonApiDiagnostics diagnostics = request
+				.getAttribute(JsonApiDiagnostics.REQUEST_ATTRIBUTE, JsonApiDiagnostics.class)
+				.orElse(null);
+		if (diagnostics == null) {
+			return;
+		}
+		final List<String> warnings = diagnostics.findWarnings(configuration);
+		if (warnings.isEmpty()) {
+			return;
+		}
+		LOG.warn("JSON:API diagnostics of {} {}: {}", request.getMethod(), request.getPath(), warnings);
+		if (configuration.isAttachMeta() && response.body() instanceof JsonApiObject<?> body) {
+			final SequencedMap<String, Object> meta = body.getMeta() == null
+					? new LinkedHashMap<>()
+					: new LinkedHashMap<>(body.getMeta());
+			meta.put("diagnostics", diagnostics.toMeta(warnings));
+			body.setMeta(meta);
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Limits on the structure of a request document, checked on the token stream as the document is decoded. A malicious
+ * document, such as one with deeply nested "relationships" or millions of array entries, is then rejected at the first
+ * token past a limit, so only the part of the document within the limits is ever decoded into maps, lists or
+ * resources.
+ * @param maxDepth the maximum nesting depth of objects and arrays. A deeper document is rejected with a 400 status.
+ * @param maxArrayLength the maximum number of values in any array. A longer array is rejected with a 413 status.
+ * @param maxMembers the maximum number of members in any object, such as "attributes". An object with more members is
+ *            rejected with a 413 status.
+ * @param maxResources the maximum number of resource objects and resource identifiers in the document, counted by
+ *            their "type" member. A document with more is rejected with a 413 status.
+ */
+public record JsonApiDocumentLimits(int maxDepth, int maxArrayLength, int maxMembers, int maxResources) {
+
+	/** No limits */
+	public static final JsonApiDocumentLimits NONE = new JsonApiDocumentLimits(
+			Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE
+	);
+
+	/**
+	 * Read the rest of the parser's tokens, checking the limits
+	 * @param parser the parser, before the document's first token
+	 * @throws IOException if the document is not valid
+	 * @throws JsonApiDocumentException if a limit is exceeded, with a JSON Pointer to the offending value
+	 */
+	public void check(@NonNull JsonParser parser) throws IOException, JsonApiDocumentException {
+		final JsonParser limited = wrap(parser);
+		while (limited.nextToken() != null) {
+			// Each token is checked as it is read
+		}
+	}
+
+	/**
+	 * Wrap a parser, so the limits are checked on each token as it is read, such as by a decoder that reads the
+	 * document in a single pass. Skipped values are read token by token, so they are checked too.
+	 * @param parser the parser, before the document's first token
+	 * @return the parser that checks the limits, or the parser itself if there are no limits. Reading from it throws
+	 *         a {@link JsonApiDocumentException} if a limit is exceeded.
+	 */
+	public @NonNull JsonParser wrap(@NonNull JsonParser parser) {
+		return NONE.equals(this) ? parser : new LimitingParser(parser, this);
+	}
+
+	/**
+	 * Find the limit that was exceeded while decoding, if a decoder wrapped the exception
+	 * @param e the exception from decoding
+	 * @return the exceeded limit, or null if the exception was not caused by a limit
+	 */
+	public static @Nullable JsonApiDocumentException findExceeded(@NonNull Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof JsonApiDocumentException exceeded) {
+				return exceeded;
+			}
+		}
+		return null;
+	}
+
+	private void checkToken(JsonParser parser, JsonToken token, Path path) {
+		switch (token) {
+			case FIELD_NAME -> {
+				if (path.addMember(parser.currentName()) > maxMembers) {
+					throw tooLarge(path.toPointer(path.depth - 1), "more than " + maxMembers + " members");
+				} else if (parser.currentName().equals("type") && ++path.resources > maxResources) {
+					throw tooLarge(path.toPointer(path.depth - 1), "more than " + maxResources + " resources");
+				}
+			}
+			case START_OBJECT, START_ARRAY -> {
+				addValue(path);
+				if (path.depth >= maxDepth) {
+					throw new JsonApiDocumentException(
+							path.toPointer(path.depth), "nested deeper than " + maxDepth + " levels"
+					);
+				}
+				path.push(token == JsonToken.START_ARRAY);
+			}
+			case END_OBJECT, END_ARRAY -> path.depth--;
+			default -> addValue(path);
+		}
+	}
+
+	private void addValue(Path path) {
+		if (path.depth > 0 && path.isArray[path.depth - 1] && ++path.counts[path.depth - 1] > maxArrayLength) {
+			throw tooLarge(path.toPointer(path.depth - 1), "more than " + maxArrayLength + " array values");
+		}
+	}
+
+	private static JsonApiDocumentException tooLarge(String pointer, String detail) {
+		return new JsonApiDocumentException(HttpStatus.REQUEST_ENTITY_TOO_LARGE, pointer, "Document has " + detail);
+	}
+
+	/**
+	 * The open objects and arrays, along with the member name or array index within each, so a JSON Pointer is only
+	 * built when a limit is exceeded
+	 */
+	private static class Path {
+		private int depth;
+		private int resources;
+		private boolean[] isArray = new boolean[16];
+		private int[] counts = new int[16];
+		private String[] names = new String[16];
+
+		private void push(boolean array) {
+			if (depth == isArray.length) {
+				isArray = Arrays.copyOf(isArray, depth * 2);
+				counts = Arrays.copyOf(counts, depth * 2);
+				names = Arrays.copyOf(names, depth * 2);
+			}
+			isArray[depth] = array;
+			counts[depth] = 0;
+			names[depth] = null;
+			depth++;
+		}
+
+		private int addMember(String name) {
+			names[depth - 1] = name;
+			return ++counts[depth - 1];
+		}
+
+		/**
+		 * Build a JSON Pointer to the value at a depth
+		 */
+		private String toPointer(int valueDepth) {
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < valueDepth; i++) {
+				sb.append('/');
+				if (isArray[i]) {
+					sb.append(counts[i] - 1);
+				} else if (names[i] != null) {
+					sb.append(names[i].replace("~", "~0").replace("/", "~1"));
+				}
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * A parser that checks the limits on each token. Every method that advances the parser goes through
+	 * {@link #nextToken()}, including {@link #skipChildren()}, so no token escapes the check.
+	 */
+	private static final class LimitingParser extends JsonParserDelegate {
+		private final JsonApiDocumentLimits limits;
+		private final Path path = new Path();
+
+		private LimitingParser(JsonParser parser, JsonApiDocumentLimits limits) {
+			super(parser);
+			this.limits = limits;
+		}
+
+		@Override
+		public JsonToken nextToken() throws IOException {
+			final JsonToken token = delegate.nextToken();
+			if (token != null) {
+				limits.checkToken(delegate, token, path);
+			}
+			return token;
+		}
+
+		@Override
+		public JsonToken nextValue() throws IOException {
+			final JsonToken token = nextToken();
+			return token == JsonToken.FIELD_NAME ? nextToken() : token;
+		}
+
+		@Override
+		public String nextFieldName() throws IOException {
+			return nextToken() == JsonToken.FIELD_NAME ? currentName() : null;
+		}
+
+		@Override
+		public boolean nextFieldName(SerializableString str) throws IOException {
+			return nextToken() == JsonToken.FIELD_NAME && str.getValue().equals(currentName());
+		}
+
+		@Override
+		public String nextTextValue() throws IOException {
+			return nextToken() == JsonToken.VALUE_STRING ? getText() : null;
+		}
+
+		@Override
+		public int nextIntValue(int defaultValue) throws IOException {
+			return nextToken() == JsonToken.VALUE_NUMBER_INT ? getIntValue() : defaultValue;
+		}
+
+		@Override
+		public long nextLongValue(long defaultValue) throws IOException {
+			return nextToken() == JsonToken.VALUE_NUMBER_INT ? getLongValue() : defaultValue;
+		}
+
+		@Override
+		public Boolean nextBooleanValue() throws IOException {
+			final JsonToken token = nextToken();
+			if (token == JsonToken.VALUE_TRUE) {
+				return Boolean.TRUE;
+			}
+			return token == JsonToken.VALUE_FALSE ? Boolean.FALSE : null;
+		}
+
+		@Override
+		public JsonParser skipChildren() throws IOException {
+			final JsonToken current = currentToken();
+			if (current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY) {
+				return this;
+			}
+			int open = 1;
+			for (JsonToken token = nextToken(); token != null; token = nextToken()) {
+				if (token.isStructStart()) {
+					open++;
+				} else if (token.isStructEnd() && --open == 0) {
+					break;
+				}
+			}
+			return this;
+		}
+	}
+}
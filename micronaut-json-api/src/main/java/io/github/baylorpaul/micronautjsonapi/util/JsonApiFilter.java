@@ -0,0 +1,322 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodec;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodecs;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.reflect.ReflectionUtils;
+import io.micronaut.data.repository.jpa.criteria.PredicateSpecification;
+import io.micronaut.data.repository.jpa.criteria.QuerySpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Read the "filter" query parameters according to <a href="https://jsonapi.org/format/#fetching-filtering">JSON:API
+ * filtering</a>, and translate them into a Micronaut Data specification so filtering runs in the database. Supported
+ * forms are:
+ * <ul>
+ *     <li>{@code filter[field]=value}, for equality</li>
+ *     <li>{@code filter[field][op]=value}, where "op" is one of eq, ne, lt, le, gt, ge, in or prefix</li>
+ *     <li>{@code filter[id]=1,2,3}, which becomes a single "IN" condition</li>
+ * </ul>
+ * The field must be an attribute of the entity, "id", or a to-one relationship with a {@code @JsonApiForeignKey}. An
+ * additional allowlist may restrict the fields further, such as to indexed columns. When the entity overrides
+ * {@link JsonApiResourceable#toJsonApiAttributes()}, its bean properties are not known to be exposed, so an attribute
+ * may only be filtered if it is in the allowlist. Multiple conditions are combined with "AND". E.g.
+ * <pre>
+ * JsonApiFilter&lt;Article&gt; filter = JsonApiFilter.parse(request.getParameters().asMap(), Article.class);
+ * Page&lt;Article&gt; page = articleRepo.findAll(filter.toQuerySpecification(), pageable);
+ * </pre>
+ * @param <T> the entity type
+ */
+public class JsonApiFilter<T extends JsonApiResourceable> {
+
+	private static final Pattern FILTER_PATTERN = Pattern.compile("^filter\\[([^\\[\\]]+)](?:\\[([^\\[\\]]+)])?$");
+
+	/** A filter operator */
+	public enum Operator {
+		/** equal to the value, or any of the values for "id" */
+		EQ("eq"),
+		/** not equal to the value */
+		NE("ne"),
+		/** less than the value */
+		LT("lt"),
+		/** less than or equal to the value */
+		LE("le"),
+		/** greater than the value */
+		GT("gt"),
+		/** greater than or equal to the value */
+		GE("ge"),
+		/** any of the comma-separated values */
+		IN("in"),
+		/** a String starting with the value */
+		PREFIX("prefix");
+
+		private final String code;
+
+		Operator(String code) {
+			this.code = code;
+		}
+
+		/**
+		 * Find the code used in the query parameter, such as "gt" in {@code filter[created][gt]}
+		 * @return the operator code
+		 */
+		public String getCode() {
+			return code;
+		}
+
+		private static Optional<Operator> fromCode(String code) {
+			for (Operator op : values()) {
+				if (op.code.equals(code)) {
+					return Optional.of(op);
+				}
+			}
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * A single filter condition
+	 * @param field the JSON:API field name, such as "name" or "id"
+	 * @param propertyName the entity property to compare, such as "name", "id" or "authorId"
+	 * @param operator the comparison operator
+	 * @param values the values, already converted to the property type. There is more than one value only for "in", or
+	 *            for comma-separated values of "id" or a foreign key relationship.
+	 */
+	public record Condition(
+			@NonNull String field,
+			@NonNull String propertyName,
+			@NonNull Operator operator,
+			@NonNull List<Object> values
+	) {}
+
+	private final List<Condition> conditions;
+
+	private JsonApiFilter(List<Condition> conditions) {
+		this.conditions = conditions;
+	}
+
+	/**
+	 * Parse the "filter" query parameters for an entity, allowing any attribute, "id", or foreign key relationship.
+	 * Attributes of an entity that overrides {@link JsonApiResourceable#toJsonApiAttributes()} are not allowed.
+	 * @param queryParameters all query parameters. Parameters other than "filter[...]" are ignored.
+	 * @param entityClass the entity class to filter
+	 * @return the parsed filter
+	 * @param <T> the entity type
+	 * @throws JsonApiParameterException if a filter field, operator or value is not supported
+	 */
+	public static <T extends JsonApiResourceable> JsonApiFilter<T> parse(
+			Map<String, List<String>> queryParameters, Class<T> entityClass
+	) throws JsonApiParameterException {
+		return parse(queryParameters, entityClass, null);
+	}
+
+	/**
+	 * Parse the "filter" query parameters for an entity
+	 * @param queryParameters all query parameters. Parameters other than "filter[...]" are ignored.
+	 * @param entityClass the entity class to filter
+	 * @param allowedFields null to allow any attribute, "id", or foreign key relationship, else the subset of those
+	 *            fields that may be filtered, such as those backed by an index. An entity that overrides
+	 *            {@link JsonApiResourceable#toJsonApiAttributes()} requires the allowlist to filter its attributes, so
+	 *            a column it hides cannot be probed.
+	 * @return the parsed filter
+	 * @param <T> the entity type
+	 * @throws JsonApiParameterException if a filter field, operator or value is not supported
+	 */
+	public static <T extends JsonApiResourceable> JsonApiFilter<T> parse(
+			Map<String, List<String>> queryParameters, Class<T> entityClass, @Nullable Set<String> allowedFields
+	) throws JsonApiParameterException {
+		final List<Condition> conditions = new ArrayList<>();
+		if (queryParameters != null) {
+			for (Map.Entry<String, List<String>> e : queryParameters.entrySet()) {
+				Matcher m = FILTER_PATTERN.matcher(e.getKey());
+				if (m.matches()) {
+					String field = m.group(1);
+					Operator op = m.group(2) == null
+							? Operator.EQ
+							: Operator.fromCode(m.group(2)).orElseThrow(() -> new JsonApiParameterException(
+									e.getKey(), "unsupported filter operator: [" + m.group(2) + "]"
+							));
+					if (allowedFields != null && !allowedFields.contains(field)) {
+						throw new JsonApiParameterException(e.getKey(), "unsupported filter field: [" + field + "]");
+					}
+					final boolean isAllowlisted = allowedFields != null;
+					for (String rawValue : e.getValue()) {
+						conditions.add(buildCondition(e.getKey(), field, op, rawValue, entityClass, isAllowlisted));
+					}
+				}
+			}
+		}
+		return new JsonApiFilter<>(List.copyOf(conditions));
+	}
+
+	/**
+	 * Find the parsed conditions
+	 * @return the conditions, which are combined with "AND"
+	 */
+	public @NonNull List<Condition> getConditions() {
+		return conditions;
+	}
+
+	/**
+	 * Determine if there are no filter conditions
+	 * @return true if there are no filter conditions
+	 */
+	public boolean isEmpty() {
+		return conditions.isEmpty();
+	}
+
+	/**
+	 * Find the IDs requested via {@code filter[id]}, such as for a batch fetch
+	 * @return the requested IDs converted to the entity's ID type, or empty if there is no "id" filter
+	 */
+	public @NonNull List<Object> getIds() {
+		return conditions.stream()
+				.filter(c -> c.field().equals("id") && (c.operator() == Operator.EQ || c.operator() == Operator.IN))
+				.flatMap(c -> c.values().stream())
+				.toList();
+	}
+
+	/**
+	 * Translate the conditions into a predicate specification, for use with a Micronaut Data repository that
+	 * implements JpaSpecificationExecutor
+	 * @return the predicate specification, which produces no predicate if there are no conditions
+	 */
+	public @NonNull PredicateSpecification<T> toPredicateSpecification() {
+		return (root, criteriaBuilder) -> {
+			if (conditions.isEmpty()) {
+				return null;
+			}
+			Predicate[] predicates = new Predicate[conditions.size()];
+			for (int i = 0; i < predicates.length; i++) {
+				predicates[i] = toPredicate(conditions.get(i), root, criteriaBuilder);
+			}
+			return predicates.length == 1 ? predicates[0] : criteriaBuilder.and(predicates);
+		};
+	}
+
+	/**
+	 * Translate the conditions into a query specification, for use with a Micronaut Data repository that implements
+	 * JpaSpecificationExecutor
+	 * @return the query specification, which produces no predicate if there are no conditions
+	 */
+	public @NonNull QuerySpecification<T> toQuerySpecification() {
+		final PredicateSpecification<T> spec = toPredicateSpecification();
+		return (root, query, criteriaBuilder) -> spec.toPredicate(root, criteriaBuilder);
+	}
+
+	/**
+	 * Provide a predicate for the records changed after a watermark, such as for a delta sync
+	 * @param propertyName the watermark property, such as "updated" or "version"
+	 * @param since the watermark of the previous sync, or null for a full sync
+	 * @return the predicate specification, which produces no predicate if there is no watermark
+	 * @param <T> the entity type
+	 * @param <W> the watermark type
+	 */
+	public static @NonNull <T, W extends Comparable<? super W>> PredicateSpecification<T> changedSince(
+			@NonNull String propertyName, @Nullable W since
+	) {
+		return (root, criteriaBuilder) -> since == null
+				? null
+				: criteriaBuilder.greaterThan(root.<W>get(propertyName), since);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Predicate toPredicate(Condition c, Root<?> root, CriteriaBuilder cb) {
+		final Expression path = root.get(c.propertyName());
+		final Object value = c.values().getFirst();
+		return switch (c.operator()) {
+			case EQ -> c.values().size() == 1 ? cb.equal(path, value) : path.in(c.values());
+			case NE -> cb.notEqual(path, value);
+			case LT -> cb.lessThan(path, (Comparable) value);
+			case LE -> cb.lessThanOrEqualTo(path, (Comparable) value);
+			case GT -> cb.greaterThan(path, (Comparable) value);
+			case GE -> cb.greaterThanOrEqualTo(path, (Comparable) value);
+			case IN -> path.in(c.values());
+			case PREFIX -> cb.like(path, escapeLike((String) value) + "%", '\\');
+		};
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	private static Condition buildCondition(
+			String parameter, String field, Operator op, String rawValue, Class<?> entityClass, boolean isAllowlisted
+	) {
+		final String propertyName;
+		final Class<?> type;
+		final JsonApiIdCodec<Object> codec;
+		if (field.equals("id")) {
+			JsonApiIdCodecs.EntityIdBinding binding = JsonApiIdCodecs.forEntity(entityClass);
+			if (binding.property() == null) {
+				throw new JsonApiParameterException(parameter, "unsupported filter field: [" + field + "]");
+			}
+			propertyName = binding.property().getName();
+			type = binding.property().getType();
+			codec = binding.codec();
+		} else {
+			JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(entityClass);
+			// Custom attributes may hide a column without @JsonIgnore, so only an allowlisted field may be filtered
+			List<BeanProperty<Object, Object>> attributeProperties = metadata.isCustomAttributes() && !isAllowlisted
+					? List.of()
+					: metadata.getAttributeProperties();
+			BeanProperty<Object, Object> attribute = attributeProperties.stream()
+					.filter(bp -> bp.getName().equals(field))
+					.findFirst()
+					.orElse(null);
+			JsonApiEntityMetadata.RelationshipProperty relationship = attribute != null ? null : metadata
+					.getRelationshipProperties().stream()
+					.filter(rp -> rp.name().equals(field) && rp.foreignKey() != null
+							&& !Collection.class.isAssignableFrom(rp.foreignKey().getType()))
+					.findFirst()
+					.orElse(null);
+			if (attribute != null) {
+				propertyName = attribute.getName();
+				type = attribute.getType();
+				codec = null;
+			} else if (relationship != null) {
+				propertyName = relationship.foreignKey().getName();
+				type = relationship.foreignKey().getType();
+				codec = relationship.foreignKeyCodec();
+			} else {
+				throw new JsonApiParameterException(parameter, "unsupported filter field: [" + field + "]");
+			}
+		}
+
+		final boolean isList = op == Operator.IN || (op == Operator.EQ && codec != null);
+		final List<String> rawValues = isList ? Arrays.asList(rawValue.split(",")) : List.of(rawValue);
+		final List<Object> values = new ArrayList<>(rawValues.size());
+		for (String v : rawValues) {
+			values.add(convertValue(parameter, v.trim(), type, codec));
+		}
+		if (op == Operator.PREFIX && type != String.class) {
+			throw new JsonApiParameterException(parameter, "'prefix' is only supported for text fields");
+		} else if ((op == Operator.LT || op == Operator.LE || op == Operator.GT || op == Operator.GE)
+				&& !Comparable.class.isAssignableFrom(ReflectionUtils.getWrapperType(type))) {
+			throw new JsonApiParameterException(parameter, "'" + op.getCode() + "' is not supported for this field");
+		}
+		return new Condition(field, propertyName, op, List.copyOf(values));
+	}
+
+	private static Object convertValue(String parameter, String value, Class<?> type, JsonApiIdCodec<Object> codec) {
+		Optional<?> converted = codec != null
+				? codec.decodeNoThrow(value)
+				: ConversionService.SHARED.convert(value, ReflectionUtils.getWrapperType(type));
+		return converted.orElseThrow(() -> new JsonApiParameterException(
+				parameter, "unexpected filter value: [" + value + "]"
+		));
+	}
+}
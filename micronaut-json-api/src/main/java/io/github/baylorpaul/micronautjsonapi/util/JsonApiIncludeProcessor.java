@@ -1,16 +1,21 @@
 package io.github.baylorpaul.micronautjsonapi.util;
 
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiRequestException;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
 import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
 import io.github.baylorpaul.micronautjsonapi.model.*;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
 import io.micronaut.core.util.CollectionUtils;
-import io.micronaut.http.HttpStatus;
-import io.micronaut.http.exceptions.HttpStatusException;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Read and process the "include" query parameter according to <a href="https://jsonapi.org/">JSON:API</a>.
@@ -18,16 +23,128 @@ import java.util.stream.Collectors;
 public class JsonApiIncludeProcessor {
 
 	/**
-	 * A definition of a relationship path to include, as well as a function to retrieve corresponding relationships
+	 * A definition of a relationship path to include, as well as a function to retrieve corresponding relationships.
+	 * A polymorphic relationship, such as "commentable", which may relate to several resource types, instead has a
+	 * function per resource type, via {@link #byType(String, Map)}. A non-blocking retriever, such as for a reactive
+	 * repository, has an asynchronous function, via {@link #async(String, Function)}.
 	 * @param includePath the "include" path, such as "author.address"
-	 * @param idsToResources a function that receives the IDs for the "include" path, and returns the resources
+	 * @param idsToResources a function that receives the IDs for the "include" path, and returns the resources, or
+	 *            null if the resources are retrieved by type or asynchronously
+	 * @param idsToResourcesByType null, or a function per resource type that receives the IDs of that type for the
+	 *            "include" path, and returns the resources
+	 * @param idsToResourcesAsync null, or a function that receives the IDs for the "include" path, and completes with
+	 *            the resources
+	 * @param byTypeExecutor null to call the functions by type one after another on the calling thread, else the
+	 *            executor to call them concurrently. See {@link JsonApiRetrievers#byType(String, Map, Executor)}.
 	 */
 	public record RelationshipRetriever(
 			String includePath,
-			Function<Collection<String>, Collection<? extends JsonApiResourceable>> idsToResources
-	) {}
+			Function<Collection<String>, Collection<? extends JsonApiResourceable>> idsToResources,
+			Map<String, Function<Collection<String>, Collection<? extends JsonApiResourceable>>> idsToResourcesByType,
+			Function<Collection<String>, CompletionStage<? extends Collection<? extends JsonApiResourceable>>>
+					idsToResourcesAsync,
+			@Nullable Executor byTypeExecutor
+	) {
+		/**
+		 * Create a relationship retriever
+		 * @throws IllegalArgumentException unless there is exactly one of a function for all IDs, functions by type,
+		 *             or an asynchronous function, or if there is an executor without functions by type
+		 */
+		public RelationshipRetriever {
+			int functions = (idsToResources == null ? 0 : 1) + (idsToResourcesByType == null ? 0 : 1)
+					+ (idsToResourcesAsync == null ? 0 : 1);
+			if (functions != 1) {
+				throw new IllegalArgumentException("Include path '" + includePath + "' requires exactly one of a"
+						+ " retriever of all IDs, retrievers by type, or an asynchronous retriever");
+			} else if (byTypeExecutor != null && idsToResourcesByType == null) {
+				throw new IllegalArgumentException("Include path '" + includePath + "' only has an executor for"
+						+ " retrievers by type");
+			}
+		}
+
+		/**
+		 * Create a relationship retriever, which calls any functions by type one after another
+		 * @throws IllegalArgumentException unless there is exactly one of a function for all IDs, functions by type,
+		 *             or an asynchronous function
+		 */
+		public RelationshipRetriever(
+				String includePath,
+				Function<Collection<String>, Collection<? extends JsonApiResourceable>> idsToResources,
+				Map<String, Function<Collection<String>, Collection<? extends JsonApiResourceable>>>
+						idsToResourcesByType,
+				Function<Collection<String>, CompletionStage<? extends Collection<? extends JsonApiResourceable>>>
+						idsToResourcesAsync
+		) {
+			this(includePath, idsToResources, idsToResourcesByType, idsToResourcesAsync, null);
+		}
+
+		/**
+		 * Create a relationship retriever
+		 * @param includePath the "include" path, such as "author.address"
+		 * @param idsToResources a function that receives the IDs for the "include" path, and returns the resources
+		 */
+		public RelationshipRetriever(
+				String includePath,
+				Function<Collection<String>, Collection<? extends JsonApiResourceable>> idsToResources
+		) {
+			this(includePath, idsToResources, null, null);
+		}
+
+		/**
+		 * Create a retriever for a polymorphic relationship, with one batched retrieval per resource type. The IDs
+		 * are grouped by the "type" of each related resource identifier, and IDs of types without a function are
+		 * not retrieved. The resources are included in the order that their types are first related. The types are
+		 * retrieved one after another, on the calling thread. E.g.
+		 * <pre>
+		 * RelationshipRetriever.byType("commentable", Map.of(
+		 *         "article", ids -&gt; articleRepo.findByIdIn(ids),
+		 *         "photo", ids -&gt; photoRepo.findByIdIn(ids)
+		 * ));
+		 * </pre>
+		 * @param includePath the "include" path, such as "commentable"
+		 * @param byType a function per resource type that receives the IDs of that type, and returns the resources
+		 * @return the relationship retriever
+		 */
+		public static RelationshipRetriever byType(
+				String includePath,
+				Map<String, Function<Collection<String>, Collection<? extends JsonApiResourceable>>> byType
+		) {
+			return new RelationshipRetriever(includePath, null, Map.copyOf(byType), null);
+		}
+
+		/**
+		 * Create a non-blocking retriever, such as for an R2DBC or reactive repository. With
+		 * {@link JsonApiIncludeProcessor#findIncludedAsync(Collection)}, the include tree is retrieved without
+		 * blocking. The synchronous methods, such as {@link JsonApiIncludeProcessor#findIncluded(Collection)}, wait
+		 * for the retrieval. E.g.
+		 * <pre>
+		 * RelationshipRetriever.async("author", ids -&gt; userRepo.findByIdIn(ids).collectList().toFuture());
+		 * </pre>
+		 * @param includePath the "include" path, such as "author.address"
+		 * @param idsToResourcesAsync a function that receives the IDs for the "include" path, and completes with the
+		 *            resources
+		 * @return the relationship retriever
+		 */
+		public static RelationshipRetriever async(
+				String includePath,
+				Function<Collection<String>, CompletionStage<? extends Collection<? extends JsonApiResourceable>>>
+						idsToResourcesAsync
+		) {
+			return new RelationshipRetriever(includePath, null, null, idsToResourcesAsync);
+		}
+
+		/**
+		 * Provide the retriever for a different include path, such as the sub-path relative to a parent path
+		 */
+		RelationshipRetriever withIncludePath(String path) {
+			return new RelationshipRetriever(
+					path, idsToResources, idsToResourcesByType, idsToResourcesAsync, byTypeExecutor
+			);
+		}
+	}
 
 	private final List<RelationshipRetriever> validIncludes;
+	private final JsonApiResourceMapper resourceMapper;
 
 	/**
 	 * Create a processor to interpret a JSON:API "include" query parameter
@@ -36,10 +153,28 @@ public class JsonApiIncludeProcessor {
 	 * @param supportedIncludePaths supported include paths, such as ["author", "author.address", "publishingCompany"],
 	 *            and corresponding functions to map IDs to resources.
 	 *            If a value such as "author.address" is supported, then "author" must also be included as a supported path.
-	 * @throws HttpStatusException if the include query parameter includes unsupported values
+	 * @throws JsonApiRequestException if the include query parameter includes unsupported values
+	 */
+	public JsonApiIncludeProcessor(String rawInclude, Collection<RelationshipRetriever> supportedIncludePaths) throws JsonApiRequestException {
+		this(rawInclude, supportedIncludePaths, JsonApiResourceMapper.SEQUENTIAL);
+	}
+
+	/**
+	 * Create a processor to interpret a JSON:API "include" query parameter
+	 * @param rawInclude the raw "include" query parameter, as described by JSON:API
+	 * @param supportedIncludePaths supported include paths, and corresponding functions to map IDs to resources
+	 * @param resourceMapper the mapper of the primary and included entities to JSON:API resources, which may map large
+	 *            collections in parallel
+	 * @throws JsonApiRequestException if the include query parameter includes unsupported values
+	 * @see #JsonApiIncludeProcessor(String, Collection)
 	 */
-	public JsonApiIncludeProcessor(String rawInclude, Collection<RelationshipRetriever> supportedIncludePaths) throws HttpStatusException {
+	public JsonApiIncludeProcessor(
+			String rawInclude,
+			Collection<RelationshipRetriever> supportedIncludePaths,
+			@NonNull JsonApiResourceMapper resourceMapper
+	) throws JsonApiRequestException {
 		this.validIncludes = validateIncludes(rawInclude, supportedIncludePaths);
+		this.resourceMapper = resourceMapper;
 	}
 
 	List<RelationshipRetriever> getValidIncludes() {
@@ -50,15 +185,15 @@ public class JsonApiIncludeProcessor {
 	 * Parse the raw include query parameter, and validate it against supported includes
 	 * @return null for none, else the valid include paths and corresponding functions to retrieve the resources by IDs,
 	 *         sorted alphabetically by the include path, such as ["author", "author.address"]
-	 * @throws HttpStatusException if the include query parameter includes unsupported values
+	 * @throws JsonApiRequestException if the include query parameter includes unsupported values
 	 */
 	private static List<RelationshipRetriever> validateIncludes(
 			String rawInclude, Collection<RelationshipRetriever> supportedIncludePaths
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		if (rawInclude == null || rawInclude.trim().isEmpty()) {
 			return null;
 		} else if (supportedIncludePaths == null) {
-			throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Found 'include' value(s), but none are supported");
+			throw new JsonApiParameterException("include", "Found 'include' value(s), but none are supported");
 		}
 		String[] paths = rawInclude.split(",");
 
@@ -79,7 +214,7 @@ public class JsonApiIncludeProcessor {
 			paths.addAll(findParentPaths(path.substring(0, idx), supportedIncludePaths));
 		}
 		RelationshipRetriever rr = supportedIncludePaths.stream().filter(p -> p.includePath().equals(path)).findFirst()
-				.orElseThrow(() -> new HttpStatusException(HttpStatus.BAD_REQUEST, "unsupported 'include' value: [" + path + "]"));
+				.orElseThrow(() -> new JsonApiParameterException("include", "unsupported 'include' value: [" + path + "]"));
 		paths.add(rr);
 		return paths;
 	}
@@ -92,7 +227,97 @@ public class JsonApiIncludeProcessor {
 	public JsonApiArray findIncluded(Collection<? extends JsonApiResource> resources) {
 		final JsonApiArray included = validIncludes == null ? null : new JsonApiArray();
 		if (resources != null && validIncludes != null) {
-			included.addAll(processRelationshipIncludes(resources, validIncludes));
+			included.addAll(processRelationshipIncludes(resources, validIncludes, "", resourceMapper));
+		}
+		return included;
+	}
+
+	/**
+	 * Look up values to include for the provided resources, without blocking on asynchronous retrievers. Sibling
+	 * include paths are retrieved concurrently, and each child path is retrieved once its parent path completes. The
+	 * included resources are in the same order as from {@link #findIncluded(Collection)}. The work after an
+	 * asynchronous retrieval runs on the thread that completes it, such as an event loop, so a synchronous retriever
+	 * below an asynchronous one is rejected. Provide an executor via {@link #findIncludedAsync(Collection, Executor)}
+	 * for those.
+	 * @param resources the resources for which to find included values, or null for no resources
+	 * @return a stage that completes with a list of prescribed relationships to include, or null
+	 * @throws IllegalStateException if a synchronous retriever is below an asynchronous one
+	 */
+	public @NonNull CompletionStage<JsonApiArray> findIncludedAsync(Collection<? extends JsonApiResource> resources) {
+		return findIncludedAsync(resources, null);
+	}
+
+	/**
+	 * Like {@link #findIncludedAsync(Collection)}, but run the work after each asynchronous retrieval, which maps the
+	 * entities and calls the retrievers of the child paths, on an executor. This allows synchronous retrievers below
+	 * asynchronous ones without blocking the thread that completes the retrieval. The caller's propagated context,
+	 * such as the current request, is restored for that work, but a synchronous retriever then runs outside the
+	 * caller's transaction, so it must start its own. E.g.
+	 * <pre>
+	 * includeProcessor.findIncludedAsync(resources, blockingExecutor);
+	 * </pre>
+	 * @param resources the resources for which to find included values, or null for no resources
+	 * @param executor null to continue on the thread that completes each asynchronous retrieval, else the executor,
+	 *            such as a blocking I/O pool
+	 * @return a stage that completes with a list of prescribed relationships to include, or null
+	 * @throws IllegalStateException if there is no executor, and a synchronous retriever is below an asynchronous one
+	 */
+	public @NonNull CompletionStage<JsonApiArray> findIncludedAsync(
+			Collection<? extends JsonApiResource> resources, @Nullable Executor executor
+	) {
+		if (validIncludes == null) {
+			return CompletableFuture.completedFuture(null);
+		} else if (executor == null) {
+			checkNoSyncBelowAsync(validIncludes);
+		}
+		if (resources == null) {
+			return CompletableFuture.completedFuture(new JsonApiArray());
+		}
+		final PropagatedContext context = PropagatedContext.getOrEmpty();
+		final Executor continuations = executor == null
+				? command -> context.wrap(command).run()
+				: command -> executor.execute(context.wrap(command));
+		return processRelationshipIncludesAsync(resources, validIncludes, "", resourceMapper, continuations)
+				.thenApply(included -> {
+					final JsonApiArray arr = new JsonApiArray();
+					arr.addAll(included);
+					return arr;
+				});
+	}
+
+	/**
+	 * Ensure no synchronous retriever is below an asynchronous one, since it would block the thread that completes the
+	 * asynchronous retrieval, such as an event loop
+	 */
+	private static void checkNoSyncBelowAsync(List<RelationshipRetriever> includes) {
+		for (RelationshipRetriever parent : includes) {
+			if (parent.idsToResourcesAsync() != null) {
+				final String startsWith = parent.includePath() + ".";
+				for (RelationshipRetriever child : includes) {
+					if (child.idsToResourcesAsync() == null && child.includePath().startsWith(startsWith)) {
+						throw new IllegalStateException("Include path '" + child.includePath() + "' is synchronous,"
+								+ " below the asynchronous path '" + parent.includePath() + "'. Provide an executor.");
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Look up values to include for the provided entities. Relationships on the "loaded" paths are read from the
+	 * entities themselves, such as when they were fetched via joins in the primary query, and the retrievers are only
+	 * called for the other paths.
+	 * @param entities the entities for which to find included values, or null for no entities
+	 * @param loadedPaths the include paths whose relationships are already loaded on the entities, such as from
+	 *            {@link JsonApiJoinPlan#getJoinedPaths()}
+	 * @return a list of prescribed relationships to include, or null
+	 */
+	public JsonApiArray findIncludedFromEntities(
+			Collection<? extends JsonApiResourceable> entities, @NonNull Set<String> loadedPaths
+	) {
+		final JsonApiArray included = validIncludes == null ? null : new JsonApiArray();
+		if (entities != null && validIncludes != null) {
+			included.addAll(processEntityIncludes(entities, validIncludes, loadedPaths, "", resourceMapper));
 		}
 		return included;
 	}
@@ -103,7 +328,7 @@ public class JsonApiIncludeProcessor {
 	 * @return the entity as a JSON:API top-level resource
 	 */
 	public JsonApiTopLevelResource asTopLevelObject(JsonApiResourceable entity) {
-		final JsonApiResource data = entity == null ? null : entity.toResource();
+		final JsonApiResource data = entity == null ? null : resourceMapper.toResources(List.of(entity)).getFirst();
 		return asTopLevelObject(data);
 	}
 
@@ -113,7 +338,7 @@ public class JsonApiIncludeProcessor {
 	 * @return the entities as a JSON:API top-level object
 	 */
 	public JsonApiTopLevelObject<?> asTopLevelObject(Collection<? extends JsonApiResourceable> entities) {
-		final JsonApiArray data = entities == null ? null : new JsonApiArray(entities);
+		final JsonApiArray data = entities == null ? null : new JsonApiArray(entities, resourceMapper);
 		return asTopLevelObject(data);
 	}
 
@@ -149,11 +374,15 @@ public class JsonApiIncludeProcessor {
 	 * @param resources the JSON:API resources that may contain relationships
 	 * @param validIncludesForCurrentEntity the valid include paths and corresponding functions to retrieve the
 	 *            resources by IDs
+	 * @param parentPath the full include path of the resources, such as "author.", or empty for the primary resources
+	 * @param resourceMapper the mapper of the retrieved entities to resources
 	 * @return the prescribed recursive relationships all in a single-depth, non-recursive list
 	 */
 	private static LinkedList<JsonApiResource> processRelationshipIncludes(
 			@NonNull Collection<? extends JsonApiResourceIdentifier> resources,
-			@NonNull List<RelationshipRetriever> validIncludesForCurrentEntity
+			@NonNull List<RelationshipRetriever> validIncludesForCurrentEntity,
+			@NonNull String parentPath,
+			@NonNull JsonApiResourceMapper resourceMapper
 	) {
 		LinkedList<JsonApiResource> result = new LinkedList<>();
 
@@ -170,9 +399,8 @@ public class JsonApiIncludeProcessor {
 					final String startsWith = relationshipInclude.includePath() + ".";
 					if (nextInclude.includePath().startsWith(startsWith)) {
 						// Strip out the parent path, and add the sub-path as a child include
-						childrenIncludes.add(new RelationshipRetriever(
-								nextInclude.includePath().substring(startsWith.length()),
-								nextInclude.idsToResources()
+						childrenIncludes.add(nextInclude.withIncludePath(
+								nextInclude.includePath().substring(startsWith.length())
 						));
 					} else {
 						nextInclude = null;
@@ -181,11 +409,13 @@ public class JsonApiIncludeProcessor {
 			} while (nextInclude != null);
 
 			// Look up IDs for the "relationshipInclude". If non-empty, retrieve the JsonApiResources for those.
-			List<String> relationshipIds = findRelationshipIds(resources, relationshipInclude);
+			List<JsonApiResourceIdentifier> relationshipIds = findRelationshipIds(resources, relationshipInclude);
+			final String path = parentPath + relationshipInclude.includePath();
 			Collection<JsonApiResource> relationships = null;
 			if (!relationshipIds.isEmpty()) {
-				relationships = relationshipInclude.idsToResources().apply(relationshipIds)
-						.stream().map(JsonApiResourceable::toResource).collect(Collectors.toList());
+				relationships = resourceMapper.toResources(
+						retrieve(relationshipInclude, path, relationshipIds)
+				);
 			}
 
 			//log.info("---------------------- " + relationshipInclude.includePath() + " --> " + childrenIncludes.stream().map(RelationshipRetriever::includePath).toList());
@@ -193,7 +423,132 @@ public class JsonApiIncludeProcessor {
 			if (!CollectionUtils.isEmpty(relationships)) {
 				result.addAll(relationships);
 				if (!childrenIncludes.isEmpty()) {
-					result.addAll(processRelationshipIncludes(relationships, childrenIncludes));
+					result.addAll(processRelationshipIncludes(
+							relationships, childrenIncludes, path + ".", resourceMapper
+					));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Like {@link #processRelationshipIncludes(Collection, List, String, JsonApiResourceMapper)}, but retrieve the
+	 * sibling include paths concurrently, and compose each child path onto its parent path without blocking. The
+	 * entities of each retrieval are mapped, and the child paths retrieved, via the continuations executor.
+	 * @return a stage that completes with the prescribed recursive relationships in a single-depth list
+	 */
+	private static CompletableFuture<List<JsonApiResource>> processRelationshipIncludesAsync(
+			@NonNull Collection<? extends JsonApiResourceIdentifier> resources,
+			@NonNull List<RelationshipRetriever> validIncludesForCurrentEntity,
+			@NonNull String parentPath,
+			@NonNull JsonApiResourceMapper resourceMapper,
+			@NonNull Executor continuations
+	) {
+		final List<CompletableFuture<List<JsonApiResource>>> siblings = new ArrayList<>();
+
+		final int size = validIncludesForCurrentEntity.size();
+		int i = 0;
+		while (i < size) {
+			final RelationshipRetriever relationshipInclude = validIncludesForCurrentEntity.get(i);
+			final String startsWith = relationshipInclude.includePath() + ".";
+			final List<RelationshipRetriever> childrenIncludes = new ArrayList<>();
+			for (i++; i < size && validIncludesForCurrentEntity.get(i).includePath().startsWith(startsWith); i++) {
+				RelationshipRetriever nextInclude = validIncludesForCurrentEntity.get(i);
+				// Strip out the parent path, and add the sub-path as a child include
+				childrenIncludes.add(nextInclude.withIncludePath(
+						nextInclude.includePath().substring(startsWith.length())
+				));
+			}
+
+			List<JsonApiResourceIdentifier> relationshipIds = findRelationshipIds(resources, relationshipInclude);
+			if (!relationshipIds.isEmpty()) {
+				final String path = parentPath + relationshipInclude.includePath();
+				siblings.add(retrieveAsync(relationshipInclude, path, relationshipIds)
+						.thenApplyAsync(entities -> entities == null
+								? List.<JsonApiResource>of()
+								: resourceMapper.toResources(entities), continuations)
+						.thenComposeAsync(relationships -> {
+							if (relationships.isEmpty() || childrenIncludes.isEmpty()) {
+								return CompletableFuture.completedFuture(relationships);
+							}
+							return processRelationshipIncludesAsync(
+									relationships, childrenIncludes, parentPath + startsWith, resourceMapper,
+									continuations
+							).thenApply(children -> {
+										final List<JsonApiResource> result = new ArrayList<>(
+												relationships.size() + children.size()
+										);
+										result.addAll(relationships);
+										result.addAll(children);
+										return result;
+									});
+						}, continuations));
+			}
+		}
+
+		return CompletableFuture.allOf(siblings.toArray(CompletableFuture[]::new)).thenApply(v -> {
+			final List<JsonApiResource> result = new ArrayList<>();
+			for (CompletableFuture<List<JsonApiResource>> sibling : siblings) {
+				result.addAll(sibling.join());
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * For allowed relationship paths, recursively find the related entities, either from the already loaded
+	 * relationships of the entities, or via the retrievers, returning all the relationships as resources in a
+	 * single-depth, non-recursive list.
+	 * @param entities the entities that may contain relationships
+	 * @param validIncludesForCurrentEntity the valid include paths, relative to the entities
+	 * @param loadedPaths the full include paths whose relationships are already loaded
+	 * @param parentPath the full include path of the entities, such as "author.", or empty for the primary entities
+	 * @param resourceMapper the mapper of the related entities to resources
+	 * @return the prescribed recursive relationships all in a single-depth, non-recursive list
+	 */
+	private static LinkedList<JsonApiResource> processEntityIncludes(
+			@NonNull Collection<? extends JsonApiResourceable> entities,
+			@NonNull List<RelationshipRetriever> validIncludesForCurrentEntity,
+			@NonNull Set<String> loadedPaths,
+			@NonNull String parentPath,
+			@NonNull JsonApiResourceMapper resourceMapper
+	) {
+		LinkedList<JsonApiResource> result = new LinkedList<>();
+
+		final int size = validIncludesForCurrentEntity.size();
+		int i = 0;
+		while (i < size) {
+			final RelationshipRetriever relationshipInclude = validIncludesForCurrentEntity.get(i);
+			final String startsWith = relationshipInclude.includePath() + ".";
+			final List<RelationshipRetriever> childrenIncludes = new LinkedList<>();
+			for (i++; i < size && validIncludesForCurrentEntity.get(i).includePath().startsWith(startsWith); i++) {
+				RelationshipRetriever nextInclude = validIncludesForCurrentEntity.get(i);
+				// Strip out the parent path, and add the sub-path as a child include
+				childrenIncludes.add(nextInclude.withIncludePath(
+						nextInclude.includePath().substring(startsWith.length())
+				));
+			}
+
+			final String path = parentPath + relationshipInclude.includePath();
+			final Collection<? extends JsonApiResourceable> relatedEntities;
+			if (loadedPaths.contains(path)) {
+				relatedEntities = findLoadedRelationships(entities, relationshipInclude.includePath());
+			} else {
+				List<JsonApiResourceIdentifier> relationshipIds = findEntityRelationshipIds(
+						entities, relationshipInclude.includePath()
+				);
+				relatedEntities = relationshipIds.isEmpty()
+						? Collections.emptyList()
+						: retrieve(relationshipInclude, path, relationshipIds);
+			}
+
+			if (!CollectionUtils.isEmpty(relatedEntities)) {
+				result.addAll(resourceMapper.toResources(relatedEntities));
+				if (!childrenIncludes.isEmpty()) {
+					result.addAll(processEntityIncludes(
+							relatedEntities, childrenIncludes, loadedPaths, parentPath + startsWith, resourceMapper
+					));
 				}
 			}
 		}
@@ -201,13 +556,148 @@ public class JsonApiIncludeProcessor {
 	}
 
 	/**
-	 * Find the IDs of the JSON:API resources for specific a relationship, but only for those that are non-array values.
-	 * We will not include IDs for relationships with an array of IDs, even if a single value.
+	 * Retrieve the related entities via the retriever. A retriever by type is called once per resource type, in the
+	 * order that the types are first related. The types are only retrieved concurrently if the retriever has its own
+	 * executor, since the functions then run outside the caller's transaction and session. The retrieval is counted
+	 * under its full include path, such as "author.address".
+	 */
+	private static Collection<? extends JsonApiResourceable> retrieve(
+			@NonNull RelationshipRetriever retriever,
+			@NonNull String path,
+			@NonNull List<JsonApiResourceIdentifier> identifiers
+	) {
+		if (retriever.idsToResources() != null) {
+			JsonApiDiagnostics.recordRetrieval(path, identifiers.size());
+			return retriever.idsToResources().apply(toIds(identifiers));
+		} else if (retriever.idsToResourcesAsync() != null) {
+			return JsonApiResourceMapper.join(retrieveAsync(retriever, path, identifiers));
+		}
+
+		final Map<String, Set<String>> idsByType = new LinkedHashMap<>();
+		for (JsonApiResourceIdentifier identifier : identifiers) {
+			if (retriever.idsToResourcesByType().containsKey(identifier.getType())) {
+				idsByType.computeIfAbsent(identifier.getType(), k -> new LinkedHashSet<>()).add(identifier.getId());
+			}
+		}
+		for (Map.Entry<String, Set<String>> e : idsByType.entrySet()) {
+			JsonApiDiagnostics.recordRetrieval(path + '[' + e.getKey() + ']', e.getValue().size());
+		}
+		final List<JsonApiResourceable> result = new ArrayList<>();
+		if (idsByType.size() > 1 && retriever.byTypeExecutor() != null) {
+			final List<CompletableFuture<Collection<? extends JsonApiResourceable>>> futures = new ArrayList<>();
+			for (Map.Entry<String, Set<String>> e : idsByType.entrySet()) {
+				futures.add(CompletableFuture.supplyAsync(
+						() -> retriever.idsToResourcesByType().get(e.getKey()).apply(e.getValue()),
+						retriever.byTypeExecutor()
+				));
+			}
+			for (CompletableFuture<Collection<? extends JsonApiResourceable>> future : futures) {
+				addAll(result, JsonApiResourceMapper.join(future));
+			}
+		} else {
+			for (Map.Entry<String, Set<String>> e : idsByType.entrySet()) {
+				addAll(result, retriever.idsToResourcesByType().get(e.getKey()).apply(e.getValue()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Retrieve the related entities via the retriever, without blocking if the retriever is asynchronous
+	 */
+	private static CompletableFuture<Collection<? extends JsonApiResourceable>> retrieveAsync(
+			@NonNull RelationshipRetriever retriever,
+			@NonNull String path,
+			@NonNull List<JsonApiResourceIdentifier> identifiers
+	) {
+		try {
+			if (retriever.idsToResourcesAsync() != null) {
+				JsonApiDiagnostics.recordRetrieval(path, identifiers.size());
+				// Widen the stage's captured collection type
+				return retriever.idsToResourcesAsync().apply(toIds(identifiers)).toCompletableFuture()
+						.thenApply(entities -> entities);
+			}
+			return CompletableFuture.completedFuture(retrieve(retriever, path, identifiers));
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	private static List<String> toIds(List<JsonApiResourceIdentifier> identifiers) {
+		final List<String> ids = new ArrayList<>(identifiers.size());
+		for (JsonApiResourceIdentifier identifier : identifiers) {
+			ids.add(identifier.getId());
+		}
+		return ids;
+	}
+
+	private static void addAll(List<JsonApiResourceable> result, Collection<? extends JsonApiResourceable> entities) {
+		if (entities != null) {
+			result.addAll(entities);
+		}
+	}
+
+	/**
+	 * Read the already loaded to-one relationship of each entity, without duplicates
+	 */
+	private static Collection<JsonApiResourceable> findLoadedRelationships(
+			Collection<? extends JsonApiResourceable> entities, String relationshipName
+	) {
+		final Map<String, JsonApiResourceable> related = new LinkedHashMap<>();
+		for (JsonApiResourceable entity : entities) {
+			JsonApiEntityMetadata.RelationshipProperty rp = JsonApiEntityMetadata.of(entity.getClass())
+					.findRelationshipProperty(relationshipName);
+			if (rp != null && rp.property().get(entity) instanceof JsonApiResourceable r) {
+				related.putIfAbsent(r.toResourceType() + ":" + r.toJsonApiId(), r);
+			}
+		}
+		return related.values();
+	}
+
+	/**
+	 * Find the identifiers of the entities' to-one relationship, such as from foreign keys. Only that relationship's
+	 * property is read, so the entities' other relationships, which may be lazy, are not loaded. We will not include
+	 * IDs for relationships with an array of IDs, even if a single value.
+	 */
+	private static List<JsonApiResourceIdentifier> findEntityRelationshipIds(
+			Collection<? extends JsonApiResourceable> entities, String relationshipName
+	) {
+		final List<JsonApiResourceIdentifier> ids = new ArrayList<>();
+		for (JsonApiResourceable entity : entities) {
+			final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(entity.getClass());
+			final JsonApiEntityMetadata.RelationshipProperty rp = metadata.findRelationshipProperty(relationshipName);
+			if (rp == null || !metadata.findLinkage(relationshipName).isRead()
+					|| Collection.class.isAssignableFrom(rp.property().getType())) {
+				continue;
+			}
+			if (rp.foreignKey() != null) {
+				Object foreignKeyValue = rp.foreignKey().get(entity);
+				if (foreignKeyValue != null && !(foreignKeyValue instanceof Collection)) {
+					ids.add(new JsonApiResourceIdentifier(
+							rp.foreignKeyType(), rp.foreignKeyCodec().encode(foreignKeyValue)
+					));
+				}
+			} else {
+				JsonApiDiagnostics.recordRelationRead(entity, rp.name());
+				if (rp.property().get(entity) instanceof JsonApiResourceable r) {
+					String id = r.toJsonApiId();
+					if (id != null) {
+						ids.add(new JsonApiResourceIdentifier(r.toResourceType(), id));
+					}
+				}
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Find the identifiers of the JSON:API resources for specific a relationship, but only for those that are non-array
+	 * values. We will not include IDs for relationships with an array of IDs, even if a single value.
 	 * @param resources the JSON:API resources that may have relationship entities
 	 * @param relationshipInclude the relationship for which to find IDs
-	 * @return the IDs of the prescribed relationship entities
+	 * @return the identifiers of the prescribed relationship entities, which have an ID
 	 */
-	private static List<String> findRelationshipIds(
+	private static List<JsonApiResourceIdentifier> findRelationshipIds(
 			@NonNull Collection<? extends JsonApiResourceIdentifier> resources,
 			@NonNull RelationshipRetriever relationshipInclude
 	) {
@@ -218,7 +708,7 @@ public class JsonApiIncludeProcessor {
 							JsonApiObject<? extends JsonApiDataType> relationship = res.getRelationships().get(relationshipInclude.includePath());
 							JsonApiDataType data = relationship == null ? null : relationship.getData();
 							if (data instanceof JsonApiResourceIdentifier dataResIdentifier) {
-								return dataResIdentifier.getId();
+								return dataResIdentifier.getId() == null ? null : dataResIdentifier;
 							} else if (data instanceof JsonApiArray) {
 								// do nothing - we don't do lookups for arrays
 								return null;
@@ -0,0 +1,129 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.Relation;
+import io.micronaut.data.repository.jpa.criteria.QuerySpecification;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.*;
+
+/**
+ * A plan to fetch the to-one relationships of validated "include" paths in the primary query via joins, instead of a
+ * separate query per include path. E.g. for "include=author.address", the primary query for articles also selects the
+ * author and the author's address in one SQL statement. The include processor then reads those relationships from the
+ * loaded entities via {@link JsonApiIncludeProcessor#findIncludedFromEntities(Collection, Set)}, and only calls the
+ * retrievers for paths that could not be joined, such as to-many relationships. E.g.
+ * <pre>
+ * JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(include, supportedIncludePaths);
+ * JsonApiJoinPlan&lt;Article&gt; joinPlan = JsonApiJoinPlan.plan(includeProcessor, Article.class);
+ * Page&lt;Article&gt; page = articleRepo.findAll(joinPlan.and(filter.toQuerySpecification()), pageable);
+ * return new JsonApiPage&lt;&gt;(page, resources -&gt; includeProcessor.findIncludedFromEntities(page.getContent(), joinPlan.getJoinedPaths()));
+ * </pre>
+ * @param <T> the entity type
+ */
+public class JsonApiJoinPlan<T extends JsonApiResourceable> {
+
+	private final List<String> joinedPaths;
+
+	private JsonApiJoinPlan(List<String> joinedPaths) {
+		this.joinedPaths = joinedPaths;
+	}
+
+	/**
+	 * Plan the joins for the valid include paths of an include processor
+	 * @param includeProcessor the include processor, with validated include paths
+	 * @param entityClass the primary entity class
+	 * @return the join plan, which joins the include paths made up entirely of to-one relationships
+	 * @param <T> the entity type
+	 */
+	public static <T extends JsonApiResourceable> JsonApiJoinPlan<T> plan(
+			@NonNull JsonApiIncludeProcessor includeProcessor, @NonNull Class<T> entityClass
+	) {
+		final List<JsonApiIncludeProcessor.RelationshipRetriever> validIncludes = includeProcessor.getValidIncludes();
+		final List<String> paths = new ArrayList<>();
+		if (validIncludes != null) {
+			for (JsonApiIncludeProcessor.RelationshipRetriever rr : validIncludes) {
+				if (isToOnePath(entityClass, rr.includePath())) {
+					paths.add(rr.includePath());
+				}
+			}
+		}
+		return new JsonApiJoinPlan<>(List.copyOf(paths));
+	}
+
+	/**
+	 * Find the include paths that are fetched by the joins, such as ["author", "author.address"]
+	 * @return the joined include paths
+	 */
+	public @NonNull Set<String> getJoinedPaths() {
+		return new LinkedHashSet<>(joinedPaths);
+	}
+
+	/**
+	 * Determine if there is nothing to join
+	 * @return true if there are no joined paths
+	 */
+	public boolean isEmpty() {
+		return joinedPaths.isEmpty();
+	}
+
+	/**
+	 * Provide a query specification that only adds the fetch joins
+	 * @return the query specification, which produces no predicate
+	 */
+	public @NonNull QuerySpecification<T> toQuerySpecification() {
+		return and(null);
+	}
+
+	/**
+	 * Provide a query specification that adds the fetch joins to another query specification, such as a filter
+	 * @param spec the other query specification, or null for none
+	 * @return the query specification, with the other specification's predicate
+	 */
+	public @NonNull QuerySpecification<T> and(@Nullable QuerySpecification<T> spec) {
+		return (root, query, criteriaBuilder) -> {
+			// Count queries for a Page must not fetch the relationships
+			if (!joinedPaths.isEmpty() && query.getResultType() != Long.class && query.getResultType() != long.class) {
+				final Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+				for (String path : joinedPaths) {
+					int idx = path.lastIndexOf('.');
+					FetchParent<?, ?> parent = idx < 0 ? root : fetches.get(path.substring(0, idx));
+					fetches.put(path, parent.fetch(path.substring(idx + 1), JoinType.LEFT));
+				}
+			}
+			return spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+		};
+	}
+
+	/**
+	 * Determine if every segment of the include path is a to-one relationship, which may be joined without multiplying
+	 * the primary rows
+	 */
+	private static boolean isToOnePath(Class<?> entityClass, String includePath) {
+		Class<?> current = entityClass;
+		for (String segment : includePath.split("\\.")) {
+			JsonApiEntityMetadata.RelationshipProperty rp = findRelationship(current, segment);
+			if (rp == null || !isToOne(rp)) {
+				return false;
+			}
+			current = rp.property().getType();
+		}
+		return true;
+	}
+
+	private static JsonApiEntityMetadata.RelationshipProperty findRelationship(Class<?> entityClass, String name) {
+		if (!JsonApiResourceable.class.isAssignableFrom(entityClass)) {
+			return null;
+		}
+		return JsonApiEntityMetadata.of(entityClass).findRelationshipProperty(name);
+	}
+
+	private static boolean isToOne(JsonApiEntityMetadata.RelationshipProperty rp) {
+		Relation.Kind kind = rp.property().enumValue(Relation.class, Relation.Kind.class).orElse(null);
+		return kind == Relation.Kind.MANY_TO_ONE || kind == Relation.Kind.ONE_TO_ONE;
+	}
+}
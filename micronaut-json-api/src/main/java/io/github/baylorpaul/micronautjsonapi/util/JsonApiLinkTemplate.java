@@ -0,0 +1,262 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiLinkString;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A link URI template, such as "/articles/{id}", compiled once into constant segments and variables. The constant
+ * segments are percent-encoded when compiled, so expanding the template only encodes the variable values. Bind the
+ * variables that are known ahead of time, such as a relationship name, to fold them into the constant segments. A
+ * template without variables always provides the same {@link JsonApiLinkString} instance. E.g.
+ * <pre>
+ * JsonApiLinkTemplate template = JsonApiLinkTemplate.compile("/articles/{id}/relationships/{relationship}")
+ *         .bind("relationship", "author");
+ * JsonApiLinkString link = template.toLink("5"); // "/articles/5/relationships/author"
+ * </pre>
+ */
+public final class JsonApiLinkTemplate {
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	/** the constant segments, with one more segment than there are variables */
+	private final String[] segments;
+	private final String[] variables;
+	private final int constantLength;
+	private final @Nullable JsonApiLinkString constantLink;
+
+	private JsonApiLinkTemplate(String[] segments, String[] variables) {
+		this.segments = segments;
+		this.variables = variables;
+		int length = 0;
+		for (String segment : segments) {
+			length += segment.length();
+		}
+		this.constantLength = length;
+		this.constantLink = variables.length == 0 ? new JsonApiLinkString(segments[0]) : null;
+	}
+
+	/**
+	 * Compile a URI template, where each variable is a name in braces, such as "{id}"
+	 * @param template the URI template, which may be absolute or relative
+	 * @return the compiled template
+	 * @throws IllegalArgumentException if a variable is not closed
+	 */
+	public static @NonNull JsonApiLinkTemplate compile(@NonNull String template) throws IllegalArgumentException {
+		final List<String> segments = new ArrayList<>();
+		final List<String> variables = new ArrayList<>();
+		final int authorityEnd = findAuthorityEnd(template);
+		int start = 0;
+		int open;
+		while ((open = template.indexOf('{', start)) >= 0) {
+			int close = template.indexOf('}', open);
+			if (close < 0) {
+				throw new IllegalArgumentException("Unclosed variable in link template: " + template);
+			}
+			segments.add(encodeConstant(template, start, open, authorityEnd));
+			variables.add(template.substring(open + 1, close));
+			start = close + 1;
+		}
+		segments.add(encodeConstant(template, start, template.length(), authorityEnd));
+		return new JsonApiLinkTemplate(segments.toArray(String[]::new), variables.toArray(String[]::new));
+	}
+
+	/**
+	 * Find the names of the variables that are not yet bound
+	 * @return the variable names, in template order
+	 */
+	public @NonNull List<String> getVariables() {
+		return List.of(variables);
+	}
+
+	/**
+	 * Bind a variable to a value, folding the encoded value into the constant segments
+	 * @param name the variable name
+	 * @param value the value, which is percent-encoded
+	 * @return a template without the variable, or this template if it does not have the variable
+	 */
+	public @NonNull JsonApiLinkTemplate bind(@NonNull String name, @NonNull Object value) {
+		final String encoded = encode(value.toString());
+		final List<String> newSegments = new ArrayList<>(segments.length);
+		final List<String> newVariables = new ArrayList<>(variables.length);
+		StringBuilder current = new StringBuilder(segments[0]);
+		for (int i = 0; i < variables.length; i++) {
+			if (variables[i].equals(name)) {
+				current.append(encoded).append(segments[i + 1]);
+			} else {
+				newSegments.add(current.toString());
+				newVariables.add(variables[i]);
+				current = new StringBuilder(segments[i + 1]);
+			}
+		}
+		if (newVariables.size() == variables.length) {
+			return this;
+		}
+		newSegments.add(current.toString());
+		return new JsonApiLinkTemplate(newSegments.toArray(String[]::new), newVariables.toArray(String[]::new));
+	}
+
+	/**
+	 * Expand the template, where every variable has the same value, such as a template with only an "{id}" variable
+	 * @param value the value of the variables, which is percent-encoded
+	 * @return the URI
+	 */
+	public @NonNull String expand(@NonNull Object value) {
+		if (variables.length == 0) {
+			return segments[0];
+		}
+		final String encoded = encode(value.toString());
+		final StringBuilder sb = new StringBuilder(constantLength + variables.length * encoded.length());
+		sb.append(segments[0]);
+		for (int i = 0; i < variables.length; i++) {
+			sb.append(encoded).append(segments[i + 1]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Expand the template
+	 * @param values the value of each variable, which is percent-encoded. A missing variable expands to an empty
+	 *            string.
+	 * @return the URI
+	 */
+	public @NonNull String expand(@NonNull Map<String, ?> values) {
+		if (variables.length == 0) {
+			return segments[0];
+		}
+		final StringBuilder sb = new StringBuilder(constantLength + variables.length * 8);
+		sb.append(segments[0]);
+		for (int i = 0; i < variables.length; i++) {
+			Object value = values.get(variables[i]);
+			if (value != null) {
+				sb.append(encode(value.toString()));
+			}
+			sb.append(segments[i + 1]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Provide the link of a template without variables
+	 * @return the same link instance on every call
+	 * @throws IllegalStateException if the template has variables
+	 */
+	public @NonNull JsonApiLinkString toLink() throws IllegalStateException {
+		if (constantLink == null) {
+			throw new IllegalStateException("The link template has unbound variables: " + getVariables());
+		}
+		return constantLink;
+	}
+
+	/**
+	 * Expand the template into a link, where every variable has the same value
+	 * @param value the value of the variables, which is percent-encoded
+	 * @return the link
+	 */
+	public @NonNull JsonApiLinkString toLink(@NonNull Object value) {
+		return constantLink != null ? constantLink : new JsonApiLinkString(expand(value));
+	}
+
+	/**
+	 * Expand the template into a link
+	 * @param values the value of each variable, which is percent-encoded
+	 * @return the link
+	 */
+	public @NonNull JsonApiLinkString toLink(@NonNull Map<String, ?> values) {
+		return constantLink != null ? constantLink : new JsonApiLinkString(expand(values));
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(segments[0]);
+		for (int i = 0; i < variables.length; i++) {
+			sb.append('{').append(variables[i]).append('}').append(segments[i + 1]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Percent-encode a value, such as an ID, leaving only the unreserved characters. Most IDs have no characters to
+	 * encode, so the value is returned as-is when possible.
+	 * @param value the value
+	 * @return the encoded value
+	 */
+	public static @NonNull String encode(@NonNull String value) {
+		int i = 0;
+		while (i < value.length() && isUnreserved(value.charAt(i))) {
+			i++;
+		}
+		if (i == value.length()) {
+			return value;
+		}
+		final StringBuilder sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+		for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+			if (b >= 0 && isUnreserved((char) b)) {
+				sb.append((char) b);
+			} else {
+				appendEscaped(sb, b);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Find the end of an absolute URI's scheme and authority, such as "https://[::1]:8080", where brackets are allowed
+	 */
+	private static int findAuthorityEnd(String template) {
+		final int schemeEnd = template.indexOf("://");
+		if (schemeEnd < 0) {
+			return 0;
+		}
+		final int pathStart = template.indexOf('/', schemeEnd + 3);
+		return pathStart < 0 ? template.length() : pathStart;
+	}
+
+	/**
+	 * Percent-encode the characters of a constant segment that are not allowed in a URI, such as the brackets of
+	 * "page[number]", while keeping the URI delimiters and existing escapes
+	 */
+	private static String encodeConstant(String template, int start, int end, int authorityEnd) {
+		StringBuilder sb = null;
+		for (int i = start; i < end; i++) {
+			char c = template.charAt(i);
+			boolean allowed = isUnreserved(c) || isDelimiter(c) || (i < authorityEnd && (c == '[' || c == ']'));
+			if (!allowed && sb == null) {
+				sb = new StringBuilder(end - start + 16).append(template, start, i);
+			}
+			if (sb != null) {
+				if (allowed) {
+					sb.append(c);
+				} else {
+					int codePoint = template.codePointAt(i);
+					for (byte b : Character.toString(codePoint).getBytes(StandardCharsets.UTF_8)) {
+						appendEscaped(sb, b);
+					}
+					i += Character.charCount(codePoint) - 1;
+				}
+			}
+		}
+		return sb == null ? template.substring(start, end) : sb.toString();
+	}
+
+	private static void appendEscaped(StringBuilder sb, byte b) {
+		sb.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+	}
+
+	private static boolean isUnreserved(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+				|| c == '-' || c == '.' || c == '_' || c == '~';
+	}
+
+	private static boolean isDelimiter(char c) {
+		return switch (c) {
+			case ':', '/', '?', '#', '@', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=', '%' -> true;
+			default -> false;
+		};
+	}
+}
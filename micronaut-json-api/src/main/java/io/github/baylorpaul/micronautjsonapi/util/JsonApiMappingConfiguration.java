@@ -0,0 +1,67 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+/**
+ * Configuration for mapping entities to JSON:API resources. Parallel mapping is disabled unless a threshold is set. The
+ * entities' relationships must be fetched before they are mapped, such as via joins, since mapping runs on threads
+ * outside the caller's transaction and session. E.g. in application.properties:
+ * <pre>
+ * json-api.mapping.parallel-threshold=10000
+ * json-api.mapping.virtual-threads=false
+ * </pre>
+ */
+@ConfigurationProperties("json-api.mapping")
+public class JsonApiMappingConfiguration {
+
+	private int parallelThreshold = 0;
+	private boolean virtualThreads = false;
+
+	/**
+	 * Find the minimum number of entities to map in parallel
+	 * @return the minimum number of entities, or 0 if parallel mapping is disabled
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Set the minimum number of entities to map in parallel
+	 * @param parallelThreshold the minimum number of entities, or 0 to disable parallel mapping
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Determine if entities are mapped on virtual threads rather than in the common ForkJoinPool
+	 * @return true if entities are mapped on virtual threads
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Set whether entities are mapped on virtual threads rather than in the common ForkJoinPool. Virtual threads suit
+	 * entities whose mapping may block on something other than the database, such as a remote call in a custom
+	 * {@code toJsonApiAttributes()}. They do not make lazy loading safe: JPA sessions and transactions are bound to the
+	 * calling thread, so relationships must be fetched before mapping.
+	 * @param virtualThreads true to map entities on virtual threads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * Build the resource mapper for this configuration
+	 * @return the resource mapper
+	 */
+	public JsonApiResourceMapper toResourceMapper() {
+		if (parallelThreshold <= 0) {
+			return JsonApiResourceMapper.SEQUENTIAL;
+		}
+		return virtualThreads
+				? JsonApiResourceMapper.virtualThreads(parallelThreshold)
+				: JsonApiResourceMapper.forkJoin(parallelThreshold);
+	}
+}
@@ -0,0 +1,142 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+
+import java.util.*;
+
+/**
+ * A utility class for reading the "sort" and "page[...]" query parameters according to <a href="https://jsonapi.org/">JSON:API</a>.
+ * E.g. {@code ?sort=-created,name&page[number]=2&page[size]=25}.
+ * @see <a href="https://jsonapi.org/format/#fetching-sorting">JSON:API Sorting</a>
+ * @see <a href="https://jsonapi.org/format/#fetching-pagination">JSON:API Pagination</a>
+ */
+public class JsonApiPagingUtil {
+
+	/** The sort query parameter */
+	public static final String SORT_PARAMETER = "sort";
+	/** The zero-based page number query parameter, matching "pageNumber" in the JsonApiSlice "meta" */
+	public static final String PAGE_NUMBER_PARAMETER = "page[number]";
+	/** The page size query parameter */
+	public static final String PAGE_SIZE_PARAMETER = "page[size]";
+	/** The watermark query parameter of a delta sync, matching "watermark" in the JsonApiDeltaPage "meta" */
+	public static final String PAGE_SINCE_PARAMETER = "page[since]";
+
+	private JsonApiPagingUtil() {}
+
+	/**
+	 * Read the "sort", "page[number]" and "page[size]" query parameters into a Pageable
+	 * @param queryParameters all query parameters. Other parameters are ignored.
+	 * @param sortableFields the fields that may be sorted on, such as indexed columns. Sorting on any other field is
+	 *            rejected.
+	 * @param defaultSize the page size when "page[size]" is not provided
+	 * @param maxSize the maximum page size. A larger "page[size]" is reduced to this size.
+	 * @return the pageable
+	 * @throws JsonApiParameterException if a parameter is invalid, or a sort field is not allowed
+	 */
+	public static @NonNull Pageable toPageable(
+			Map<String, List<String>> queryParameters, Collection<String> sortableFields, int defaultSize, int maxSize
+	) throws JsonApiParameterException {
+		final Map<String, List<String>> params = queryParameters == null ? Collections.emptyMap() : queryParameters;
+		int number = readInt(params, PAGE_NUMBER_PARAMETER, 0);
+		int size = readInt(params, PAGE_SIZE_PARAMETER, defaultSize);
+		if (number < 0) {
+			throw new JsonApiParameterException(PAGE_NUMBER_PARAMETER, "must not be negative");
+		} else if (size < 1) {
+			throw new JsonApiParameterException(PAGE_SIZE_PARAMETER, "must be positive");
+		}
+		return Pageable.from(number, Math.min(size, maxSize), readSort(params, sortableFields));
+	}
+
+	/**
+	 * Read the "page[since]" query parameter of a delta sync, which is the watermark returned by the previous sync
+	 * @param queryParameters all query parameters. Other parameters are ignored.
+	 * @param watermarkType the watermark type, such as Instant for an "updated" timestamp, or Long for a version
+	 * @return the watermark, or empty for a full sync
+	 * @param <W> the watermark type
+	 * @throws JsonApiParameterException if the watermark is not in the expected format
+	 */
+	public static <W> Optional<W> readSince(
+			Map<String, List<String>> queryParameters, @NonNull Class<W> watermarkType
+	) throws JsonApiParameterException {
+		final List<String> values = queryParameters == null ? null : queryParameters.get(PAGE_SINCE_PARAMETER);
+		if (values == null || values.isEmpty() || values.getFirst().isBlank()) {
+			return Optional.empty();
+		}
+		final String value = values.getFirst().trim();
+		return Optional.of(ConversionService.SHARED.convert(value, watermarkType)
+				.orElseThrow(() -> new JsonApiParameterException(
+						PAGE_SINCE_PARAMETER, "unexpected watermark: [" + value + "]"
+				)));
+	}
+
+	/**
+	 * Compile the template of the pagination links for a request, keeping the other query parameters, such as "filter"
+	 * and "sort". The template has "{number}" and "{size}" variables, to be expanded for each of the "self", "first",
+	 * "prev", "next" and "last" links via {@code JsonApiSlice.withPaginationLinks()}.
+	 * @param path the request path, such as "/articles", or an absolute URI without a query
+	 * @param queryParameters all query parameters
+	 * @return the template of the pagination links
+	 */
+	public static @NonNull JsonApiLinkTemplate toPageLinkTemplate(
+			@NonNull String path, Map<String, List<String>> queryParameters
+	) {
+		final StringBuilder sb = new StringBuilder(path).append('?');
+		if (queryParameters != null) {
+			for (Map.Entry<String, List<String>> e : queryParameters.entrySet()) {
+				String name = e.getKey();
+				if (!name.equals(PAGE_NUMBER_PARAMETER) && !name.equals(PAGE_SIZE_PARAMETER) && e.getValue() != null) {
+					String encodedName = JsonApiLinkTemplate.encode(name);
+					for (String value : e.getValue()) {
+						sb.append(encodedName).append('=').append(JsonApiLinkTemplate.encode(value)).append('&');
+					}
+				}
+			}
+		}
+		sb.append(PAGE_NUMBER_PARAMETER).append("={number}&").append(PAGE_SIZE_PARAMETER).append("={size}");
+		return JsonApiLinkTemplate.compile(sb.toString());
+	}
+
+	/**
+	 * Read the "sort" query parameter, such as "-created,name"
+	 */
+	private static Sort readSort(Map<String, List<String>> params, Collection<String> sortableFields) {
+		final List<String> rawSorts = params.get(SORT_PARAMETER);
+		if (rawSorts == null || rawSorts.isEmpty()) {
+			return Sort.UNSORTED;
+		}
+		final List<Sort.Order> orders = new ArrayList<>();
+		final Set<String> seen = new HashSet<>();
+		for (String rawSort : rawSorts) {
+			for (String field : rawSort.split(",")) {
+				field = field.trim();
+				boolean descending = field.startsWith("-");
+				String name = descending ? field.substring(1) : field;
+				if (name.isEmpty()) {
+					continue;
+				} else if (sortableFields == null || !sortableFields.contains(name)) {
+					throw new JsonApiParameterException(SORT_PARAMETER, "unsupported 'sort' value: [" + name + "]");
+				}
+				if (seen.add(name)) {
+					orders.add(descending ? Sort.Order.desc(name) : Sort.Order.asc(name));
+				}
+			}
+		}
+		return orders.isEmpty() ? Sort.UNSORTED : Sort.of(orders);
+	}
+
+	private static int readInt(Map<String, List<String>> params, String parameter, int defaultValue) {
+		final List<String> values = params.get(parameter);
+		if (values == null || values.isEmpty() || values.getFirst().isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(values.getFirst().trim());
+		} catch (NumberFormatException e) {
+			throw new JsonApiParameterException(parameter, "must be an integer");
+		}
+	}
+}
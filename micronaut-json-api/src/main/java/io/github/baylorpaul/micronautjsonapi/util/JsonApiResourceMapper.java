@@ -0,0 +1,124 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Map entities to JSON:API resources, optionally in parallel for large collections, such as exports of many thousands
+ * of entities. The entities are split into one contiguous range per task, and each task writes its resources into its
+ * own range of a presized array, so the resources keep the order of the entities without any merging. The calling
+ * thread maps the first range itself. Parallel mapping requires that {@link JsonApiResourceable#toResource()} may be
+ * called from other threads, which are outside the caller's transaction and session, so the relationships of the
+ * entities must already be loaded. E.g.
+ * <pre>
+ * JsonApiResourceMapper mapper = JsonApiResourceMapper.forkJoin(10_000);
+ * JsonApiArray data = new JsonApiArray(entities, mapper);
+ * </pre>
+ * @param parallelThreshold the minimum number of entities to map in parallel. Smaller collections are mapped on the
+ *            calling thread.
+ * @param parallelism the maximum number of tasks to split a collection into
+ * @param executor the executor of the tasks, or null to always map on the calling thread
+ */
+public record JsonApiResourceMapper(int parallelThreshold, int parallelism, @Nullable Executor executor) {
+
+	/** Map every collection on the calling thread */
+	public static final JsonApiResourceMapper SEQUENTIAL = new JsonApiResourceMapper(Integer.MAX_VALUE, 1, null);
+
+	/**
+	 * Create a mapper that maps large collections in the common {@link ForkJoinPool}
+	 * @param parallelThreshold the minimum number of entities to map in parallel
+	 * @return the mapper
+	 */
+	public static @NonNull JsonApiResourceMapper forkJoin(int parallelThreshold) {
+		return new JsonApiResourceMapper(
+				parallelThreshold, ForkJoinPool.getCommonPoolParallelism() + 1, ForkJoinPool.commonPool()
+		);
+	}
+
+	/**
+	 * Create a mapper that maps large collections on virtual threads, such as when
+	 * {@link JsonApiResourceable#toResource()} may block on a remote call. The relationships must still be loaded
+	 * before mapping, since lazy loading is bound to the calling thread's session.
+	 * @param parallelThreshold the minimum number of entities to map in parallel
+	 * @return the mapper
+	 */
+	public static @NonNull JsonApiResourceMapper virtualThreads(int parallelThreshold) {
+		return new JsonApiResourceMapper(
+				parallelThreshold, Runtime.getRuntime().availableProcessors(), Thread.ofVirtual()::start
+		);
+	}
+
+	/**
+	 * Determine if a collection of a size is mapped in parallel
+	 * @param size the number of entities
+	 * @return true if the entities are mapped in parallel
+	 */
+	public boolean isParallel(int size) {
+		return executor != null && parallelism > 1 && size >= Math.max(parallelThreshold, 2);
+	}
+
+	/**
+	 * Map the entities to resources, in the order of the entities. The mappings are counted by the request's
+	 * {@link JsonApiDiagnostics}, if any.
+	 * @param entities the entities
+	 * @return the resources, in a list that may be fixed-size, so copy it before adding to it
+	 */
+	public @NonNull List<JsonApiResource> toResources(@NonNull Collection<? extends JsonApiResourceable> entities) {
+		JsonApiDiagnostics.recordToResources(entities);
+		final int size = entities.size();
+		if (!isParallel(size)) {
+			final List<JsonApiResource> resources = new ArrayList<>(size);
+			for (JsonApiResourceable entity : entities) {
+				resources.add(entity.toResource());
+			}
+			return resources;
+		}
+
+		final Object[] source = entities.toArray();
+		final JsonApiResource[] target = new JsonApiResource[source.length];
+		final int tasks = Math.min(parallelism, source.length);
+		final int rangeSize = (source.length + tasks - 1) / tasks;
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(tasks - 1);
+		for (int start = rangeSize; start < source.length; start += rangeSize) {
+			final int from = start;
+			final int to = Math.min(start + rangeSize, source.length);
+			futures.add(CompletableFuture.runAsync(() -> mapRange(source, target, from, to), executor));
+		}
+		mapRange(source, target, 0, Math.min(rangeSize, source.length));
+		join(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)));
+		return Arrays.asList(target);
+	}
+
+	/**
+	 * Wait for a task, rethrowing its exception as-is rather than wrapped in a {@link CompletionException}
+	 */
+	static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			} else if (e.getCause() instanceof Error err) {
+				throw err;
+			}
+			throw e;
+		}
+	}
+
+	private static void mapRange(Object[] source, JsonApiResource[] target, int from, int to) {
+		for (int i = from; i < to; i++) {
+			target[i] = ((JsonApiResourceable) source[i]).toResource();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.repository.jpa.JpaSpecificationExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for retrieving the related entities of "include" paths in chunks of IDs. E.g. in
+ * application.properties:
+ * <pre>
+ * json-api.retrieval.chunk-size=500
+ * json-api.retrieval.concurrent-chunks=true
+ * </pre>
+ * @see JsonApiRetrievers
+ */
+@ConfigurationProperties("json-api.retrieval")
+public class JsonApiRetrievalConfiguration {
+
+	private int chunkSize = JsonApiRetrievers.DEFAULT_CHUNK_SIZE;
+	private boolean concurrentChunks = false;
+
+	/**
+	 * Find the maximum number of IDs per query
+	 * @return the chunk size
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set the maximum number of IDs per query, which should be within the database's limit of bind parameters
+	 * @param chunkSize the chunk size
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Determine if the chunks of a retrieval are queried concurrently
+	 * @return true if the chunks are queried concurrently, on virtual threads
+	 */
+	public boolean isConcurrentChunks() {
+		return concurrentChunks;
+	}
+
+	/**
+	 * Set whether the chunks of a retrieval are queried concurrently, on virtual threads. Each concurrent chunk uses
+	 * its own connection, outside any transaction of the calling thread.
+	 * @param concurrentChunks true to query the chunks concurrently
+	 */
+	public void setConcurrentChunks(boolean concurrentChunks) {
+		this.concurrentChunks = concurrentChunks;
+	}
+
+	/**
+	 * Find the executor of the chunks
+	 * @return an executor of virtual threads if the chunks are queried concurrently, else null
+	 */
+	public @Nullable Executor toExecutor() {
+		return concurrentChunks ? Thread.ofVirtual()::start : null;
+	}
+
+	/**
+	 * Build a retriever from a Micronaut Data repository, which queries the entities by their "@Id" property in
+	 * chunks, as configured
+	 * @param includePath the "include" path, such as "author"
+	 * @param repository the repository of the related entities
+	 * @param entityClass the class of the related entities
+	 * @return the retriever
+	 * @param <E> the entity type
+	 */
+	public <E extends JsonApiResourceable> @NonNull RelationshipRetriever forRepository(
+			@NonNull String includePath, @NonNull JpaSpecificationExecutor<E> repository, @NonNull Class<E> entityClass
+	) {
+		return new RelationshipRetriever(
+				includePath, JsonApiRetrievers.findAllById(repository, entityClass, chunkSize, toExecutor())
+		);
+	}
+}
@@ -0,0 +1,167 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodecs;
+import io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.repository.jpa.JpaSpecificationExecutor;
+import io.micronaut.data.repository.jpa.criteria.PredicateSpecification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Build the functions of {@link RelationshipRetriever}s, which retrieve the related entities in chunks of IDs. A
+ * single query with a huge "IN" list may exceed the database's limit of bind parameters, and is slow to plan, so the
+ * IDs are split into chunks, with a query per chunk. The chunks may be retrieved concurrently. E.g.
+ * <pre>
+ * List&lt;RelationshipRetriever&gt; supportedIncludePaths = List.of(
+ *         JsonApiRetrievers.forRepository("author", userRepo, User.class),
+ *         new RelationshipRetriever("publishingCompany", JsonApiRetrievers.chunked(
+ *                 ids -&gt; companyRepo.findByIdIn(ids), 500, null
+ *         ))
+ * );
+ * </pre>
+ */
+public class JsonApiRetrievers {
+
+	/** The default maximum number of IDs per query */
+	public static final int DEFAULT_CHUNK_SIZE = 500;
+
+	private JsonApiRetrievers() {}
+
+	/**
+	 * Wrap a retrieval function, so it is called once per chunk of IDs. Duplicate IDs are removed first.
+	 * @param idsToResources the function that receives a chunk of IDs, and returns the entities
+	 * @param chunkSize the maximum number of IDs per call
+	 * @param executor null to retrieve the chunks one after another on the calling thread, else the executor to
+	 *            retrieve the chunks concurrently, such as virtual threads
+	 * @return the function that receives all the IDs, and returns the entities, in the order of the chunks
+	 */
+	public static @NonNull Function<Collection<String>, Collection<? extends JsonApiResourceable>> chunked(
+			@NonNull Function<Collection<String>, Collection<? extends JsonApiResourceable>> idsToResources,
+			int chunkSize,
+			@Nullable Executor executor
+	) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("The chunk size must be positive");
+		}
+		return ids -> {
+			final List<String> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+			if (uniqueIds.size() <= chunkSize) {
+				return uniqueIds.isEmpty() ? List.of() : idsToResources.apply(uniqueIds);
+			}
+			final List<JsonApiResourceable> result = new ArrayList<>(uniqueIds.size());
+			if (executor == null) {
+				for (int start = 0; start < uniqueIds.size(); start += chunkSize) {
+					addAll(result, idsToResources.apply(chunk(uniqueIds, start, chunkSize)));
+				}
+			} else {
+				final List<CompletableFuture<Collection<? extends JsonApiResourceable>>> futures = new ArrayList<>();
+				for (int start = 0; start < uniqueIds.size(); start += chunkSize) {
+					final List<String> chunk = chunk(uniqueIds, start, chunkSize);
+					futures.add(CompletableFuture.supplyAsync(() -> idsToResources.apply(chunk), executor));
+				}
+				for (CompletableFuture<Collection<? extends JsonApiResourceable>> future : futures) {
+					addAll(result, JsonApiResourceMapper.join(future));
+				}
+			}
+			return result;
+		};
+	}
+
+	/**
+	 * Build a retrieval function from a Micronaut Data repository, which queries the entities by their "@Id" property.
+	 * The JSON:API IDs are decoded via the entity's ID codec, and IDs that cannot be decoded are not retrieved.
+	 * @param repository the repository of the related entities
+	 * @param entityClass the class of the related entities
+	 * @param chunkSize the maximum number of IDs per query
+	 * @param executor null to query the chunks one after another, else the executor to query the chunks concurrently,
+	 *            each with its own connection
+	 * @return the function that receives the IDs, and returns the entities
+	 * @param <E> the entity type
+	 */
+	public static <E extends JsonApiResourceable> @NonNull
+			Function<Collection<String>, Collection<? extends JsonApiResourceable>> findAllById(
+					@NonNull JpaSpecificationExecutor<E> repository,
+					@NonNull Class<E> entityClass,
+					int chunkSize,
+					@Nullable Executor executor
+			) {
+		final JsonApiIdCodecs.EntityIdBinding idBinding = JsonApiIdCodecs.forEntity(entityClass);
+		if (idBinding.property() == null) {
+			throw new IllegalArgumentException("Entity " + entityClass.getName() + " has no ID property");
+		}
+		final String idName = idBinding.property().getName();
+		return chunked(ids -> {
+			final List<Object> entityIds = new ArrayList<>(ids.size());
+			for (String id : ids) {
+				idBinding.codec().decodeNoThrow(id).ifPresent(entityIds::add);
+			}
+			if (entityIds.isEmpty()) {
+				return List.of();
+			}
+			final PredicateSpecification<E> spec = (root, criteriaBuilder) -> root.get(idName).in(entityIds);
+			return repository.findAll(spec);
+		}, chunkSize, executor);
+	}
+
+	/**
+	 * Build a retriever from a Micronaut Data repository, which queries the entities by their "@Id" property in
+	 * chunks of {@value #DEFAULT_CHUNK_SIZE} IDs, one chunk after another
+	 * @param includePath the "include" path, such as "author"
+	 * @param repository the repository of the related entities
+	 * @param entityClass the class of the related entities
+	 * @return the retriever
+	 * @param <E> the entity type
+	 */
+	public static <E extends JsonApiResourceable> @NonNull RelationshipRetriever forRepository(
+			@NonNull String includePath, @NonNull JpaSpecificationExecutor<E> repository, @NonNull Class<E> entityClass
+	) {
+		return new RelationshipRetriever(
+				includePath, findAllById(repository, entityClass, DEFAULT_CHUNK_SIZE, null)
+		);
+	}
+
+	/**
+	 * Build a retriever for a polymorphic relationship, like {@link RelationshipRetriever#byType(String, Map)}, which
+	 * may retrieve the resource types concurrently. With an executor, each function runs on the executor's threads,
+	 * outside the caller's transaction and session, so it must open its own, such as via a repository method with its
+	 * own connection, and the retrieved entities' lazy relationships cannot be loaded afterward. E.g.
+	 * <pre>
+	 * JsonApiRetrievers.byType("commentable", Map.of(
+	 *         "article", ids -&gt; articleRepo.findByIdIn(ids),
+	 *         "photo", ids -&gt; photoRepo.findByIdIn(ids)
+	 * ), Thread.ofVirtual()::start);
+	 * </pre>
+	 * @param includePath the "include" path, such as "commentable"
+	 * @param byType a function per resource type that receives the IDs of that type, and returns the resources
+	 * @param executor null to retrieve the types one after another on the calling thread, else the executor to
+	 *            retrieve the types concurrently, such as virtual threads
+	 * @return the retriever
+	 */
+	public static @NonNull RelationshipRetriever byType(
+			@NonNull String includePath,
+			@NonNull Map<String, Function<Collection<String>, Collection<? extends JsonApiResourceable>>> byType,
+			@Nullable Executor executor
+	) {
+		return new RelationshipRetriever(includePath, null, Map.copyOf(byType), null, executor);
+	}
+
+	private static List<String> chunk(List<String> ids, int start, int chunkSize) {
+		return ids.subList(start, Math.min(start + chunkSize, ids.size()));
+	}
+
+	private static void addAll(List<JsonApiResourceable> result, Collection<? extends JsonApiResourceable> entities) {
+		if (entities != null) {
+			result.addAll(entities);
+		}
+	}
+}
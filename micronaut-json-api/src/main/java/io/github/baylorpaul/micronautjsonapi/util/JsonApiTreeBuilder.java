@@ -0,0 +1,130 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.json.tree.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build a single JSON value as a tree, one parser token at a time. This works with a non-blocking parser, where the
+ * tokens of a value may arrive across several chunks of input, as well as with a blocking parser.
+ */
+public class JsonApiTreeBuilder {
+
+	private final Deque<Frame> stack = new ArrayDeque<>();
+	private JsonNode result;
+	private boolean complete;
+
+	/**
+	 * Read the next complete value from a blocking parser
+	 * @param parser the blocking parser
+	 * @return the value, or null at the end of input
+	 * @throws IOException if the input is not valid
+	 */
+	public static JsonNode readTree(@NonNull JsonParser parser) throws IOException {
+		final JsonApiTreeBuilder builder = new JsonApiTreeBuilder();
+		for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+			if (builder.add(parser, token)) {
+				return builder.getResult();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Add the parser's current token to the value
+	 * @param parser the parser, positioned at the token
+	 * @param token the current token
+	 * @return true if the value is complete
+	 * @throws IOException if the token is not expected
+	 */
+	public boolean add(@NonNull JsonParser parser, @NonNull JsonToken token) throws IOException {
+		if (complete) {
+			throw new IOException("The value is already complete");
+		}
+		switch (token) {
+			case START_OBJECT -> stack.push(new Frame(new LinkedHashMap<>(), null));
+			case START_ARRAY -> stack.push(new Frame(null, new ArrayList<>()));
+			case FIELD_NAME -> currentFrame(token).name = parser.currentName();
+			case END_OBJECT, END_ARRAY -> {
+				Frame frame = currentFrame(token);
+				stack.pop();
+				addValue(frame.object != null
+						? JsonNode.createObjectNode(frame.object)
+						: JsonNode.createArrayNode(frame.array));
+			}
+			default -> addValue(toScalar(parser, token));
+		}
+		return complete;
+	}
+
+	/**
+	 * Find the complete value
+	 * @return the value, or null if it is not yet complete
+	 */
+	public JsonNode getResult() {
+		return result;
+	}
+
+	private Frame currentFrame(JsonToken token) throws IOException {
+		Frame frame = stack.peek();
+		if (frame == null) {
+			throw new IOException("Unexpected token: " + token);
+		}
+		return frame;
+	}
+
+	private void addValue(JsonNode node) {
+		Frame parent = stack.peek();
+		if (parent == null) {
+			result = node;
+			complete = true;
+		} else if (parent.object != null) {
+			parent.object.put(parent.name, node);
+		} else {
+			parent.array.add(node);
+		}
+	}
+
+	private static JsonNode toScalar(JsonParser parser, JsonToken token) throws IOException {
+		return switch (token) {
+			case VALUE_STRING -> JsonNode.createStringNode(parser.getText());
+			case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+				case INT -> JsonNode.createNumberNode(parser.getIntValue());
+				case LONG -> JsonNode.createNumberNode(parser.getLongValue());
+				default -> JsonNode.createNumberNode(parser.getBigIntegerValue());
+			};
+			case VALUE_NUMBER_FLOAT -> switch (parser.getNumberType()) {
+				case FLOAT -> JsonNode.createNumberNode(parser.getFloatValue());
+				case DOUBLE -> JsonNode.createNumberNode(parser.getDoubleValue());
+				default -> JsonNode.createNumberNode(parser.getDecimalValue());
+			};
+			case VALUE_TRUE -> JsonNode.createBooleanNode(true);
+			case VALUE_FALSE -> JsonNode.createBooleanNode(false);
+			case VALUE_NULL -> JsonNode.nullNode();
+			default -> throw new IOException("Unexpected token: " + token);
+		};
+	}
+
+	/**
+	 * An object or array under construction
+	 */
+	private static class Frame {
+		private final Map<String, JsonNode> object;
+		private final List<JsonNode> array;
+		private String name;
+
+		private Frame(Map<String, JsonNode> object, List<JsonNode> array) {
+			this.object = object;
+			this.array = array;
+		}
+	}
+}
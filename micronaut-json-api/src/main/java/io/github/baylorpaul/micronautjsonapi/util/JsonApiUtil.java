@@ -1,17 +1,26 @@
 package io.github.baylorpaul.micronautjsonapi.util;
 
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiRequestException;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiEntityMetadata;
 import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiIdentifiable;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodec;
+import io.github.baylorpaul.micronautjsonapi.identifiable.codec.JsonApiIdCodecs;
 import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
 import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiPatch;
 import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedResource;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
 import io.micronaut.core.annotation.NonNull;
-import io.micronaut.http.HttpStatus;
-import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.json.JsonMapper;
+import io.micronaut.json.tree.JsonNode;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,11 +44,11 @@ public class JsonApiUtil {
 	 * @param expectedId the expected long value ID
 	 * @return the ID of the JSON:API object's data as a long, or null if the ID in the JSON:API object's data does not
 	 * match the expected long value ID
-	 * @throws HttpStatusException if the JSON:API object's data is null
+	 * @throws JsonApiRequestException if the JSON:API object's data is null
 	 */
 	public static Optional<Long> readAndValidateLongId(
 			JsonApiObject<JsonApiResource> obj, long expectedId
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		return readLongId(obj)
 				// Check that the object ID matches the expected ID
 				.map(objId -> objId.longValue() == expectedId ? objId : null);
@@ -49,10 +58,38 @@ public class JsonApiUtil {
 	 * Read the ID from the JSON:API object's data and transform it to a long
 	 * @param obj the JSON:API object
 	 * @return the translated ID from the JSON:API object's data
-	 * @throws HttpStatusException if the JSON:API object's data is null
+	 * @throws JsonApiRequestException if the JSON:API object's data is null
 	 */
-	public static Optional<Long> readLongId(JsonApiObject<JsonApiResource> obj) throws HttpStatusException {
-		return readId(obj, JsonApiUtil::parseLongNoThrow);
+	public static Optional<Long> readLongId(JsonApiObject<JsonApiResource> obj) throws JsonApiRequestException {
+		return readId(obj, JsonApiIdCodecs.LONG);
+	}
+
+	/**
+	 * Read the ID from the JSON:API object's data and transform it with the ID codec of the provided entity class
+	 * @param obj the JSON:API object
+	 * @param entityClass the entity class whose ID codec translates the String ID
+	 * @return the translated ID from the JSON:API object's data, or empty if it is not in the expected format
+	 * @throws JsonApiRequestException if the JSON:API object's data is null
+	 */
+	public static Optional<Object> readId(
+			JsonApiObject<JsonApiResource> obj, Class<? extends JsonApiIdentifiable> entityClass
+	) throws JsonApiRequestException {
+		JsonApiIdCodec<Object> codec = JsonApiIdCodecs.forEntity(entityClass).codec();
+		return codec == null ? Optional.empty() : readId(obj, codec);
+	}
+
+	/**
+	 * Read the ID from the JSON:API object's data and transform it with the provided ID codec
+	 * @param obj the JSON:API object
+	 * @param idCodec the codec to convert the String ID to another type
+	 * @return the translated ID from the JSON:API object's data, or empty if it is not in the expected format
+	 * @param <T> the type of ID to return
+	 * @throws JsonApiRequestException if the JSON:API object's data is null
+	 */
+	public static <T> Optional<T> readId(
+			JsonApiObject<JsonApiResource> obj, JsonApiIdCodec<T> idCodec
+	) throws JsonApiRequestException {
+		return readId(obj, idCodec::decodeNoThrow);
 	}
 
 	/**
@@ -61,29 +98,18 @@ public class JsonApiUtil {
 	 * @param idTranslator the translator to convert the String ID to another type
 	 * @return the translated ID from the JSON:API object's data
 	 * @param <T> the type of ID to return
-	 * @throws HttpStatusException if the JSON:API object's data is null
+	 * @throws JsonApiRequestException if the JSON:API object's data is null
 	 */
 	public static <T> Optional<T> readId(
 			JsonApiObject<JsonApiResource> obj, Function<String, Optional<T>> idTranslator
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		JsonApiResource data = obj.getData();
 		if (data == null) {
-			throw new HttpStatusException(HttpStatus.BAD_REQUEST, "data required");
+			throw new JsonApiDocumentException("/data", "data required");
 		}
 		return idTranslator.apply(data.getId());
 	}
 
-	/**
-	 * Parse a string into a number, returning an empty "optional" if an exception occurs
-	 */
-	private static Optional<Long> parseLongNoThrow(String numStr) {
-		try {
-			return Optional.of(Long.valueOf(numStr));
-		} catch (NumberFormatException e) {
-			return Optional.empty();
-		}
-	}
-
 	/**
 	 * Transform the JSON:API object's data into the provided instance type, including the ID, throwing if the value is
 	 * null
@@ -92,11 +118,11 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the JSON:API object's data to
 	 * @return the JSON:API object's data as a specific instance type
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if the value is null
+	 * @throws JsonApiRequestException if the value is null
 	 */
 	public static @NonNull <T extends JsonApiIdentifiable> T readDataWithId(
 			JsonMapper jsonMapper, JsonApiObject<JsonApiResource> jsonApiObj, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		JsonApiResource res = jsonApiObj.getData();
 		return readResourceWithIdOrThrow(jsonMapper, res, clazz);
 	}
@@ -109,11 +135,11 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert each item of the JSON:API object's data to
 	 * @return the JSON:API object's data as a list of the specific instance type
 	 * @param <T> the type of instances to return
-	 * @throws HttpStatusException if any value is null
+	 * @throws JsonApiRequestException if any value is null
 	 */
 	public static @NonNull <T extends JsonApiIdentifiable> List<T> readDataWithIds(
 			JsonMapper jsonMapper, JsonApiObject<JsonApiArray> jsonApiObj, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		JsonApiArray arr = jsonApiObj.getData();
 		return arr.stream()
 				.map(res -> readResourceWithIdOrThrow(jsonMapper, res, clazz))
@@ -128,14 +154,50 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the JSON:API object's data to
 	 * @return the JSON:API object's data as a specific instance type
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if the value is null
+	 * @throws JsonApiRequestException if the value is null
 	 */
 	public static @NonNull <T> T readDataWithoutId(
 			JsonMapper jsonMapper, JsonApiObject<JsonApiResource> jsonApiObj, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		JsonApiResource res = jsonApiObj.getData();
 		return readResourceWithoutId(jsonMapper, res, clazz)
-				.orElseThrow(() -> new HttpStatusException(HttpStatus.BAD_REQUEST, "Value cannot be null"));
+				.orElseThrow(() -> new JsonApiDocumentException("/data", "Value cannot be null"));
+	}
+
+	/**
+	 * Read the typed JSON:API object's data, excluding the ID, throwing if the value is null
+	 * @param jsonApiObj the typed JSON:API object, whose data is already decoded into the instance type
+	 * @return the JSON:API object's data
+	 * @param <T> the type of instance to return
+	 * @throws JsonApiRequestException if the data or its value is null
+	 */
+	public static @NonNull <T> T readDataWithoutId(JsonApiTypedObject<T> jsonApiObj) throws JsonApiRequestException {
+		JsonApiTypedResource<T> res = jsonApiObj.getData();
+		if (res == null) {
+			throw new JsonApiDocumentException("/data", "data required");
+		} else if (res.getAttributes() == null) {
+			throw new JsonApiDocumentException("/data", "Value cannot be null");
+		}
+		return res.getAttributes();
+	}
+
+	/**
+	 * Read the typed JSON:API object's data, including the ID, throwing if the value is null
+	 * @param jsonApiObj the typed JSON:API object, whose data is already decoded into the instance type
+	 * @return the JSON:API object's data, with the ID applied
+	 * @param <T> the type of instance to return
+	 * @throws JsonApiRequestException if the data or its value is null, or the ID is not in the expected format
+	 */
+	public static @NonNull <T extends JsonApiIdentifiable> T readDataWithId(
+			JsonApiTypedObject<T> jsonApiObj
+	) throws JsonApiRequestException {
+		T val = readDataWithoutId(jsonApiObj);
+		try {
+			val.applyJsonApiId(jsonApiObj.getData().getId());
+		} catch (IllegalArgumentException e) {
+			throw new JsonApiDocumentException("/data/id", "Unexpected format for 'id'");
+		}
+		return val;
 	}
 
 	/**
@@ -145,16 +207,16 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the JSON:API resource to
 	 * @return the JSON:API resource as a specific instance type
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if unable to convert the resource into the provided instance type, such as if the
+	 * @throws JsonApiRequestException if unable to convert the resource into the provided instance type, such as if the
 	 *             data is null
 	 */
 	public static <T> Optional<T> readResourceWithoutId(
 			JsonMapper jsonMapper, JsonApiResource res, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		if (res == null) {
-			throw new HttpStatusException(HttpStatus.BAD_REQUEST, "data required");
+			throw new JsonApiDocumentException("/data", "data required");
 			//} else if (res.getAttributes() == null) {
-			//	throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Attributes are required");
+			//	throw new JsonApiDocumentException("/data/attributes", "Attributes are required");
 		}
 
 		Map<String, Object> properties = res.getAttributes();
@@ -176,6 +238,57 @@ public class JsonApiUtil {
 		return readNullableValue(jsonMapper, properties, clazz);
 	}
 
+	/**
+	 * Transform the JSON:API resource of a PATCH request into a patch descriptor, excluding the ID. The descriptor holds
+	 * the bound values, along with the names of the attributes and relationships present in the request, so only the
+	 * changed fields are written. A relationship with a {@code @JsonApiForeignKey} sets its foreign key property.
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 * @param res the JSON:API resource to convert to a patch descriptor
+	 * @param clazz the type of class to bind the present attributes and relationships onto
+	 * @return the patch descriptor
+	 * @param <T> the type of instance to bind onto
+	 * @throws JsonApiRequestException if unable to convert the resource into the provided instance type, such as if the
+	 *             data is null
+	 */
+	public static @NonNull <T> JsonApiPatch<T> readPatch(
+			JsonMapper jsonMapper, JsonApiResource res, Class<T> clazz
+	) throws JsonApiRequestException {
+		if (res == null) {
+			throw new JsonApiDocumentException("/data", "data required");
+		}
+		final Map<String, Object> attributes = res.getAttributes() == null ? Map.of() : res.getAttributes();
+		final Map<String, JsonApiObject<? extends JsonApiDataType>> relationships = res.getRelationships() == null
+				? Map.of()
+				: res.getRelationships();
+
+		final JsonApiEntityMetadata metadata = JsonApiEntityMetadata.of(clazz);
+		final Map<String, Object> properties = new HashMap<>(attributes);
+		final Map<String, Object> foreignKeyIds = new HashMap<>();
+		relationships.forEach((name, relationship) -> {
+			JsonApiDataType data = relationship == null ? null : relationship.getData();
+			Object ids = data == null ? null : data.toResourceIds();
+			JsonApiEntityMetadata.RelationshipProperty rp = metadata.findRelationshipProperty(name);
+			if (rp != null && rp.foreignKey() != null) {
+				foreignKeyIds.put(name, ids);
+			} else {
+				properties.put(name, ids);
+			}
+		});
+
+		final T values = readValue(jsonMapper, properties, clazz);
+		foreignKeyIds.forEach((name, ids) -> {
+			JsonApiEntityMetadata.RelationshipProperty rp = metadata.findRelationshipProperty(name);
+			try {
+				rp.foreignKey().set(values, rp.decodeForeignKey(ids));
+			} catch (IllegalArgumentException e) {
+				throw new JsonApiDocumentException(
+						"/data/relationships/" + name, "Unexpected format for relationship 'id'"
+				);
+			}
+		});
+		return new JsonApiPatch<>(values, attributes.keySet(), relationships.keySet());
+	}
+
 	/**
 	 * Transform the JSON:API resource into the provided instance type, including the ID
 	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
@@ -183,15 +296,19 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the JSON:API resource to
 	 * @return the JSON:API resource as a specific instance type
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if unable to convert the resource into the provided instance type, such as if the
+	 * @throws JsonApiRequestException if unable to convert the resource into the provided instance type, such as if the
 	 *             data is null
 	 */
 	public static <T extends JsonApiIdentifiable> Optional<T> readResourceWithId(
 			JsonMapper jsonMapper, JsonApiResource res, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		return readResourceWithoutId(jsonMapper, res, clazz)
 				.map(r -> {
-					r.applyJsonApiId(res.getId());
+					try {
+						r.applyJsonApiId(res.getId());
+					} catch (IllegalArgumentException e) {
+						throw new JsonApiDocumentException("/data/id", "Unexpected format for 'id'");
+					}
 					return r;
 				});
 	}
@@ -203,13 +320,84 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the JSON:API resource to
 	 * @return the JSON:API resource as a specific instance type
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if the value is null
+	 * @throws JsonApiRequestException if the value is null
 	 */
 	public static @NonNull <T extends JsonApiIdentifiable> T readResourceWithIdOrThrow(
 			JsonMapper jsonMapper, JsonApiResource res, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		return readResourceWithId(jsonMapper, res, clazz)
-				.orElseThrow(() -> new HttpStatusException(HttpStatus.BAD_REQUEST, "Value cannot be null"));
+				.orElseThrow(() -> new JsonApiDocumentException("/data", "Value cannot be null"));
+	}
+
+	/**
+	 * Transform the JSON of a JSON:API resource into the provided instance type, including the ID, throwing if the value
+	 * is null. The instance is bound straight from the JSON, such as from a response that is decoded incrementally,
+	 * rather than via a map of the attributes that is written back to a JSON string.
+	 * @param jsonMapper the JSON mapper - this must be provided in case there are custom serializers/deserializers
+	 * @param res the JSON of the JSON:API resource to convert to a class instance
+	 * @param clazz the type of class to convert the JSON:API resource to
+	 * @return the JSON:API resource as a specific instance type
+	 * @param <T> the type of instance to return
+	 * @throws JsonApiRequestException if the value is null, or unable to convert the resource into the provided
+	 *             instance type
+	 */
+	public static @NonNull <T extends JsonApiIdentifiable> T readResourceWithIdOrThrow(
+			JsonMapper jsonMapper, JsonNode res, Class<T> clazz
+	) throws JsonApiRequestException {
+		if (res == null || !res.isObject()) {
+			throw new JsonApiDocumentException("/data", "data required");
+		}
+		final JsonNode attributes = res.get("attributes");
+		final JsonNode relationships = res.get("relationships");
+		JsonNode properties = attributes;
+
+		// Also get IDs from "relationships"
+		if (relationships != null && relationships.isObject() && relationships.size() > 0) {
+			final Map<String, JsonNode> merged = new LinkedHashMap<>();
+			if (attributes != null && attributes.isObject()) {
+				for (Map.Entry<String, JsonNode> e : attributes.entries()) {
+					merged.put(e.getKey(), e.getValue());
+				}
+			}
+			for (Map.Entry<String, JsonNode> e : relationships.entries()) {
+				merged.put(e.getKey(), toResourceIds(e.getValue().get("data")));
+			}
+			properties = JsonNode.createObjectNode(merged);
+		}
+
+		final T value;
+		try {
+			value = properties == null || properties.isNull() ? null : jsonMapper.readValueFromTree(properties, clazz);
+		} catch (IOException e) {
+			throw new JsonApiDocumentException(null, "Unexpected object format for nullable value");
+		}
+		if (value == null) {
+			throw new JsonApiDocumentException("/data", "Value cannot be null");
+		}
+		final JsonNode id = res.get("id");
+		try {
+			value.applyJsonApiId(id == null || id.isNull() ? null : id.coerceStringValue());
+		} catch (IllegalArgumentException e) {
+			throw new JsonApiDocumentException("/data/id", "Unexpected format for 'id'");
+		}
+		return value;
+	}
+
+	/**
+	 * Map the JSON of a relationship's "data" to its IDs, like {@link JsonApiDataType#toResourceIds()}
+	 */
+	private static JsonNode toResourceIds(JsonNode data) {
+		if (data == null || data.isNull()) {
+			return JsonNode.nullNode();
+		} else if (data.isArray()) {
+			final List<JsonNode> ids = new ArrayList<>(data.size());
+			for (JsonNode identifier : data.values()) {
+				ids.add(toResourceIds(identifier));
+			}
+			return JsonNode.createArrayNode(ids);
+		}
+		final JsonNode id = data.get("id");
+		return JsonNode.createObjectNode(Map.of("id", id == null ? JsonNode.nullNode() : id));
 	}
 
 	/**
@@ -219,13 +407,13 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the map to
 	 * @return the non-null instance value
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if the value is null
+	 * @throws JsonApiRequestException if the value is null
 	 */
 	public static @NonNull <T> T readValue(
 			JsonMapper jsonMapper, Map<String, ?> map, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		return readNullableValue(jsonMapper, map, clazz)
-				.orElseThrow(() -> new HttpStatusException(HttpStatus.BAD_REQUEST, "Value cannot be null"));
+				.orElseThrow(() -> new JsonApiDocumentException(null, "Value cannot be null"));
 	}
 
 	/**
@@ -235,18 +423,18 @@ public class JsonApiUtil {
 	 * @param clazz the type of class to convert the map to
 	 * @return the instance value as an Optional
 	 * @param <T> the type of instance to return
-	 * @throws HttpStatusException if unable to convert the map into the provided instance type
+	 * @throws JsonApiRequestException if unable to convert the map into the provided instance type
 	 */
 	public static <T> Optional<T> readNullableValue(
 			JsonMapper jsonMapper, Map<String, ?> map, Class<T> clazz
-	) throws HttpStatusException {
+	) throws JsonApiRequestException {
 		try {
 			String jsonStr = map == null ? null : jsonMapper.writeValueAsString(map);
 			T val = jsonStr == null ? null : jsonMapper.readValue(jsonStr, clazz);
 			return Optional.ofNullable(val);
 		} catch (IOException e) {
 			//log.info("Unable to read nullable value", e);
-			throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Unexpected object format for nullable value");
+			throw new JsonApiDocumentException(null, "Unexpected object format for nullable value");
 		}
 	}
 }
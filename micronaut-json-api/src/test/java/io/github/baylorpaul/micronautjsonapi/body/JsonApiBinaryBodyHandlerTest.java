@@ -0,0 +1,113 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelArray;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.simple.SimpleHttpHeaders;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@MicronautTest
+public class JsonApiBinaryBodyHandlerTest {
+
+	@Inject
+	private JsonMapper jsonMapper;
+	@Inject
+	private JacksonJsonMapper jacksonJsonMapper;
+	@Inject
+	private JsonApiCborBodyHandler cborBodyHandler;
+	@Inject
+	private JsonApiSmileBodyHandler smileBodyHandler;
+
+	@Test
+	public void testCborRoundTrip() throws IOException {
+		assertRoundTrip(cborBodyHandler, JsonApiMediaType.APPLICATION_CBOR_TYPE);
+	}
+
+	@Test
+	public void testSmileRoundTrip() throws IOException {
+		assertRoundTrip(smileBodyHandler, JsonApiMediaType.APPLICATION_SMILE_TYPE);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLimitsCheckedWhileDecoding() throws IOException {
+		Argument<Object> type = Argument.of((Class<Object>) (Class<?>) JsonApiTopLevelArray.class);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cborBodyHandler.writeTo(
+				type, JsonApiMediaType.APPLICATION_CBOR_TYPE, buildDocument(),
+				new SimpleHttpHeaders(ConversionService.SHARED), out
+		);
+
+		JsonApiBodyConfiguration configuration = new JsonApiBodyConfiguration();
+		configuration.setMaxArrayLength(5);
+		JsonApiCborBodyHandler limitedHandler = new JsonApiCborBodyHandler(jacksonJsonMapper, configuration);
+		JsonApiDocumentException e = Assertions.assertThrows(JsonApiDocumentException.class, () -> limitedHandler.read(
+				type, JsonApiMediaType.APPLICATION_CBOR_TYPE, new SimpleHttpHeaders(ConversionService.SHARED),
+				new ByteArrayInputStream(out.toByteArray())
+		));
+		Assertions.assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, e.getStatus());
+		Assertions.assertEquals("/data", e.getErrors().getFirst().getSource().getPointer());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testUnsupportedType() {
+		Assertions.assertFalse(cborBodyHandler.isWriteable(Argument.OBJECT_ARGUMENT, JsonApiMediaType.APPLICATION_CBOR_TYPE));
+		Assertions.assertTrue(cborBodyHandler.isWriteable(
+				Argument.of((Class<Object>) (Class<?>) JsonApiTopLevelArray.class), JsonApiMediaType.APPLICATION_CBOR_TYPE
+		));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void assertRoundTrip(JsonApiBinaryBodyHandler handler, MediaType mediaType) throws IOException {
+		JsonApiTopLevelArray doc = buildDocument();
+		Argument<Object> type = Argument.of((Class<Object>) (Class<?>) JsonApiTopLevelArray.class);
+		String json = jsonMapper.writeValueAsString(doc);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		handler.writeTo(type, mediaType, doc, new SimpleHttpHeaders(ConversionService.SHARED), out);
+		byte[] bytes = out.toByteArray();
+		Assertions.assertTrue(bytes.length < json.getBytes(StandardCharsets.UTF_8).length);
+
+		Object decoded = handler.read(
+				type, mediaType, new SimpleHttpHeaders(ConversionService.SHARED), new ByteArrayInputStream(bytes)
+		);
+		Assertions.assertInstanceOf(JsonApiTopLevelArray.class, decoded);
+		// The document structure is the same as with JSON
+		Assertions.assertEquals(json, jsonMapper.writeValueAsString(decoded));
+	}
+
+	private static JsonApiTopLevelArray buildDocument() {
+		List<GrantingToken> tokens = new ArrayList<>();
+		for (long i = 1; i <= 20; i++) {
+			User user = User.builder().id(1000L + i).name("User " + i).email("user" + i + "@example.com").build();
+			tokens.add(GrantingToken.builder().id(i).user(user).comment("token " + i).revoked(i % 2 == 0).build());
+		}
+		JsonApiArray data = new JsonApiArray();
+		tokens.forEach(t -> data.add(t.toResource()));
+		JsonApiArray included = new JsonApiArray();
+		tokens.forEach(t -> included.add(t.getUser().toResource()));
+		JsonApiTopLevelArray doc = new JsonApiTopLevelArray();
+		doc.setData(data);
+		doc.setIncluded(included);
+		return doc;
+	}
+}
@@ -0,0 +1,60 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelResource;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.simple.SimpleHttpHeaders;
+import io.micronaut.serde.jackson.JacksonJsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+@MicronautTest
+public class JsonApiDocumentBodyReaderTest {
+
+	@SuppressWarnings("unchecked")
+	private static final Argument<Object> TYPE = Argument.of(
+			(Class<Object>) (Class<?>) JsonApiTopLevelResource.class
+	);
+
+	@Inject
+	private JacksonJsonMapper jsonMapper;
+	@Inject
+	private JsonApiDocumentBodyReader bodyReader;
+
+	@Test
+	public void testRead() {
+		Object doc = read(bodyReader, "{\"data\":{\"type\":\"user\",\"id\":\"5\",\"attributes\":{\"name\":\"Sue\"}}}");
+		JsonApiTopLevelResource resource = Assertions.assertInstanceOf(JsonApiTopLevelResource.class, doc);
+		Assertions.assertEquals("5", resource.getData().getId());
+		Assertions.assertEquals("Sue", resource.getData().getAttributes().get("name"));
+
+		Assertions.assertNull(read(bodyReader, ""));
+	}
+
+	@Test
+	public void testLimitsCheckedWhileDecoding() {
+		JsonApiBodyConfiguration configuration = new JsonApiBodyConfiguration();
+		configuration.setMaxMembers(3);
+		JsonApiDocumentBodyReader limitedReader = new JsonApiDocumentBodyReader(jsonMapper, configuration);
+		String json = "{\"data\":{\"type\":\"user\",\"id\":\"5\",\"attributes\":{\"a\":1,\"b\":2,\"c\":3,\"d\":4}}}";
+		JsonApiDocumentException e = Assertions.assertThrows(
+				JsonApiDocumentException.class, () -> read(limitedReader, json)
+		);
+		Assertions.assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, e.getStatus());
+		Assertions.assertEquals("/data/attributes", e.getErrors().getFirst().getSource().getPointer());
+	}
+
+	private static Object read(JsonApiDocumentBodyReader reader, String json) {
+		return reader.read(
+				TYPE, JsonApiMediaType.APPLICATION_JSON_API_TYPE, new SimpleHttpHeaders(ConversionService.SHARED),
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))
+		);
+	}
+}
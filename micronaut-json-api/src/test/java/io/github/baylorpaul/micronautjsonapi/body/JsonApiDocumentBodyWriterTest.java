@@ -0,0 +1,75 @@
+package io.github.baylorpaul.micronautjsonapi.body;
+
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelArray;
+import io.micronaut.buffer.netty.NettyByteBufferFactory;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ReferenceCounted;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.simple.SimpleHttpHeaders;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.netty.buffer.CompositeByteBuf;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@MicronautTest
+public class JsonApiDocumentBodyWriterTest {
+
+	@Inject
+	private JsonMapper jsonMapper;
+	@Inject
+	private JsonApiDocumentBodyWriter bodyWriter;
+
+	@Test
+	public void testWriteToBuffer() throws IOException {
+		assertWritten(bodyWriter, 1);
+	}
+
+	@Test
+	public void testWriteToChunks() throws IOException {
+		JsonApiBodyConfiguration configuration = new JsonApiBodyConfiguration();
+		configuration.setChunkSize(256);
+		assertWritten(new JsonApiDocumentBodyWriter(jsonMapper, configuration), 2);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void assertWritten(JsonApiDocumentBodyWriter writer, int minChunks) throws IOException {
+		JsonApiTopLevelArray doc = buildDocument();
+		Argument<Object> type = Argument.of((Class<Object>) (Class<?>) JsonApiTopLevelArray.class);
+		Assertions.assertTrue(writer.isWriteable(type, JsonApiMediaType.APPLICATION_JSON_API_TYPE));
+
+		SimpleHttpHeaders headers = new SimpleHttpHeaders(ConversionService.SHARED);
+		ByteBuffer<?> buffer = writer.writeTo(
+				type, JsonApiMediaType.APPLICATION_JSON_API_TYPE, doc, headers, NettyByteBufferFactory.DEFAULT
+		);
+		try {
+			CompositeByteBuf composite = Assertions.assertInstanceOf(CompositeByteBuf.class, buffer.asNativeBuffer());
+			Assertions.assertTrue(composite.isDirect());
+			Assertions.assertTrue(composite.numComponents() >= minChunks);
+			Assertions.assertEquals(jsonMapper.writeValueAsString(doc), buffer.toString(StandardCharsets.UTF_8));
+			Assertions.assertEquals(JsonApiMediaType.APPLICATION_JSON_API, headers.get(HttpHeaders.CONTENT_TYPE));
+		} finally {
+			if (buffer instanceof ReferenceCounted rc) {
+				rc.release();
+			}
+		}
+	}
+
+	private static JsonApiTopLevelArray buildDocument() {
+		JsonApiArray data = new JsonApiArray();
+		for (long i = 1; i <= 20; i++) {
+			data.add(User.builder().id(i).name("User " + i).email("user" + i + "@example.com").build().toResource());
+		}
+		JsonApiTopLevelArray doc = new JsonApiTopLevelArray();
+		doc.setData(data);
+		return doc;
+	}
+}
@@ -0,0 +1,161 @@
+package io.github.baylorpaul.micronautjsonapi.client;
+
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiLinkString;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelResource;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@MicronautTest
+@Property(name = "spec.name", value = "JsonApiClientTest")
+public class JsonApiClientTest {
+
+	private static final int PAGE_COUNT = 3;
+	private static final int PAGE_SIZE = 2;
+	private static final AtomicInteger PAGE_REQUESTS = new AtomicInteger();
+
+	@Inject
+	private StandInUserClient userClient;
+
+	@BeforeEach
+	void resetRequests() {
+		PAGE_REQUESTS.set(0);
+	}
+
+	@Test
+	void testFollowsNextLinks() {
+		List<User> users = Flux.from(userClient.findUsers()).collectList().block();
+		Assertions.assertNotNull(users);
+		Assertions.assertEquals(PAGE_COUNT * PAGE_SIZE, users.size());
+		for (int i = 0; i < users.size(); i++) {
+			Assertions.assertEquals(i + 1, users.get(i).getId());
+			Assertions.assertEquals("User " + (i + 1), users.get(i).getName());
+		}
+		Assertions.assertEquals(PAGE_COUNT, PAGE_REQUESTS.get());
+	}
+
+	@Test
+	void testNextPageIsLazy() {
+		List<User> users = Flux.from(userClient.findUsers()).take(PAGE_SIZE).collectList().block();
+		Assertions.assertNotNull(users);
+		Assertions.assertEquals(PAGE_SIZE, users.size());
+		Assertions.assertEquals(1, PAGE_REQUESTS.get());
+	}
+
+	@Test
+	void testSingleResource() {
+		User user = userClient.findUser(5L).block();
+		Assertions.assertNotNull(user);
+		Assertions.assertEquals(5L, user.getId());
+		Assertions.assertEquals("user5@example.com", user.getEmail());
+	}
+
+	@Test
+	void testNextLinkCycle() {
+		IllegalStateException e = Assertions.assertThrows(
+				IllegalStateException.class,
+				() -> Flux.from(userClient.findUsersInCycle()).collectList().block()
+		);
+		Assertions.assertTrue(e.getMessage().contains("revisits"), e.getMessage());
+		Assertions.assertEquals(2, PAGE_REQUESTS.get());
+	}
+
+	@Test
+	void testNextLinkToAnotherOrigin() {
+		IllegalStateException e = Assertions.assertThrows(
+				IllegalStateException.class,
+				() -> Flux.from(userClient.findUsersLinkingElsewhere()).collectList().block()
+		);
+		Assertions.assertTrue(e.getMessage().contains("another origin"), e.getMessage());
+		Assertions.assertEquals(1, PAGE_REQUESTS.get());
+	}
+
+	@JsonApiClient("/")
+	public interface StandInUserClient {
+		@Get("/stand-in/users")
+		Publisher<User> findUsers();
+
+		@Get("/stand-in/cycle")
+		Publisher<User> findUsersInCycle();
+
+		@Get("/stand-in/elsewhere")
+		Publisher<User> findUsersLinkingElsewhere();
+
+		@Get("/stand-in/users/{id}")
+		Mono<User> findUser(long id);
+	}
+
+	@Requires(property = "spec.name", value = "JsonApiClientTest")
+	@Controller("/stand-in")
+	public static class StandInUserController {
+
+		@Get("/users{?page}")
+		public JsonApiTopLevelArray findUsers(@Nullable Integer page) {
+			PAGE_REQUESTS.incrementAndGet();
+			final int pageNumber = page == null ? 0 : page;
+			JsonApiArray data = new JsonApiArray();
+			for (int i = 1; i <= PAGE_SIZE; i++) {
+				data.add(buildUser(pageNumber * PAGE_SIZE + i).toResource());
+			}
+			SequencedMap<String, JsonApiLinkType> links = new LinkedHashMap<>();
+			if (pageNumber + 1 < PAGE_COUNT) {
+				links.put("next", new JsonApiLinkString("/stand-in/users?page=" + (pageNumber + 1)));
+			}
+			JsonApiTopLevelArray doc = new JsonApiTopLevelArray();
+			doc.setLinks(links);
+			doc.setData(data);
+			return doc;
+		}
+
+		@Get("/cycle{?page}")
+		public JsonApiTopLevelArray findUsersInCycle(@Nullable Integer page) {
+			// The second page links back to the first page
+			return buildPage(page == null ? 0 : page, "/stand-in/cycle" + (page == null ? "?page=1" : ""));
+		}
+
+		@Get("/elsewhere")
+		public JsonApiTopLevelArray findUsersLinkingElsewhere() {
+			return buildPage(0, "https://elsewhere.example.com/users?page=1");
+		}
+
+		@Get("/users/{id}")
+		public JsonApiTopLevelResource findUser(long id) {
+			return buildUser(id).toTopLevelResource();
+		}
+
+		private static JsonApiTopLevelArray buildPage(int pageNumber, String next) {
+			PAGE_REQUESTS.incrementAndGet();
+			JsonApiArray data = new JsonApiArray();
+			data.add(buildUser(pageNumber + 1).toResource());
+			SequencedMap<String, JsonApiLinkType> links = new LinkedHashMap<>();
+			links.put("next", new JsonApiLinkString(next));
+			JsonApiTopLevelArray doc = new JsonApiTopLevelArray();
+			doc.setLinks(links);
+			doc.setData(data);
+			return doc;
+		}
+
+		private static User buildUser(long id) {
+			return User.builder().id(id).name("User " + id).email("user" + id + "@example.com").build();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package io.github.baylorpaul.micronautjsonapi.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiForeignKey;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiLinks;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.GeneratedValue;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.data.annotation.Relation;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A dummy entity used to test relationships rendered from foreign keys, and resource links
+ */
+@MappedEntity
+@JsonApiLinks("/comments/{id}")
+@Data
+@Builder(toBuilder = true)
+@Serdeable.Deserializable
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class Comment implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "comment";
+	}
+
+	private @Id @GeneratedValue @NonNull long id;
+	private @Nullable String body;
+	private @Relation(Relation.Kind.MANY_TO_ONE) @JsonApiForeignKey("authorId") User author;
+	private @Nullable Long authorId;
+	private @Relation(Relation.Kind.ONE_TO_MANY) @JsonApiForeignKey(value = "tagIds", type = "tag") List<Tag> tags;
+	private @Nullable List<String> tagIds;
+}
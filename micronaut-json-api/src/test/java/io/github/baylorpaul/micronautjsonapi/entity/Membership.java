@@ -0,0 +1,41 @@
+package io.github.baylorpaul.micronautjsonapi.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.Embeddable;
+import io.micronaut.data.annotation.EmbeddedId;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A dummy entity used to test composite IDs
+ */
+@MappedEntity
+@Data
+@Builder(toBuilder = true)
+@Serdeable.Deserializable
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class Membership implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "membership";
+	}
+
+	/**
+	 * The composite ID of a membership
+	 * @param organizationId the organization ID
+	 * @param userId the user ID
+	 */
+	@Embeddable
+	@Serdeable
+	public record MembershipId(long organizationId, long userId) {}
+
+	private @EmbeddedId MembershipId id;
+	private String role;
+}
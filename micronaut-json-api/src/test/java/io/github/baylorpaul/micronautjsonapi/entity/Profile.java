@@ -0,0 +1,43 @@
+package io.github.baylorpaul.micronautjsonapi.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.SequencedMap;
+
+/**
+ * A dummy entity used to test custom attributes, which hide a column without {@code @JsonIgnore}
+ */
+@MappedEntity
+@Data
+@Builder(toBuilder = true)
+@Serdeable.Deserializable
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class Profile implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "profile";
+	}
+
+	@Override
+	public SequencedMap<String, Object> toJsonApiAttributes() {
+		final SequencedMap<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("displayName", displayName);
+		return attributes;
+	}
+
+	private @Id long id;
+	private @Nullable String displayName;
+	private @Nullable String internalNotes;
+}
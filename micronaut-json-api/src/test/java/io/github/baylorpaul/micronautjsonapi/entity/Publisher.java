@@ -0,0 +1,46 @@
+package io.github.baylorpaul.micronautjsonapi.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiLinkage;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiLinks;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.Relation;
+import io.micronaut.data.annotation.Transient;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A dummy entity used to test truncated, count-only and links-only relationship linkage
+ */
+@JsonApiLinks("/publishers/{id}")
+@Data
+@Builder(toBuilder = true)
+@Serdeable.Deserializable
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class Publisher implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "publisher";
+	}
+
+	private @Id @NonNull String id;
+	private @Nullable String name;
+	private @Relation(Relation.Kind.ONE_TO_MANY) @JsonApiLinkage(value = JsonApiLinkage.Mode.TRUNCATED, limit = 2)
+			List<Article> articles;
+	private @Relation(Relation.Kind.ONE_TO_MANY) @JsonApiLinkage(
+			value = JsonApiLinkage.Mode.COUNT, countProperty = "authorCount"
+	) List<User> authors;
+	private @Transient @Nullable Long authorCount;
+	private @Relation(Relation.Kind.ONE_TO_MANY) @JsonApiLinkage(JsonApiLinkage.Mode.LINKS) List<Tag> tags;
+	private @Relation(Relation.Kind.MANY_TO_ONE) @Nullable User founder;
+}
@@ -0,0 +1,33 @@
+package io.github.baylorpaul.micronautjsonapi.entity;
+
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.micronaut.core.annotation.ReflectiveAccess;
+import io.micronaut.data.annotation.Id;
+import io.micronaut.data.annotation.MappedEntity;
+import io.micronaut.serde.annotation.Serdeable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A dummy entity used to test UUID IDs
+ */
+@MappedEntity
+@Data
+@Builder(toBuilder = true)
+@Serdeable.Deserializable
+@NoArgsConstructor
+@AllArgsConstructor
+@ReflectiveAccess
+public class Tag implements JsonApiResourceable {
+	@Override
+	public String toResourceType() {
+		return "tag";
+	}
+
+	private @Id UUID id;
+	private String label;
+}
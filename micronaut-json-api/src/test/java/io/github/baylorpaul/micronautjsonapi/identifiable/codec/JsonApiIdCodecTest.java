@@ -0,0 +1,67 @@
+package io.github.baylorpaul.micronautjsonapi.identifiable.codec;
+
+import io.github.baylorpaul.micronautjsonapi.entity.Membership;
+import io.github.baylorpaul.micronautjsonapi.entity.Tag;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+public class JsonApiIdCodecTest {
+
+	@Test
+	void testLongId() {
+		User user = User.builder().id(555L).build();
+		Assertions.assertEquals("555", user.toJsonApiId());
+
+		user.applyJsonApiId("777");
+		Assertions.assertEquals(777L, user.getId());
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> user.applyJsonApiId("abc"));
+		Assertions.assertSame(JsonApiIdCodecs.LONG, JsonApiIdCodecs.forEntity(User.class).codec());
+	}
+
+	@Test
+	void testUuidId() {
+		UUID uuid = UUID.randomUUID();
+		Tag tag = Tag.builder().id(uuid).build();
+		Assertions.assertEquals(uuid.toString(), tag.toJsonApiId());
+
+		Tag tag2 = new Tag();
+		tag2.applyJsonApiId(uuid.toString());
+		Assertions.assertEquals(uuid, tag2.getId());
+
+		tag2.applyJsonApiId(null);
+		Assertions.assertNull(tag2.getId());
+	}
+
+	@Test
+	void testCompositeId() {
+		Membership membership = Membership.builder().id(new Membership.MembershipId(5L, 12L)).build();
+		Assertions.assertEquals("5~12", membership.toJsonApiId());
+
+		Membership membership2 = new Membership();
+		membership2.applyJsonApiId("6~13");
+		Assertions.assertEquals(new Membership.MembershipId(6L, 13L), membership2.getId());
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> membership2.applyJsonApiId("6"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> membership2.applyJsonApiId("6~13~14"));
+	}
+
+	@Test
+	void testOpaqueId() {
+		OpaqueLongIdCodec codec = new OpaqueLongIdCodec(0x5DEECE66DL);
+		Set<String> encoded = new HashSet<>();
+		for (long id : new long[] {0L, 1L, 2L, 3L, 1000L, Long.MAX_VALUE, -1L}) {
+			String jsonApiId = codec.encodeLong(id);
+			Assertions.assertNotEquals(Long.toString(id), jsonApiId);
+			Assertions.assertEquals(id, codec.decodeLong(jsonApiId));
+			encoded.add(jsonApiId);
+		}
+		Assertions.assertEquals(7, encoded.size());
+		Assertions.assertTrue(codec.decodeNoThrow("not an id!").isEmpty());
+	}
+}
@@ -0,0 +1,130 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * A JUnit 5 extension that measures the bytes allocated per operation via {@code ThreadMXBean}, and fails when an
+ * operation exceeds its budget. An operation's baseline is the bytes measured via the report below, recorded in
+ * "allocation-budgets.properties", and its budget is the baseline plus the file's "margin.percent". An operation
+ * without a recorded baseline is skipped rather than checked against a guess. Each operation is warmed up first, so
+ * the JIT has compiled, and possibly scalar-replaced, the hot path. E.g.
+ * <pre>
+ * &#64;RegisterExtension
+ * static final AllocationBudgetExtension ALLOCATIONS = new AllocationBudgetExtension();
+ *
+ * &#64;Test
+ * void testToResource() {
+ *     ALLOCATIONS.assertWithinBudget("toResource", user::toResource);
+ * }
+ * </pre>
+ * Set the "allocation.budget.disabled" system property to skip the checks, such as when running with a profiler.
+ * Set the "allocation.budget.report" system property, such as via {@code ./gradlew test -PallocationReport}, to write
+ * the measured bytes to "build/allocation-budgets.measured.properties" instead of checking them, to re-baseline.
+ */
+public class AllocationBudgetExtension implements BeforeAllCallback {
+
+	private static final String BUDGETS_RESOURCE = "/allocation-budgets.properties";
+	private static final String MARGIN_PROPERTY = "margin.percent";
+	private static final Path REPORT_FILE = Path.of("build", "allocation-budgets.measured.properties");
+	/** The measured bytes per operation, by operation name, across the test classes of the run */
+	private static final Map<String, Long> MEASURED = new ConcurrentSkipListMap<>();
+	private static final int WARMUP_OPERATIONS = 5_000;
+	private static final int MEASURED_OPERATIONS = 1_000;
+
+	private final Properties budgets = new Properties();
+	private final boolean isReport = Boolean.getBoolean("allocation.budget.report");
+	private com.sun.management.ThreadMXBean threadMXBean;
+
+	/** Keep the results reachable, so the measured operations are not optimized away */
+	private volatile Object sink;
+
+	@Override
+	public void beforeAll(ExtensionContext context) {
+		Assumptions.assumeFalse(Boolean.getBoolean("allocation.budget.disabled"), "Allocation budgets are disabled");
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			threadMXBean = bean;
+		}
+		Assumptions.assumeTrue(threadMXBean != null, "Thread allocation measurement is not supported by this JVM");
+
+		try (InputStream in = AllocationBudgetExtension.class.getResourceAsStream(BUDGETS_RESOURCE)) {
+			Assertions.assertNotNull(in, "Missing " + BUDGETS_RESOURCE);
+			budgets.load(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Measure the bytes allocated per call of an operation, and fail if it exceeds the operation's budget
+	 * @param name the operation name, which is the key of its baseline in "allocation-budgets.properties"
+	 * @param operation the operation to measure
+	 * @return the bytes allocated per call
+	 */
+	public long assertWithinBudget(String name, Supplier<?> operation) {
+		final String baselineStr = budgets.getProperty(name);
+		Assumptions.assumeTrue(
+				isReport || baselineStr != null,
+				"No measured allocation baseline for [" + name + "] in " + BUDGETS_RESOURCE
+						+ " yet. Record one via -PallocationReport."
+		);
+
+		final long bytesPerOperation = measure(operation);
+		if (isReport) {
+			MEASURED.put(name, bytesPerOperation);
+			writeReport();
+			return bytesPerOperation;
+		}
+		final String marginStr = budgets.getProperty(MARGIN_PROPERTY);
+		Assertions.assertNotNull(marginStr, "No " + MARGIN_PROPERTY + " in " + BUDGETS_RESOURCE);
+		final long baseline = Long.parseLong(baselineStr.trim());
+		final long budget = baseline + baseline * Long.parseLong(marginStr.trim()) / 100;
+		Assertions.assertTrue(
+				bytesPerOperation <= budget,
+				"[" + name + "] allocated " + bytesPerOperation + " bytes per operation, exceeding the budget of "
+						+ budget + " bytes (a baseline of " + baseline + " plus " + marginStr.trim() + "%)."
+						+ " If the extra allocation is intended, re-baseline via -PallocationReport."
+		);
+		return bytesPerOperation;
+	}
+
+	private static void writeReport() {
+		final StringBuilder sb = new StringBuilder();
+		MEASURED.forEach((name, bytes) -> sb.append(name).append('=').append(bytes).append('\n'));
+		try {
+			Files.createDirectories(REPORT_FILE.getParent());
+			Files.writeString(REPORT_FILE, sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private long measure(Supplier<?> operation) {
+		for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+			sink = operation.get();
+		}
+		final long threadId = Thread.currentThread().threadId();
+		final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_OPERATIONS; i++) {
+			sink = operation.get();
+		}
+		final long after = threadMXBean.getThreadAllocatedBytes(threadId);
+		sink = null;
+		return (after - before) / MEASURED_OPERATIONS;
+	}
+}
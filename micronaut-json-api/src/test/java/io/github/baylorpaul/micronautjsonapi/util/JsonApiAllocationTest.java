@@ -0,0 +1,102 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.Comment;
+import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.entity.TokenReferencingEntity;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTypedObject;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+
+/**
+ * Allocation regression checks for the hot mapping paths. The budgets are in "allocation-budgets.properties".
+ */
+@MicronautTest
+public class JsonApiAllocationTest {
+
+	@RegisterExtension
+	static final AllocationBudgetExtension ALLOCATIONS = new AllocationBudgetExtension();
+
+	private static final User USER = User.builder()
+			.id(555L)
+			.email("joe@example.com")
+			.name("Joe")
+			.enabled(true)
+			.created(Instant.parse("2025-01-01T00:00:00Z"))
+			.updated(Instant.parse("2025-01-02T00:00:00Z"))
+			.build();
+
+	@Inject
+	private JsonMapper jsonMapper;
+
+	@Test
+	void testToResource() {
+		ALLOCATIONS.assertWithinBudget("toResource", USER::toResource);
+	}
+
+	@Test
+	void testToTopLevelResource() {
+		ALLOCATIONS.assertWithinBudget("toTopLevelResource", USER::toTopLevelResource);
+	}
+
+	@Test
+	void testFindIncluded() {
+		GrantingToken token = GrantingToken.builder().id(444L).user(USER).build();
+		JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				"familyGrantingToken.user",
+				List.of(
+						new RelationshipRetriever("familyGrantingToken", ids -> List.of(token)),
+						new RelationshipRetriever("familyGrantingToken.user", ids -> List.of(USER))
+				)
+		);
+		List<JsonApiResource> data = List.of(
+				TokenReferencingEntity.builder().id("a").familyGrantingToken(token).build().toResource()
+		);
+		Assertions.assertEquals(2, includeProcessor.findIncluded(data).size());
+
+		ALLOCATIONS.assertWithinBudget("findIncluded", () -> includeProcessor.findIncluded(data));
+	}
+
+	@Test
+	void testReadJsonApiObject() {
+		byte[] json = ("{\"data\":{\"type\":\"user\",\"id\":\"555\","
+				+ "\"attributes\":{\"email\":\"joe@example.com\",\"name\":\"Joe\",\"enabled\":true}}}")
+				.getBytes(StandardCharsets.UTF_8);
+		ALLOCATIONS.assertWithinBudget("readJsonApiObject", () -> read(json, Argument.of(JsonApiObject.class)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testReadJsonApiTypedObject() {
+		byte[] json = ("{\"data\":{\"type\":\"comment\",\"id\":\"12\",\"attributes\":{\"body\":\"Hello\"},"
+				+ "\"relationships\":{\"author\":{\"data\":{\"type\":\"user\",\"id\":\"7\"}}}}}")
+				.getBytes(StandardCharsets.UTF_8);
+		Argument<JsonApiTypedObject<Comment>> type = Argument.of(
+				(Class<JsonApiTypedObject<Comment>>) (Class<?>) JsonApiTypedObject.class, Comment.class
+		);
+		ALLOCATIONS.assertWithinBudget("readJsonApiTypedObject", () -> read(json, type));
+	}
+
+	private <T> T read(byte[] json, Argument<T> type) {
+		try {
+			return jsonMapper.readValue(json, type);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
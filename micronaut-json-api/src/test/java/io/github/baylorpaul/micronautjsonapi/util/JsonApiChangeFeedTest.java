@@ -0,0 +1,197 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelResource;
+import io.micronaut.http.sse.Event;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class JsonApiChangeFeedTest {
+
+	@Test
+	public void testTypesAndFieldsets() {
+		try (JsonApiChangeFeed feed = new JsonApiChangeFeed(Duration.ZERO)) {
+			final Map<String, Set<String>> fieldsets = JsonApiChangeFeed.parseFieldsets(Map.of(
+					"fields[user]", List.of("email"),
+					"page[size]", List.of("10")
+			));
+			Assertions.assertEquals(Map.of("user", Set.of("email")), fieldsets);
+
+			final TestSubscriber<JsonApiTopLevelResource> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+			feed.subscribe(JsonApiChangeFeed.parseTypes("user, "), fieldsets).subscribe(subscriber);
+			Assertions.assertEquals(1, feed.getSubscriberCount());
+
+			feed.publish(User.builder().id(1L).email("a@example.com").name("Ann").build());
+			feed.publish(GrantingToken.builder().id(2L).comment("filtered out").build());
+			feed.publishDeleted("user", "3");
+
+			Assertions.assertEquals(2, subscriber.items.size());
+			final JsonApiTopLevelResource updated = subscriber.items.poll();
+			Assertions.assertEquals("1", updated.getData().getId());
+			Assertions.assertEquals(Map.of("email", "a@example.com"), updated.getData().getAttributes());
+			Assertions.assertNull(updated.getMeta());
+
+			final JsonApiTopLevelResource deleted = subscriber.items.poll();
+			Assertions.assertEquals("user", deleted.getData().getType());
+			Assertions.assertEquals("3", deleted.getData().getId());
+			Assertions.assertNull(deleted.getData().getAttributes());
+			Assertions.assertEquals(Map.of("deleted", true), deleted.getMeta());
+
+			subscriber.subscription.cancel();
+			Assertions.assertEquals(0, feed.getSubscriberCount());
+		}
+	}
+
+	@Test
+	public void testCoalescing() throws InterruptedException {
+		try (JsonApiChangeFeed feed = new JsonApiChangeFeed(Duration.ofSeconds(1))) {
+			final TestSubscriber<Event<JsonApiTopLevelResource>> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+			feed.subscribeEvents(null, null).subscribe(subscriber);
+
+			for (int i = 0; i < 50; i++) {
+				feed.publish(User.builder().id(1L).name("Ann " + i).build());
+				feed.publish(GrantingToken.builder().id(2L).comment("Comment " + i).build());
+			}
+			awaitSize(subscriber, 2);
+			Thread.sleep(300L);
+
+			// One event per resource, in the order the resources first changed, with the latest state
+			Assertions.assertEquals(
+					List.of("user:Ann 49", "grantingToken:Comment 49"),
+					subscriber.items.stream().map(e -> e.getName() + ":" + (e.getName().equals("user")
+							? e.getData().getData().getAttributes().get("name")
+							: e.getData().getData().getAttributes().get("comment"))).toList()
+			);
+		}
+	}
+
+	@Test
+	public void testBackpressure() {
+		try (JsonApiChangeFeed feed = new JsonApiChangeFeed(Duration.ZERO)) {
+			final TestSubscriber<JsonApiTopLevelResource> subscriber = new TestSubscriber<>(1L);
+			final Publisher<JsonApiTopLevelResource> publisher = feed.subscribe(null, null);
+			publisher.subscribe(subscriber);
+
+			for (int i = 0; i < 1_000; i++) {
+				feed.publish(User.builder().id(i % 3).name("User " + i).build());
+			}
+			Assertions.assertEquals(1, subscriber.items.size());
+
+			// While the subscriber has no demand, only the latest state of each resource is held
+			subscriber.subscription.request(10L);
+			Assertions.assertEquals(
+					List.of("User 0", "User 997", "User 998", "User 999"),
+					subscriber.items.stream().map(d -> d.getData().getAttributes().get("name")).toList()
+			);
+
+			feed.close();
+			Assertions.assertTrue(subscriber.completed);
+			final TestSubscriber<JsonApiTopLevelResource> late = new TestSubscriber<>(1L);
+			publisher.subscribe(late);
+			Assertions.assertTrue(late.completed);
+		}
+	}
+
+	@Test
+	public void testCloseWhileDraining() throws InterruptedException {
+		final CountDownLatch inOnNext = new CountDownLatch(1);
+		final CountDownLatch releaseOnNext = new CountDownLatch(1);
+		final AtomicBoolean isInOnNext = new AtomicBoolean();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch completed = new CountDownLatch(1);
+		final JsonApiChangeFeed feed = new JsonApiChangeFeed(Duration.ZERO);
+		feed.subscribe(null, null).subscribe(new Subscriber<>() {
+			@Override
+			public void onSubscribe(Subscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(JsonApiTopLevelResource item) {
+				isInOnNext.set(true);
+				inOnNext.countDown();
+				try {
+					releaseOnNext.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				isInOnNext.set(false);
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				Assertions.fail(t);
+			}
+
+			@Override
+			public void onComplete() {
+				overlapped.compareAndSet(false, isInOnNext.get());
+				completed.countDown();
+			}
+		});
+
+		final Thread publisher = Thread.ofVirtual().start(() -> feed.publish(User.builder().id(1L).build()));
+		Assertions.assertTrue(inOnNext.await(5, TimeUnit.SECONDS));
+		// The drain is in progress on the publishing thread, so the completion waits for it
+		feed.close();
+		Assertions.assertEquals(1L, completed.getCount());
+
+		releaseOnNext.countDown();
+		Assertions.assertTrue(completed.await(5, TimeUnit.SECONDS));
+		publisher.join();
+		Assertions.assertFalse(overlapped.get());
+	}
+
+	private static void awaitSize(TestSubscriber<?> subscriber, int size) throws InterruptedException {
+		final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (subscriber.items.size() < size && System.nanoTime() < deadline) {
+			Thread.sleep(10L);
+		}
+	}
+
+	private static class TestSubscriber<T> implements Subscriber<T> {
+		private final long initialRequest;
+		private final Queue<T> items = new ConcurrentLinkedQueue<>();
+		private Subscription subscription;
+		private volatile boolean completed;
+
+		TestSubscriber(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(initialRequest);
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			Assertions.fail(t);
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.entity.TokenReferencingEntity;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelObject;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.context.ServerRequestContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
+
+public class JsonApiDiagnosticsTest {
+
+	private JsonApiDiagnosticsConfiguration config;
+	private JsonApiDiagnosticsFilter filter;
+
+	@BeforeEach
+	public void openFilter() {
+		config = new JsonApiDiagnosticsConfiguration();
+		config.setAttachMeta(true);
+		filter = new JsonApiDiagnosticsFilter(config);
+	}
+
+	@Test
+	public void testPerResourceRetrieval() {
+		final List<TokenReferencingEntity> entities = LongStream.range(0, 5)
+				.mapToObj(i -> TokenReferencingEntity.builder()
+						.id("tre-" + i)
+						.familyGrantingToken(GrantingToken.builder().id(i).user(User.builder().id(9L).build()).build())
+						.build())
+				.toList();
+		final JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor("familyGrantingToken", List.of(
+				new RelationshipRetriever("familyGrantingToken", ids -> ids.stream()
+						.map(id -> GrantingToken.builder().id(Long.parseLong(id)).build())
+						.toList())
+		));
+
+		final JsonApiResourceMapper mapper = JsonApiResourceMapper.SEQUENTIAL;
+		final HttpRequest<?> request = HttpRequest.GET("/tokenReferences");
+		filter.startDiagnostics(request);
+		final JsonApiArray data = new JsonApiArray();
+		final JsonApiArray included = new JsonApiArray();
+		ServerRequestContext.with(request, () -> {
+			for (TokenReferencingEntity entity : entities) {
+				// An N+1 pattern: the includes are found once per resource, rather than once for all the resources
+				final JsonApiResource resource = mapper.toResources(List.of(entity)).getFirst();
+				data.add(resource);
+				included.addAll(includeProcessor.findIncluded(List.of(resource)));
+			}
+		});
+
+		Assertions.assertNull(JsonApiDiagnostics.current(), "Only the request's context carries diagnostics");
+		final JsonApiDiagnostics requestDiagnostics = request
+				.getAttribute(JsonApiDiagnostics.REQUEST_ATTRIBUTE, JsonApiDiagnostics.class)
+				.orElseThrow();
+		Assertions.assertEquals(10L, requestDiagnostics.getToResourceCount());
+		Assertions.assertEquals(5L, requestDiagnostics.getRetrievalCount("familyGrantingToken"));
+		// The relationship of each resource, and the user relationship of each retrieved token
+		Assertions.assertEquals(10L, requestDiagnostics.getRelationReadCount());
+		Assertions.assertEquals(1, requestDiagnostics.findWarnings(config).size());
+
+		final JsonApiTopLevelObject<JsonApiArray> body = JsonApiTopLevelObject.<JsonApiArray>topLevelBuilder()
+				.data(data)
+				.included(included)
+				.build();
+		final MutableHttpResponse<JsonApiTopLevelObject<JsonApiArray>> response = HttpResponse.ok(body);
+		filter.reportDiagnostics(request, response);
+
+		@SuppressWarnings("unchecked")
+		final Map<String, Object> meta = (Map<String, Object>) body.getMeta().get("diagnostics");
+		Assertions.assertEquals(
+				Map.of("calls", 5L, "ids", 5L, "maxIds", 1),
+				((Map<?, ?>) meta.get("retrievals")).get("familyGrantingToken")
+		);
+		Assertions.assertEquals(Map.of("grantingToken", 5L, "tokenReferencingEntity", 5L), meta.get("toResource"));
+		Assertions.assertEquals(1, ((List<?>) meta.get("warnings")).size());
+	}
+
+	@Test
+	public void testRetrievalsByFullPath() {
+		final TokenReferencingEntity entity = TokenReferencingEntity.builder()
+				.id("tre-1")
+				.familyGrantingToken(GrantingToken.builder().id(4L).build())
+				.build();
+		final JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				"familyGrantingToken.user", List.of(
+						new RelationshipRetriever("familyGrantingToken", ids -> List.of(
+								GrantingToken.builder().id(4L).user(User.builder().id(9L).build()).build()
+						)),
+						new RelationshipRetriever("familyGrantingToken.user", ids -> List.of(
+								User.builder().id(9L).build()
+						))
+				)
+		);
+
+		final HttpRequest<?> request = HttpRequest.GET("/tokenReferences");
+		filter.startDiagnostics(request);
+		ServerRequestContext.with(request, () -> {
+			includeProcessor.findIncluded(List.of(entity.toResource()));
+			includeProcessor.findIncludedFromEntities(List.of(entity), Set.of());
+		});
+
+		// The nested retrievals are counted under the path from the primary resources, not relative to the parent
+		final JsonApiDiagnostics requestDiagnostics = request
+				.getAttribute(JsonApiDiagnostics.REQUEST_ATTRIBUTE, JsonApiDiagnostics.class)
+				.orElseThrow();
+		Assertions.assertEquals(2L, requestDiagnostics.getRetrievalCount("familyGrantingToken"));
+		Assertions.assertEquals(2L, requestDiagnostics.getRetrievalCount("familyGrantingToken.user"));
+		Assertions.assertEquals(0L, requestDiagnostics.getRetrievalCount("user"));
+
+		// Once the filter is closed, new requests are not counted, while the filter of another context still counts
+		final JsonApiDiagnosticsFilter otherFilter = new JsonApiDiagnosticsFilter(config);
+		filter.close();
+		final HttpRequest<?> later = HttpRequest.GET("/tokenReferences");
+		filter.startDiagnostics(later);
+		ServerRequestContext.with(later, () -> Assertions.assertNull(JsonApiDiagnostics.current()));
+		otherFilter.startDiagnostics(later);
+		ServerRequestContext.with(later, () -> Assertions.assertNotNull(JsonApiDiagnostics.current()));
+	}
+}
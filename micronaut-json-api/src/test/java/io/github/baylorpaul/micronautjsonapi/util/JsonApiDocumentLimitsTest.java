@@ -0,0 +1,64 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiDocumentException;
+import io.micronaut.http.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class JsonApiDocumentLimitsTest {
+
+	private static final JsonFactory FACTORY = new JsonFactory();
+	private static final JsonApiDocumentLimits LIMITS = new JsonApiDocumentLimits(3, 2, 2, 2);
+
+	@Test
+	void testWithinLimits() throws IOException {
+		check("{\"data\":[{\"type\":\"user\",\"id\":\"1\"},{\"type\":\"user\",\"id\":\"2\"}]}", LIMITS);
+		check("{\"data\":{\"attributes\":{\"a\":{\"b\":{\"c\":[]}}}}}", JsonApiDocumentLimits.NONE);
+	}
+
+	@Test
+	void testMaxDepth() {
+		assertRejected(
+				"{\"data\":{\"attributes\":{\"a\":{\"b\":1}}}}", HttpStatus.BAD_REQUEST, "/data/attributes/a"
+		);
+	}
+
+	@Test
+	void testMaxArrayLength() {
+		assertRejected("{\"data\":[{},{},{}]}", HttpStatus.REQUEST_ENTITY_TOO_LARGE, "/data");
+	}
+
+	@Test
+	void testMaxMembers() {
+		assertRejected(
+				"{\"data\":{\"attributes\":{\"a\":1,\"b\":2,\"c~/\":3}}}", HttpStatus.REQUEST_ENTITY_TOO_LARGE,
+				"/data/attributes"
+		);
+	}
+
+	@Test
+	void testMaxResources() {
+		String json = "{\"data\":{\"type\":\"user\",\"relationships\":{\"tags\":{\"data\":["
+				+ "{\"type\":\"tag\",\"id\":\"a\"},{\"type\":\"tag\",\"id\":\"b\"}]}}}}";
+		JsonApiDocumentLimits limits = new JsonApiDocumentLimits(10, 10, 10, 2);
+		JsonApiDocumentException e = Assertions.assertThrows(JsonApiDocumentException.class, () -> check(json, limits));
+		Assertions.assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, e.getStatus());
+		Assertions.assertEquals("/data/relationships/tags/data/1", e.getErrors().getFirst().getSource().getPointer());
+	}
+
+	private static void assertRejected(String json, HttpStatus status, String pointer) {
+		JsonApiDocumentException e = Assertions.assertThrows(JsonApiDocumentException.class, () -> check(json, LIMITS));
+		Assertions.assertEquals(status, e.getStatus());
+		Assertions.assertEquals(pointer, e.getErrors().getFirst().getSource().getPointer());
+	}
+
+	private static void check(String json, JsonApiDocumentLimits limits) throws IOException {
+		try (JsonParser parser = FACTORY.createParser(json)) {
+			limits.check(parser);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.Comment;
+import io.github.baylorpaul.micronautjsonapi.entity.Profile;
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class JsonApiFilterTest {
+
+	@Test
+	void testParseFilters() {
+		Map<String, List<String>> params = new LinkedHashMap<>();
+		params.put("filter[name]", List.of("Joe"));
+		params.put("filter[enabled][ne]", List.of("false"));
+		params.put("filter[id]", List.of("1,2,3"));
+		params.put("include", List.of("author"));
+
+		JsonApiFilter<User> filter = JsonApiFilter.parse(params, User.class);
+		List<JsonApiFilter.Condition> conditions = filter.getConditions();
+		Assertions.assertEquals(3, conditions.size());
+
+		Assertions.assertEquals(new JsonApiFilter.Condition("name", "name", JsonApiFilter.Operator.EQ, List.of("Joe")), conditions.get(0));
+		Assertions.assertEquals(new JsonApiFilter.Condition("enabled", "enabled", JsonApiFilter.Operator.NE, List.of(false)), conditions.get(1));
+		Assertions.assertEquals(new JsonApiFilter.Condition("id", "id", JsonApiFilter.Operator.EQ, List.of(1L, 2L, 3L)), conditions.get(2));
+		Assertions.assertEquals(List.of(1L, 2L, 3L), filter.getIds());
+	}
+
+	@Test
+	void testForeignKeyFilter() {
+		JsonApiFilter<Comment> filter = JsonApiFilter.parse(Map.of("filter[author]", List.of("9")), Comment.class);
+		Assertions.assertEquals(
+				List.of(new JsonApiFilter.Condition("author", "authorId", JsonApiFilter.Operator.EQ, List.of(9L))),
+				filter.getConditions()
+		);
+	}
+
+	@Test
+	void testUnsupportedFilters() {
+		// not an attribute
+		assertInvalidFilter(Map.of("filter[password]", List.of("secret")), null);
+		assertInvalidFilter(Map.of("filter[blamo]", List.of("1")), null);
+		// not in the allowlist
+		assertInvalidFilter(Map.of("filter[name]", List.of("Joe")), Set.of("email"));
+		// unsupported operator
+		assertInvalidFilter(Map.of("filter[name][regex]", List.of("J.*")), null);
+		// 'prefix' on a non-text field
+		assertInvalidFilter(Map.of("filter[enabled][prefix]", List.of("t")), null);
+		// wrong ID format
+		assertInvalidFilter(Map.of("filter[id]", List.of("1,abc")), null);
+	}
+
+	@Test
+	void testCustomAttributesFilter() {
+		// A column hidden by toJsonApiAttributes() may not be probed via prefix filters
+		final Map<String, List<String>> hidden = Map.of("filter[internalNotes][prefix]", List.of("a"));
+		Assertions.assertThrows(JsonApiParameterException.class, () -> JsonApiFilter.parse(hidden, Profile.class));
+		Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> JsonApiFilter.parse(Map.of("filter[displayName]", List.of("Joe")), Profile.class)
+		);
+		Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> JsonApiFilter.parse(hidden, Profile.class, Set.of("displayName"))
+		);
+
+		// An explicit allowlist permits the exposed attributes
+		JsonApiFilter<Profile> filter = JsonApiFilter.parse(
+				Map.of("filter[displayName]", List.of("Joe"), "filter[id]", List.of("4")),
+				Profile.class,
+				Set.of("displayName", "id")
+		);
+		Assertions.assertEquals(2, filter.getConditions().size());
+		Assertions.assertEquals(List.of(4L), filter.getIds());
+	}
+
+	private static void assertInvalidFilter(Map<String, List<String>> params, Set<String> allowedFields) {
+		JsonApiParameterException e = Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> JsonApiFilter.parse(params, User.class, allowedFields)
+		);
+		Assertions.assertEquals(
+				params.keySet().iterator().next(),
+				e.getErrors().getFirst().getSource().getParameter()
+		);
+	}
+}
@@ -1,19 +1,42 @@
 package io.github.baylorpaul.micronautjsonapi.util;
 
+import io.github.baylorpaul.micronautjsonapi.entity.Article;
 import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
+import io.github.baylorpaul.micronautjsonapi.entity.PhysicalAddress;
 import io.github.baylorpaul.micronautjsonapi.entity.TokenReferencingEntity;
 import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiError;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiObject;
 import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResourceIdentifier;
 import io.github.baylorpaul.micronautjsonapi.model.JsonApiTopLevelResource;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.exceptions.HttpStatusException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import static io.github.baylorpaul.micronautjsonapi.util.JsonApiIncludeProcessor.RelationshipRetriever;
 
@@ -34,6 +57,23 @@ public class JsonApiIncludeProcessorTest {
 		}
 	}
 
+	@Test
+	void testUnsupportedPathError() {
+		List<RelationshipRetriever> supportedIncludePaths = buildEmptyRelationshipRetrievers("author");
+		JsonApiParameterException e = Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> new JsonApiIncludeProcessor("blamo", supportedIncludePaths)
+		);
+		Assertions.assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+		Assertions.assertEquals(0, e.getStackTrace().length);
+		Assertions.assertEquals(1, e.getErrors().size());
+
+		JsonApiError error = e.getErrors().getFirst();
+		Assertions.assertEquals("400", error.getStatus());
+		Assertions.assertNotNull(error.getSource());
+		Assertions.assertEquals("include", error.getSource().getParameter());
+	}
+
 	@Test
 	void testSupportedPaths() {
 		List<RelationshipRetriever> supportedIncludePaths = buildEmptyRelationshipRetrievers(
@@ -137,6 +177,232 @@ public class JsonApiIncludeProcessorTest {
 		Assertions.assertEquals(Long.toString(fakeUser.getId()), res2.getId());
 	}
 
+	@Test
+	void testJoinedIncludesProcessing() {
+		List<RelationshipRetriever> supportedIncludePaths = Arrays.asList(
+				new RelationshipRetriever("familyGrantingToken", ids -> Assertions.fail("Expected a joined path")),
+				new RelationshipRetriever("familyGrantingToken.user", ids -> Assertions.fail("Expected a joined path"))
+		);
+		JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				"familyGrantingToken.user", supportedIncludePaths
+		);
+
+		JsonApiJoinPlan<TokenReferencingEntity> joinPlan = JsonApiJoinPlan.plan(
+				includeProcessor, TokenReferencingEntity.class
+		);
+		Assertions.assertFalse(joinPlan.isEmpty());
+		Assertions.assertEquals(
+				new LinkedHashSet<>(List.of("familyGrantingToken", "familyGrantingToken.user")),
+				joinPlan.getJoinedPaths()
+		);
+
+		User user = User.builder().id(555L).build();
+		GrantingToken sharedToken = GrantingToken.builder().id(444L).user(user).build();
+		List<TokenReferencingEntity> entities = List.of(
+				TokenReferencingEntity.builder().id("a").familyGrantingToken(sharedToken).build(),
+				TokenReferencingEntity.builder().id("b").familyGrantingToken(sharedToken).build(),
+				TokenReferencingEntity.builder().id("c").build()
+		);
+
+		JsonApiArray included = includeProcessor.findIncludedFromEntities(entities, joinPlan.getJoinedPaths());
+		Assertions.assertNotNull(included);
+		Assertions.assertEquals(2, included.size());
+		Assertions.assertEquals("grantingToken", included.get(0).getType());
+		Assertions.assertEquals("444", included.get(0).getId());
+		Assertions.assertEquals("user", included.get(1).getType());
+		Assertions.assertEquals("555", included.get(1).getId());
+	}
+
+	@Test
+	void testEntityIncludesOnlyReadTheIncludedRelationship() {
+		List<Collection<String>> calls = new ArrayList<>();
+		JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor("author", List.of(
+				new RelationshipRetriever("author", ids -> {
+					calls.add(List.copyOf(ids));
+					return ids.stream().map(id -> User.builder().id(Long.parseLong(id)).build()).toList();
+				})
+		));
+
+		// A lazy collection that would be loaded if touched
+		List<PhysicalAddress> lazyAddresses = new AbstractList<>() {
+			@Override
+			public PhysicalAddress get(int index) {
+				return Assertions.fail("Expected the unrelated 'addresses' relationship to be untouched");
+			}
+
+			@Override
+			public int size() {
+				return Assertions.fail("Expected the unrelated 'addresses' relationship to be untouched");
+			}
+		};
+		List<Article> entities = List.of(
+				Article.builder().id("a").author(User.builder().id(7L).build()).addresses(lazyAddresses).build(),
+				Article.builder().id("b").author(User.builder().id(8L).build()).addresses(lazyAddresses).build()
+		);
+
+		JsonApiArray included = includeProcessor.findIncludedFromEntities(entities, Collections.emptySet());
+		Assertions.assertNotNull(included);
+		Assertions.assertEquals(List.of("7", "8"), included.stream().map(JsonApiResource::getId).toList());
+		Assertions.assertEquals(List.of(List.of("7", "8")), calls);
+	}
+
+	@Test
+	void testTypePartitionedIncludesProcessing() {
+		List<JsonApiResource> resources = List.of(
+				buildOwnedResource("1", "user", "555"),
+				buildOwnedResource("2", "grantingToken", "444"),
+				buildOwnedResource("3", "user", "556"),
+				buildOwnedResource("4", "user", "555"),
+				buildOwnedResource("5", "vehicle", "9")
+		);
+		Map<String, List<Collection<String>>> calls = new ConcurrentHashMap<>();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		Map<String, Function<Collection<String>, Collection<? extends JsonApiResourceable>>> byType = Map.of(
+				"user", ids -> {
+					threads.add(Thread.currentThread());
+					calls.computeIfAbsent("user", k -> new ArrayList<>()).add(List.copyOf(ids));
+					return ids.stream().map(id -> User.builder().id(Long.parseLong(id)).build()).toList();
+				},
+				"grantingToken", ids -> {
+					threads.add(Thread.currentThread());
+					calls.computeIfAbsent("grantingToken", k -> new ArrayList<>()).add(List.copyOf(ids));
+					return ids.stream().map(id -> GrantingToken.builder().id(Long.parseLong(id)).build()).toList();
+				}
+		);
+
+		for (RelationshipRetriever retriever : List.of(
+				RelationshipRetriever.byType("owner", byType),
+				JsonApiRetrievers.byType("owner", byType, Thread.ofVirtual()::start)
+		)) {
+			calls.clear();
+			threads.clear();
+			// A parallel mapper does not make the retrieval concurrent, which is only opted into via the retriever
+			JsonApiArray included = new JsonApiIncludeProcessor(
+					"owner", List.of(retriever), JsonApiResourceMapper.virtualThreads(1)
+			).findIncluded(resources);
+			if (retriever.byTypeExecutor() == null) {
+				Assertions.assertEquals(Set.of(Thread.currentThread()), threads);
+			} else {
+				Assertions.assertFalse(threads.contains(Thread.currentThread()));
+			}
+
+			// One retrieval per type, without duplicate IDs, and none for types without a retriever
+			Assertions.assertEquals(List.of(List.of("555", "556")), calls.get("user"));
+			Assertions.assertEquals(List.of(List.of("444")), calls.get("grantingToken"));
+			Assertions.assertEquals(2, calls.size());
+
+			// The types are included in the order they are first related
+			Assertions.assertEquals(
+					List.of("user:555", "user:556", "grantingToken:444"),
+					included.stream().map(r -> r.getType() + ":" + r.getId()).toList()
+			);
+		}
+
+		Assertions.assertThrows(
+				IllegalArgumentException.class, () -> new RelationshipRetriever("owner", null, null, null)
+		);
+		Assertions.assertThrows(
+				IllegalArgumentException.class,
+				() -> new RelationshipRetriever("owner", ids -> List.of(), null, null, Thread.ofVirtual()::start)
+		);
+	}
+
+	@Test
+	void testAsyncIncludesProcessing() {
+		User fakeUser = User.builder().id(555L).build();
+		GrantingToken fakeToken = GrantingToken.builder().id(444L).user(fakeUser).build();
+		List<RelationshipRetriever> supportedIncludePaths = List.of(
+				RelationshipRetriever.async(
+						"familyGrantingToken",
+						ids -> CompletableFuture.supplyAsync(() -> List.of(fakeToken), Thread.ofVirtual()::start)
+				),
+				RelationshipRetriever.async(
+						"familyGrantingToken.user",
+						ids -> CompletableFuture.supplyAsync(() -> List.of(fakeUser), Thread.ofVirtual()::start)
+				),
+				new RelationshipRetriever("user", ids -> List.of(fakeUser))
+		);
+		JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				"familyGrantingToken.user,user", supportedIncludePaths
+		);
+		List<JsonApiResource> resources = List.of(buildTokenReferencingResource());
+
+		JsonApiArray included = includeProcessor.findIncludedAsync(resources).toCompletableFuture().join();
+		Assertions.assertEquals(
+				List.of("grantingToken:444", "user:555"),
+				included.stream().map(r -> r.getType() + ":" + r.getId()).toList()
+		);
+		// The synchronous retrieval waits for the asynchronous retrievers, with the same result
+		Assertions.assertEquals(included, includeProcessor.findIncluded(resources));
+
+		// A failed retrieval fails the stage, and is rethrown as-is by the synchronous retrieval
+		JsonApiIncludeProcessor failingProcessor = new JsonApiIncludeProcessor("familyGrantingToken", List.of(
+				RelationshipRetriever.async(
+						"familyGrantingToken",
+						ids -> CompletableFuture.failedFuture(new IllegalStateException("unavailable"))
+				)
+		));
+		CompletableFuture<JsonApiArray> failed = failingProcessor.findIncludedAsync(resources).toCompletableFuture();
+		Assertions.assertTrue(failed.isCompletedExceptionally());
+		Assertions.assertThrows(IllegalStateException.class, () -> failingProcessor.findIncluded(resources));
+	}
+
+	@Test
+	void testAsyncIncludesWithSyncChild() {
+		User fakeUser = User.builder().id(555L).build();
+		GrantingToken fakeToken = GrantingToken.builder().id(444L).user(fakeUser).build();
+		List<String> childThreads = new CopyOnWriteArrayList<>();
+		List<RelationshipRetriever> supportedIncludePaths = List.of(
+				RelationshipRetriever.async(
+						"familyGrantingToken",
+						ids -> CompletableFuture.supplyAsync(() -> List.of(fakeToken), Thread.ofVirtual()::start)
+				),
+				new RelationshipRetriever("familyGrantingToken.user", ids -> {
+					childThreads.add(Thread.currentThread().getName());
+					return List.of(fakeUser);
+				})
+		);
+		JsonApiIncludeProcessor includeProcessor = new JsonApiIncludeProcessor(
+				"familyGrantingToken.user", supportedIncludePaths
+		);
+		List<JsonApiResource> resources = List.of(buildTokenReferencingResource());
+
+		// Without an executor, the synchronous child would block the thread that completes its parent
+		Assertions.assertThrows(IllegalStateException.class, () -> includeProcessor.findIncludedAsync(resources));
+		Assertions.assertTrue(childThreads.isEmpty());
+
+		try (ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "include-worker"))) {
+			JsonApiArray included = includeProcessor.findIncludedAsync(resources, executor)
+					.toCompletableFuture()
+					.join();
+			Assertions.assertEquals(
+					List.of("grantingToken:444", "user:555"),
+					included.stream().map(r -> r.getType() + ":" + r.getId()).toList()
+			);
+		}
+		Assertions.assertEquals(List.of("include-worker"), childThreads);
+	}
+
+	private static JsonApiResource buildTokenReferencingResource() {
+		return TokenReferencingEntity.builder()
+				.id("fake-id")
+				.familyGrantingToken(GrantingToken.builder().id(444L).build())
+				.build()
+				.toResource();
+	}
+
+	private static JsonApiResource buildOwnedResource(String id, String ownerType, String ownerId) {
+		SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> relationships = new LinkedHashMap<>();
+		relationships.put("owner", JsonApiObject.<JsonApiResourceIdentifier>builder()
+				.data(new JsonApiResourceIdentifier(ownerType, ownerId))
+				.build());
+		return JsonApiResource.builder()
+				.type("comment")
+				.id(id)
+				.relationships(relationships)
+				.build();
+	}
+
 	private static List<RelationshipRetriever> buildEmptyRelationshipRetrievers(String... includePaths) {
 		List<RelationshipRetriever> list = new ArrayList<>(includePaths.length);
 		for (String includePath : includePaths) {
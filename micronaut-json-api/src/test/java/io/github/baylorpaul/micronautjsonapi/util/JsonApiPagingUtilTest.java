@@ -0,0 +1,114 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiParameterException;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiPage;
+import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.data.model.Page;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.Sort;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class JsonApiPagingUtilTest {
+
+	private static final Set<String> SORTABLE = Set.of("created", "name");
+
+	@Test
+	void testDefaults() {
+		Pageable pageable = JsonApiPagingUtil.toPageable(Map.of(), SORTABLE, 20, 100);
+		Assertions.assertEquals(0, pageable.getNumber());
+		Assertions.assertEquals(20, pageable.getSize());
+		Assertions.assertFalse(pageable.getSort().isSorted());
+	}
+
+	@Test
+	void testSortAndPage() {
+		Pageable pageable = JsonApiPagingUtil.toPageable(
+				Map.of(
+						"sort", List.of("-created,name"),
+						"page[number]", List.of("2"),
+						"page[size]", List.of("25")
+				),
+				SORTABLE, 20, 100
+		);
+		Assertions.assertEquals(2, pageable.getNumber());
+		Assertions.assertEquals(25, pageable.getSize());
+		Assertions.assertEquals(
+				List.of(Sort.Order.desc("created"), Sort.Order.asc("name")),
+				pageable.getSort().getOrderBy()
+		);
+	}
+
+	@Test
+	void testMaxSize() {
+		Pageable pageable = JsonApiPagingUtil.toPageable(Map.of("page[size]", List.of("100000")), SORTABLE, 20, 100);
+		Assertions.assertEquals(100, pageable.getSize());
+	}
+
+	@Test
+	void testInvalidParameters() {
+		assertInvalidParameter("sort", Map.of("sort", List.of("password")));
+		assertInvalidParameter("page[number]", Map.of("page[number]", List.of("-1")));
+		assertInvalidParameter("page[size]", Map.of("page[size]", List.of("0")));
+		assertInvalidParameter("page[size]", Map.of("page[size]", List.of("ten")));
+	}
+
+	private static void assertInvalidParameter(String expectedParameter, Map<String, List<String>> params) {
+		JsonApiParameterException e = Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> JsonApiPagingUtil.toPageable(params, SORTABLE, 20, 100)
+		);
+		Assertions.assertEquals(expectedParameter, e.getErrors().getFirst().getSource().getParameter());
+	}
+
+	@Test
+	void testReadSince() {
+		Assertions.assertTrue(JsonApiPagingUtil.readSince(Map.of(), Instant.class).isEmpty());
+		Assertions.assertEquals(
+				Instant.parse("2025-01-02T08:30:00Z"),
+				JsonApiPagingUtil.readSince(Map.of("page[since]", List.of("2025-01-02T08:30:00Z")), Instant.class)
+						.orElse(null)
+		);
+		Assertions.assertEquals(
+				42L,
+				JsonApiPagingUtil.readSince(Map.of("page[since]", List.of("42")), Long.class).orElse(null)
+		);
+		Assertions.assertThrows(
+				JsonApiParameterException.class,
+				() -> JsonApiPagingUtil.readSince(Map.of("page[since]", List.of("yesterday")), Long.class)
+		);
+	}
+
+	@Test
+	void testPageLinkTemplate() {
+		JsonApiLinkTemplate template = JsonApiPagingUtil.toPageLinkTemplate(
+				"/articles", Map.of("filter[title]", List.of("a b"), "page[number]", List.of("3"))
+		);
+		Assertions.assertEquals(
+				"/articles?filter%5Btitle%5D=a%20b&page%5Bnumber%5D=1&page%5Bsize%5D=10",
+				template.expand(Map.of("number", 1, "size", 10))
+		);
+
+		Page<User> page = Page.of(List.of(), Pageable.from(1, 10), 35L);
+		JsonApiPage<User> jsonApiPage = new JsonApiPage<>(page);
+		jsonApiPage.withPaginationLinks(JsonApiLinkTemplate.compile("/users?page[number]={number}&page[size]={size}"));
+		Map<String, JsonApiLinkType> links = jsonApiPage.getLinks();
+		Assertions.assertNotNull(links);
+		Assertions.assertEquals(List.of("self", "first", "prev", "next", "last"), List.copyOf(links.keySet()));
+		Assertions.assertEquals("/users?page%5Bnumber%5D=1&page%5Bsize%5D=10", links.get("self").toUri());
+		Assertions.assertEquals("/users?page%5Bnumber%5D=3&page%5Bsize%5D=10", links.get("last").toUri());
+		// Links to the same page are the same instance
+		Assertions.assertSame(links.get("first"), links.get("prev"));
+
+		JsonApiLinkTemplate idTemplate = JsonApiLinkTemplate.compile("https://[::1]:8080/tags/{id}");
+		Assertions.assertEquals("https://[::1]:8080/tags/a%2Fb", idTemplate.expand("a/b"));
+		JsonApiLinkTemplate bound = idTemplate.bind("id", "x");
+		Assertions.assertSame(bound.toLink(), bound.toLink());
+	}
+}
@@ -0,0 +1,71 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiArray;
+import io.github.baylorpaul.micronautjsonapi.model.JsonApiResource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+public class JsonApiResourceMapperTest {
+
+	@Test
+	public void testParallelMappingKeepsOrder() {
+		final List<User> users = LongStream.range(0, 10_001)
+				.mapToObj(id -> User.builder().id(id).name("User " + id).build())
+				.toList();
+		final List<JsonApiResource> expected = new JsonApiArray(users);
+
+		for (JsonApiResourceMapper mapper : List.of(
+				JsonApiResourceMapper.forkJoin(1_000),
+				JsonApiResourceMapper.virtualThreads(1_000),
+				new JsonApiResourceMapper(2, 7, Runnable::run)
+		)) {
+			Assertions.assertTrue(mapper.isParallel(users.size()));
+			Assertions.assertEquals(expected, new JsonApiArray(users, mapper));
+		}
+	}
+
+	@Test
+	public void testParallelThreshold() {
+		final AtomicInteger tasks = new AtomicInteger();
+		final JsonApiResourceMapper mapper = new JsonApiResourceMapper(100, 4, command -> {
+			tasks.incrementAndGet();
+			command.run();
+		});
+		final List<User> users = new ArrayList<>();
+		for (long id = 0; id < 99; id++) {
+			users.add(User.builder().id(id).build());
+		}
+
+		Assertions.assertFalse(mapper.isParallel(users.size()));
+		Assertions.assertEquals(99, mapper.toResources(users).size());
+		Assertions.assertEquals(0, tasks.get());
+
+		users.add(User.builder().id(99L).build());
+		Assertions.assertTrue(mapper.isParallel(users.size()));
+		Assertions.assertEquals("99", mapper.toResources(users).getLast().getId());
+		// The calling thread maps the first range
+		Assertions.assertEquals(3, tasks.get());
+
+		Assertions.assertFalse(JsonApiResourceMapper.SEQUENTIAL.isParallel(Integer.MAX_VALUE));
+		Assertions.assertSame(JsonApiResourceMapper.SEQUENTIAL, new JsonApiMappingConfiguration().toResourceMapper());
+	}
+
+	@Test
+	public void testParallelMappingFailure() {
+		final List<User> users = new ArrayList<>();
+		for (long id = 0; id < 100; id++) {
+			users.add(User.builder().id(id).build());
+		}
+		users.set(80, null);
+
+		Assertions.assertThrows(
+				NullPointerException.class, () -> JsonApiResourceMapper.forkJoin(10).toResources(users)
+		);
+	}
+}
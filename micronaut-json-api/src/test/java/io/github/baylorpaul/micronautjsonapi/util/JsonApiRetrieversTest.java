@@ -0,0 +1,66 @@
+package io.github.baylorpaul.micronautjsonapi.util;
+
+import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.identifiable.JsonApiResourceable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+public class JsonApiRetrieversTest {
+
+	@Test
+	public void testChunkedRetrieval() {
+		final List<String> ids = new ArrayList<>(IntStream.range(0, 1_050).mapToObj(Integer::toString).toList());
+		// Duplicate IDs are only retrieved once
+		ids.add("7");
+		ids.add("1049");
+
+		for (JsonApiRetrievalConfiguration config : List.of(buildConfig(false), buildConfig(true))) {
+			final Queue<Integer> chunkSizes = new ConcurrentLinkedQueue<>();
+			final Function<Collection<String>, Collection<? extends JsonApiResourceable>> retriever =
+					JsonApiRetrievers.chunked(chunk -> {
+						chunkSizes.add(chunk.size());
+						return chunk.stream().map(id -> User.builder().id(Long.parseLong(id)).build()).toList();
+					}, config.getChunkSize(), config.toExecutor());
+
+			final List<String> retrievedIds = retriever.apply(ids).stream()
+					.map(JsonApiResourceable::toJsonApiId)
+					.toList();
+			Assertions.assertEquals(ids.subList(0, 1_050), retrievedIds);
+			Assertions.assertEquals(List.of(50, 500, 500), chunkSizes.stream().sorted().toList());
+		}
+	}
+
+	@Test
+	public void testSmallRetrieval() {
+		final Queue<Collection<String>> calls = new ConcurrentLinkedQueue<>();
+		final Function<Collection<String>, Collection<? extends JsonApiResourceable>> retriever =
+				JsonApiRetrievers.chunked(chunk -> {
+					calls.add(chunk);
+					return List.of();
+				}, 500, Runnable::run);
+
+		Assertions.assertTrue(retriever.apply(List.of()).isEmpty());
+		Assertions.assertTrue(calls.isEmpty());
+
+		retriever.apply(List.of("1", "2", "1"));
+		Assertions.assertEquals(List.of(List.of("1", "2")), List.copyOf(calls));
+
+		Assertions.assertThrows(
+				IllegalArgumentException.class, () -> JsonApiRetrievers.chunked(chunk -> List.of(), 0, null)
+		);
+	}
+
+	private static JsonApiRetrievalConfiguration buildConfig(boolean concurrentChunks) {
+		final JsonApiRetrievalConfiguration config = new JsonApiRetrievalConfiguration();
+		config.setConcurrentChunks(concurrentChunks);
+		return config;
+	}
+}
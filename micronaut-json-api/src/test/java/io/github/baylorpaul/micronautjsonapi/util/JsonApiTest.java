@@ -1,12 +1,16 @@
 package io.github.baylorpaul.micronautjsonapi.util;
 
 import io.github.baylorpaul.micronautjsonapi.entity.Article;
+import io.github.baylorpaul.micronautjsonapi.entity.Comment;
 import io.github.baylorpaul.micronautjsonapi.entity.GrantingToken;
 import io.github.baylorpaul.micronautjsonapi.entity.PhysicalAddress;
+import io.github.baylorpaul.micronautjsonapi.entity.Publisher;
 import io.github.baylorpaul.micronautjsonapi.entity.User;
+import io.github.baylorpaul.micronautjsonapi.exceptions.JsonApiRequestException;
 import io.github.baylorpaul.micronautjsonapi.model.*;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiDataType;
 import io.github.baylorpaul.micronautjsonapi.model.types.JsonApiLinkType;
+import io.micronaut.core.type.Argument;
 import io.micronaut.json.JsonMapper;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
@@ -304,6 +308,455 @@ public class JsonApiTest {
 		Assertions.assertEquals(authorDataJson, toJson(res));
 	}
 
+	/**
+	 * Ensure that relationships annotated with a foreign key are rendered from the foreign key alone
+	 */
+	@Test
+	public void testForeignKeyRelationships() {
+		String tagId = "3f2d9a56-0d6f-4a51-9b8f-6f1f7bde2f10";
+		Comment comment = Comment.builder()
+				.id(12L)
+				.body("Nice")
+				.authorId(555L)
+				.tagIds(List.of(tagId))
+				.build();
+
+		JsonApiResource res = comment.toResource();
+		Assertions.assertNotNull(res.getAttributes());
+		Assertions.assertEquals(List.of("body"), List.copyOf(res.getAttributes().keySet()));
+
+		Assertions.assertNotNull(res.getRelationships());
+		JsonApiResource authorData = (JsonApiResource) res.getRelationships().get("author").getData();
+		Assertions.assertNotNull(authorData);
+		Assertions.assertEquals("user", authorData.getType());
+		Assertions.assertEquals("555", authorData.getId());
+
+		JsonApiArray tagsData = (JsonApiArray) res.getRelationships().get("tags").getData();
+		Assertions.assertEquals(1, tagsData.size());
+		Assertions.assertEquals("tag", tagsData.getFirst().getType());
+		Assertions.assertEquals(tagId, tagsData.getFirst().getId());
+
+		comment.setAuthorId(null);
+		Assertions.assertNull(comment.toResource().getRelationships().get("author").getData());
+	}
+
+	/**
+	 * Ensure that resources and relationships have links built from the entity's link template
+	 */
+	@Test
+	public void testResourceLinks() {
+		Comment comment = Comment.builder()
+				.id(12L)
+				.authorId(555L)
+				.build();
+
+		JsonApiResource res = comment.toResource();
+		Assertions.assertNotNull(res.getLinks());
+		Assertions.assertEquals("/comments/12", res.getLinks().get("self").toUri());
+
+		JsonApiObject<?> author = res.getRelationships().get("author");
+		Assertions.assertNotNull(author.getLinks());
+		Assertions.assertEquals("/comments/12/relationships/author", author.getLinks().get("self").toUri());
+		Assertions.assertEquals("/comments/12/author", author.getLinks().get("related").toUri());
+		Assertions.assertEquals(res.getLinks(), comment.toLazyResource().getLinks());
+
+		// Entities without a link template do not have links
+		Assertions.assertNull(User.builder().id(5L).build().toResource().getLinks());
+	}
+
+	/**
+	 * Ensure that truncated, count-only and links-only relationship linkage is rendered as configured
+	 */
+	@Test
+	public void testRelationshipLinkage() {
+		Publisher publisher = Publisher.builder()
+				.id("p1")
+				.name("Acme")
+				.articles(List.of(
+						Article.builder().id("a1").build(),
+						Article.builder().id("a2").build(),
+						Article.builder().id("a3").build()
+				))
+				.authorCount(42L)
+				.founder(User.builder().id(7L).build())
+				.build();
+
+		JsonApiResource res = publisher.toResource();
+		Assertions.assertEquals(Set.of("name"), res.getAttributes().keySet());
+		// Relationships keep their declaration order, whether or not they are read
+		Assertions.assertEquals(
+				List.of("articles", "authors", "tags", "founder"),
+				List.copyOf(res.getRelationships().keySet())
+		);
+		Assertions.assertEquals("7", ((JsonApiResource) res.getRelationships().get("founder").getData()).getId());
+
+		JsonApiObject<?> articles = res.getRelationships().get("articles");
+		JsonApiArray articlesData = (JsonApiArray) articles.getData();
+		Assertions.assertEquals(2, articlesData.size());
+		Assertions.assertEquals("a2", articlesData.get(1).getId());
+		Assertions.assertEquals(3, articles.getMeta().get("count"));
+
+		JsonApiObject<?> authors = res.getRelationships().get("authors");
+		Assertions.assertNull(authors.getData());
+		Assertions.assertEquals(42L, authors.getMeta().get("count"));
+
+		JsonApiObject<?> tags = res.getRelationships().get("tags");
+		Assertions.assertNull(tags.getData());
+		Assertions.assertNull(tags.getMeta());
+		Assertions.assertEquals("/publishers/p1/tags", tags.getLinks().get("related").toUri());
+
+		// Count-only and links-only relationships are never read
+		Assertions.assertEquals(Set.of("articles", "founder"), publisher.toRelationships().keySet());
+	}
+
+	/**
+	 * Ensure that a frozen resource is an immutable snapshot, which shares its attributes when more are added
+	 */
+	@Test
+	public void testFreeze() {
+		User user = User.builder()
+				.id(555L)
+				.email("joe@example.com")
+				.name("Joe")
+				.build();
+		GrantingToken gt = GrantingToken.builder()
+				.id(333L)
+				.user(user)
+				.token("abcdef")
+				.comment("first")
+				.build();
+
+		JsonApiResource res = gt.toResource();
+		JsonApiFrozenResource frozen = res.freeze();
+		Assertions.assertSame(frozen, frozen.freeze());
+		Assertions.assertEquals(res, frozen);
+		Assertions.assertEquals(res.hashCode(), frozen.hashCode());
+		Assertions.assertEquals(toJson(res), toJson(frozen));
+		Assertions.assertEquals(user.toResource(), user.toLazyResource().freeze());
+
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.setId("1"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.getAttributes().put("comment", "x"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.getRelationships().clear());
+		Assertions.assertThrows(
+				UnsupportedOperationException.class,
+				() -> frozen.putAllAttributes(new TreeMap<>(Map.of("signedToken", "abc")))
+		);
+
+		// The relationship objects and their data are frozen too
+		JsonApiObject<? extends JsonApiDataType> frozenUser = frozen.getRelationships().get("user");
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenUser.setData(null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenUser.setMeta(new TreeMap<>()));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenUser.setLinks(null));
+		Assertions.assertThrows(
+				UnsupportedOperationException.class, () -> ((JsonApiResource) frozenUser.getData()).setId("9")
+		);
+
+		PhysicalAddress address1 = new PhysicalAddress();
+		address1.setId(1L);
+		PhysicalAddress address2 = new PhysicalAddress();
+		address2.setId(2L);
+		JsonApiResource articleRes = Article.builder()
+				.id("a1")
+				.addresses(List.of(address1, address2))
+				.build()
+				.toResource();
+		SequencedMap<String, JsonApiObject<? extends JsonApiDataType>> relationships = new LinkedHashMap<>(
+				articleRes.getRelationships()
+		);
+		relationships.put("editor", new JsonApiObject<>(null, null, new JsonApiResourceIdentifier("user", "7")));
+		articleRes.setRelationships(relationships);
+		JsonApiFrozenResource frozenArticle = articleRes.freeze();
+		Assertions.assertEquals(articleRes, frozenArticle);
+
+		JsonApiArray addresses = (JsonApiArray) frozenArticle.getRelationships().get("addresses").getData();
+		Assertions.assertEquals(2, addresses.size());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.add(null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.set(0, null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.remove(0));
+		Assertions.assertThrows(UnsupportedOperationException.class, addresses::clear);
+		Assertions.assertThrows(UnsupportedOperationException.class, addresses::pop);
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.removeIf(Objects::nonNull));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> {
+			Iterator<JsonApiResource> it = addresses.iterator();
+			it.next();
+			it.remove();
+		});
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.subList(0, 1).clear());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> addresses.getFirst().setId("9"));
+
+		JsonApiResourceIdentifier editor = (JsonApiResourceIdentifier) frozenArticle.getRelationships().get("editor")
+				.getData();
+		Assertions.assertEquals("7", editor.getId());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> editor.setId("9"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> editor.setType("article"));
+
+		// Changes to the source resource are not reflected in the snapshot
+		res.putAllAttributes(new TreeMap<>(Map.of("comment", "changed")));
+		((JsonApiResource) res.getRelationships().get("user").getData()).setId("9");
+		Assertions.assertEquals("first", frozen.getAttributes().get("comment"));
+		Assertions.assertEquals("555", ((JsonApiResource) frozen.getRelationships().get("user").getData()).getId());
+
+		JsonApiFrozenResource withSignedToken = frozen.withAttributes(
+				Map.of("comment", "replaced", "signedToken", "abc")
+		);
+		Assertions.assertSame(frozen.getRelationships(), withSignedToken.getRelationships());
+		Assertions.assertEquals("first", frozen.getAttributes().get("comment"));
+		Assertions.assertEquals("abc", withSignedToken.getAttributes().get("signedToken"));
+
+		SequencedMap<String, Object> expected = new LinkedHashMap<>(frozen.getAttributes());
+		expected.put("comment", "replaced");
+		expected.put("signedToken", "abc");
+		Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(withSignedToken.getAttributes().keySet()));
+		Assertions.assertEquals(expected, withSignedToken.getAttributes());
+		Assertions.assertEquals(expected.hashCode(), withSignedToken.getAttributes().hashCode());
+		Assertions.assertNotEquals(frozen, withSignedToken);
+
+		JsonApiFrozenResource withMore = withSignedToken.withAttributes(Map.of("revoked", true, "extra", 1));
+		Assertions.assertEquals("replaced", withMore.getAttributes().get("comment"));
+		Assertions.assertEquals(true, withMore.getAttributes().get("revoked"));
+		Assertions.assertEquals(expected.size() + 1, withMore.getAttributes().size());
+		Assertions.assertEquals("extra", List.copyOf(withMore.getAttributes().keySet()).getLast());
+	}
+
+	/**
+	 * Ensure that the nested lists and maps of a frozen resource's attributes are frozen too, so its hash stays valid
+	 */
+	@Test
+	public void testFreezeNestedAttributes() {
+		List<String> tagIds = new ArrayList<>(List.of("a", "b"));
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("colors", new ArrayList<>(List.of("red")));
+		SequencedMap<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("tagIds", tagIds);
+		attributes.put("settings", settings);
+		JsonApiResource res = new JsonApiResource("comment", "12", attributes, null, null);
+
+		JsonApiFrozenResource frozen = res.freeze();
+		int hash = frozen.hashCode();
+		Assertions.assertEquals(res, frozen);
+
+		@SuppressWarnings("unchecked")
+		List<Object> frozenTagIds = (List<Object>) frozen.getAttributes().get("tagIds");
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenTagIds.add("c"));
+		@SuppressWarnings("unchecked")
+		Map<String, Object> frozenSettings = (Map<String, Object>) frozen.getAttributes().get("settings");
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenSettings.put("size", 2));
+		@SuppressWarnings("unchecked")
+		List<Object> frozenColors = (List<Object>) frozenSettings.get("colors");
+		Assertions.assertThrows(UnsupportedOperationException.class, frozenColors::clear);
+
+		// Changes to the source values are not reflected in the snapshot
+		tagIds.add("c");
+		settings.put("size", 2);
+		Assertions.assertEquals(List.of("a", "b"), frozen.getAttributes().get("tagIds"));
+		Assertions.assertFalse(frozenSettings.containsKey("size"));
+		Assertions.assertNotEquals(res, frozen);
+		Assertions.assertEquals(hash, frozen.hashCode());
+		Assertions.assertEquals(
+				Map.of("tagIds", List.of("a", "b"), "settings", Map.of("colors", List.of("red"))).hashCode(),
+				frozen.getAttributes().hashCode()
+		);
+	}
+
+	/**
+	 * Ensure that a resource with lazy attributes serializes the same as an eagerly mapped resource
+	 */
+	@Test
+	public void testLazyResource() {
+		User user = User.builder()
+				.id(555L)
+				.email("joe@example.com")
+				.name("Joe")
+				.build();
+
+		JsonApiResource lazyRes = user.toLazyResource();
+		Assertions.assertEquals(toJson(user.toResource()), toJson(lazyRes));
+		Assertions.assertEquals(user.toResource(), lazyRes);
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> lazyRes.getAttributes().put("name", "Bob"));
+
+		// The attributes are read when serialized, not when the resource is created
+		user.setName("Joey");
+		Assertions.assertEquals("Joey", lazyRes.getAttributes().get("name"));
+
+		lazyRes.putAllAttributes(new TreeMap<>(Map.of("signedToken", "abc")));
+		Assertions.assertEquals("abc", lazyRes.getAttributes().get("signedToken"));
+		Assertions.assertEquals("Joey", lazyRes.getAttributes().get("name"));
+	}
+
+	/**
+	 * Ensure a typed document decodes the attributes and relationship IDs straight into the entity
+	 */
+	@Test
+	public void testTypedObject() throws IOException {
+		String json = "{\"data\":{\"type\":\"comment\",\"id\":\"12\",\"attributes\":{\"body\":\"Hello\"},"
+				+ "\"relationships\":{\"author\":{\"data\":{\"type\":\"user\",\"id\":\"7\"}},"
+				+ "\"tags\":{\"data\":[{\"type\":\"tag\",\"id\":\"a\"},{\"type\":\"tag\",\"id\":\"b\"}]}}}}";
+		JsonApiTypedObject<Comment> body = jsonMapper.readValue(
+				json, Argument.of(JsonApiTypedObject.class, Comment.class)
+		);
+		Assertions.assertNotNull(body.getData());
+		Assertions.assertEquals("comment", body.getData().getType());
+
+		Comment comment = JsonApiUtil.readDataWithId(body);
+		Assertions.assertEquals(12L, comment.getId());
+		Assertions.assertEquals("Hello", comment.getBody());
+		Assertions.assertEquals(7L, comment.getAuthorId());
+		Assertions.assertEquals(List.of("a", "b"), comment.getTagIds());
+
+		JsonApiTypedObject<Comment> empty = jsonMapper.readValue(
+				"{\"data\":null}", Argument.of(JsonApiTypedObject.class, Comment.class)
+		);
+		Assertions.assertThrows(JsonApiRequestException.class, () -> JsonApiUtil.readDataWithoutId(empty));
+	}
+
+	/**
+	 * Ensure a typed document leaves a relation to an entity unset when there is no foreign key to bind its ID to
+	 */
+	@Test
+	public void testTypedObjectWithoutForeignKey() throws IOException {
+		String json = "{\"data\":{\"type\":\"article\",\"id\":\"a1\","
+				+ "\"relationships\":{\"author\":{\"data\":{\"type\":\"user\",\"id\":\"7\"}},"
+				+ "\"addresses\":{\"data\":[{\"type\":\"address\",\"id\":\"3\"}]}}}}";
+		JsonApiTypedObject<Article> body = jsonMapper.readValue(
+				json, Argument.of(JsonApiTypedObject.class, Article.class)
+		);
+
+		Article article = JsonApiUtil.readDataWithId(body);
+		Assertions.assertEquals("a1", article.getId());
+		Assertions.assertNull(article.getAuthor());
+		Assertions.assertNull(article.getAddresses());
+	}
+
+	/**
+	 * Ensure a delta page only includes the changes, with tombstones and the next watermark in the "meta"
+	 */
+	@Test
+	public void testDeltaPage() {
+		Instant since = Instant.parse("2025-01-01T00:00:00Z");
+		List<User> changed = List.of(
+				User.builder().id(1L).name("Ann").updated(since.plusSeconds(60)).build(),
+				User.builder().id(2L).name("Bob").updated(since.plusSeconds(30)).build()
+		);
+		List<JsonApiDeltaPage.Tombstone<Instant>> deleted = List.of(
+				new JsonApiDeltaPage.Tombstone<>("user", "3", since.plusSeconds(90))
+		);
+
+		JsonApiDeltaPage<User, Instant> delta = new JsonApiDeltaPage<>(since, changed, User::getUpdated, deleted);
+		Assertions.assertEquals(since.plusSeconds(90), delta.getWatermark());
+		Assertions.assertFalse(delta.hasMore());
+		Assertions.assertNotNull(delta.getData());
+		Assertions.assertEquals(2, delta.getData().size());
+		Assertions.assertNotNull(delta.getMeta());
+		Assertions.assertEquals(since, delta.getMeta().get("since"));
+		Assertions.assertEquals(since.plusSeconds(90), delta.getMeta().get("watermark"));
+		Assertions.assertEquals(
+				List.of(new JsonApiResourceIdentifier("user", "3")),
+				delta.getMeta().get("deleted")
+		);
+
+		// Without changes, the watermark stays the same
+		JsonApiDeltaPage<User, Instant> empty = new JsonApiDeltaPage<>(since, List.of(), User::getUpdated, List.of());
+		Assertions.assertEquals(since, empty.getWatermark());
+		Assertions.assertTrue(toJson(empty).contains("\"deleted\":[]"));
+	}
+
+	/**
+	 * Ensure a batch with more changes doesn't move the watermark past the last changed record for a later deletion
+	 */
+	@Test
+	public void testDeltaPageWithMore() {
+		Instant since = Instant.parse("2025-01-01T00:00:00Z");
+		List<User> changed = List.of(
+				User.builder().id(1L).name("Ann").updated(since.plusSeconds(30)).build(),
+				User.builder().id(2L).name("Bob").updated(since.plusSeconds(60)).build()
+		);
+		List<JsonApiDeltaPage.Tombstone<Instant>> deleted = List.of(
+				new JsonApiDeltaPage.Tombstone<>("user", "3", since.plusSeconds(45)),
+				new JsonApiDeltaPage.Tombstone<>("user", "4", since.plusSeconds(90))
+		);
+
+		JsonApiDeltaPage<User, Instant> delta = new JsonApiDeltaPage<>(
+				since, changed, User::getUpdated, deleted, true, null
+		);
+		Assertions.assertTrue(delta.hasMore());
+		Assertions.assertEquals(since.plusSeconds(60), delta.getWatermark());
+		Assertions.assertNotNull(delta.getMeta());
+		Assertions.assertEquals(since.plusSeconds(60), delta.getMeta().get("watermark"));
+		Assertions.assertEquals(
+				List.of(new JsonApiResourceIdentifier("user", "3")),
+				delta.getMeta().get("deleted")
+		);
+
+		// Without more changes, every deletion is sent
+		JsonApiDeltaPage<User, Instant> last = new JsonApiDeltaPage<>(
+				since, changed, User::getUpdated, deleted, false, null
+		);
+		Assertions.assertEquals(since.plusSeconds(90), last.getWatermark());
+	}
+
+	/**
+	 * Ensure a patch only changes the attributes and relationships present in the request
+	 */
+	@Test
+	public void testPatch() {
+		String json = "{\"data\":{\"type\":\"comment\",\"id\":\"12\",\"attributes\":{\"body\":null},"
+				+ "\"relationships\":{\"author\":{\"data\":{\"type\":\"user\",\"id\":\"7\"}}}}}";
+		JsonApiObject<JsonApiResource> body = fromJson(json, JsonApiObject.class);
+
+		JsonApiPatch<Comment> patch = JsonApiUtil.readPatch(jsonMapper, body.getData(), Comment.class);
+		Assertions.assertEquals(Set.of("body"), patch.getAttributeNames());
+		Assertions.assertEquals(Set.of("author"), patch.getRelationshipNames());
+		Assertions.assertTrue(patch.isPresent("body"));
+		Assertions.assertFalse(patch.isPresent("tags"));
+		Assertions.assertEquals(List.of("body", "authorId"), List.copyOf(patch.getPropertyNames()));
+
+		Map<String, Object> expectedValues = new LinkedHashMap<>();
+		expectedValues.put("body", null);
+		expectedValues.put("authorId", 7L);
+		Assertions.assertEquals(expectedValues, patch.toPropertyValues());
+
+		Comment stored = Comment.builder()
+				.id(12L)
+				.body("Nice")
+				.authorId(555L)
+				.tagIds(List.of("a"))
+				.build();
+		Comment updated = patch.applyTo(stored);
+		Assertions.assertEquals(12L, updated.getId());
+		Assertions.assertNull(updated.getBody());
+		Assertions.assertEquals(7L, updated.getAuthorId());
+		Assertions.assertEquals(List.of("a"), updated.getTagIds());
+
+		String badJson = "{\"type\":\"comment\",\"id\":\"12\","
+				+ "\"relationships\":{\"author\":{\"data\":{\"type\":\"user\",\"id\":\"x\"}}}}";
+		JsonApiResource badRes = fromJson(badJson, JsonApiResource.class);
+		Assertions.assertThrows(
+				JsonApiRequestException.class, () -> JsonApiUtil.readPatch(jsonMapper, badRes, Comment.class)
+		);
+	}
+
+	/**
+	 * Ensure a patch doesn't change properties that deserialization doesn't bind, even when they are sent
+	 */
+	@Test
+	public void testPatchIgnoredAttributes() {
+		String json = "{\"data\":{\"type\":\"user\",\"id\":\"5\",\"attributes\":{\"name\":\"Sue\","
+				+ "\"password\":\"secret\",\"id\":9,\"created\":\"2025-01-01T00:00:00Z\"}}}";
+		JsonApiObject<JsonApiResource> body = fromJson(json, JsonApiObject.class);
+
+		JsonApiPatch<User> patch = JsonApiUtil.readPatch(jsonMapper, body.getData(), User.class);
+		Assertions.assertEquals(List.of("name"), List.copyOf(patch.getPropertyNames()));
+		Assertions.assertEquals(Map.of("name", "Sue"), patch.toPropertyValues());
+
+		Instant created = Instant.parse("2024-06-01T00:00:00Z");
+		User stored = User.builder().id(5L).name("Ann").password("hash").created(created).build();
+		User updated = patch.applyTo(stored);
+		Assertions.assertEquals("Sue", updated.getName());
+		Assertions.assertEquals("hash", updated.getPassword());
+		Assertions.assertEquals(5L, updated.getId());
+		Assertions.assertEquals(created, updated.getCreated());
+	}
+
 	private <T> T fromJson(String str, Class<T> clazz) {
 		try {
 			return jsonMapper.readValue(str, clazz);